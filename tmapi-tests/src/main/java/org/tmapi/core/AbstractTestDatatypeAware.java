@@ -15,6 +15,7 @@ package org.tmapi.core;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import javax.xml.datatype.XMLGregorianCalendar;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,6 +37,10 @@ public abstract class AbstractTestDatatypeAware extends TMAPITestCase {
     protected static final String _XSD_DECIMAL = _XSD + "decimal";
     protected static final String _XSD_LONG = _XSD + "long";
     protected static final String _XSD_ANY_URI = _XSD + "anyURI";
+    protected static final String _XSD_DOUBLE = _XSD + "double";
+    protected static final String _XSD_BOOLEAN = _XSD + "boolean";
+    protected static final String _XSD_DATE = _XSD + "date";
+    protected static final String _XSD_DATE_TIME = _XSD + "dateTime";
 
     protected Locator _xsdString;
     protected Locator _xsdInteger;
@@ -44,6 +49,10 @@ public abstract class AbstractTestDatatypeAware extends TMAPITestCase {
     protected Locator _xsdDecimal;
     protected Locator _xsdLong;
     protected Locator _xsdAnyURI;
+    protected Locator _xsdDouble;
+    protected Locator _xsdBoolean;
+    protected Locator _xsdDate;
+    protected Locator _xsdDateTime;
 
     /**
      * Returns a {@link DatatypeAware} instance to run the tests against.
@@ -66,6 +75,10 @@ public abstract class AbstractTestDatatypeAware extends TMAPITestCase {
         _xsdDecimal = createLocator(_XSD_DECIMAL);
         _xsdLong = createLocator(_XSD_LONG);
         _xsdAnyURI = createLocator(_XSD_ANY_URI);
+        _xsdDouble = createLocator(_XSD_DOUBLE);
+        _xsdBoolean = createLocator(_XSD_BOOLEAN);
+        _xsdDate = createLocator(_XSD_DATE);
+        _xsdDateTime = createLocator(_XSD_DATE_TIME);
     }
 
     @Test
@@ -244,6 +257,84 @@ public abstract class AbstractTestDatatypeAware extends TMAPITestCase {
         Assert.assertEquals(value, dt.floatValue(), 0);
     }
 
+    @SuppressWarnings("boxing")
+    @Test
+    public void testDouble() {
+        final DatatypeAware dt = getDatatypeAware();
+        dt.setValue("1976.5", _xsdDouble);
+        Assert.assertEquals(_xsdDouble, dt.getDatatype());
+        Assert.assertEquals(1976.5, dt.doubleValue(), 0);
+        Assert.assertEquals(1976.5F, dt.floatValue(), 0);
+        dt.setValue("1.5E3", _xsdDouble);
+        Assert.assertEquals(1500.0, dt.doubleValue(), 0);
+        dt.setValue("INF", _xsdDouble);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, dt.doubleValue(), 0);
+        dt.setValue("-INF", _xsdDouble);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, dt.doubleValue(), 0);
+        dt.setValue("NaN", _xsdDouble);
+        Assert.assertTrue(Double.isNaN(dt.doubleValue()));
+    }
+
+    @SuppressWarnings("boxing")
+    @Test
+    public void testDoubleFromInt() {
+        final DatatypeAware dt = getDatatypeAware();
+        dt.setValue(1976);
+        Assert.assertEquals(1976.0, dt.doubleValue(), 0);
+    }
+
+    @Test
+    public void testBoolean() {
+        final DatatypeAware dt = getDatatypeAware();
+        dt.setValue("true", _xsdBoolean);
+        Assert.assertEquals(_xsdBoolean, dt.getDatatype());
+        Assert.assertTrue(dt.booleanValue());
+        dt.setValue("1", _xsdBoolean);
+        Assert.assertTrue(dt.booleanValue());
+        dt.setValue("false", _xsdBoolean);
+        Assert.assertFalse(dt.booleanValue());
+        dt.setValue("0", _xsdBoolean);
+        Assert.assertFalse(dt.booleanValue());
+    }
+
+    @Test
+    public void testDate() {
+        final DatatypeAware dt = getDatatypeAware();
+        dt.setValue("2020-01-01", _xsdDate);
+        Assert.assertEquals(_xsdDate, dt.getDatatype());
+        final XMLGregorianCalendar cal = dt.calendarValue();
+        Assert.assertEquals(2020, cal.getYear());
+        Assert.assertEquals(1, cal.getMonth());
+        Assert.assertEquals(1, cal.getDay());
+    }
+
+    @Test
+    public void testDateTime() {
+        final DatatypeAware dt = getDatatypeAware();
+        dt.setValue("2020-01-01T12:30:00Z", _xsdDateTime);
+        Assert.assertEquals(_xsdDateTime, dt.getDatatype());
+        final XMLGregorianCalendar cal = dt.calendarValue();
+        Assert.assertEquals(2020, cal.getYear());
+        Assert.assertEquals(12, cal.getHour());
+        Assert.assertEquals(30, cal.getMinute());
+        Assert.assertEquals(0, cal.getTimezone());
+    }
+
+    @Test
+    public void testTypedAccessorsIllegal() {
+        final DatatypeAware dt = getDatatypeAware();
+        dt.setValue("a string");
+        assertFailDouble(dt);
+        assertFailBoolean(dt);
+        assertFailCalendar(dt);
+        dt.setValue("0x1p3");
+        assertFailDouble(dt);
+        dt.setValue("0X1.8P1");
+        assertFailDouble(dt);
+        dt.setValue("1.0d");
+        assertFailDouble(dt);
+    }
+
     @Test
     public void testUserDatatype() {
         final Locator datatype = createLocator("http://www.example.org/datatype");
@@ -381,6 +472,36 @@ public abstract class AbstractTestDatatypeAware extends TMAPITestCase {
         }
     }
 
+    protected void assertFailDouble(final DatatypeAware dt) {
+        try {
+            dt.doubleValue();
+            Assert.fail("Expected a Assert.failure for converting the value to 'double'");
+        }
+        catch (NumberFormatException ex) {
+            // noop.
+        }
+    }
+
+    protected void assertFailBoolean(final DatatypeAware dt) {
+        try {
+            dt.booleanValue();
+            Assert.fail("Expected a Assert.failure for converting the value to 'boolean'");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+    }
+
+    protected void assertFailCalendar(final DatatypeAware dt) {
+        try {
+            dt.calendarValue();
+            Assert.fail("Expected a Assert.failure for converting the value to 'XMLGregorianCalendar'");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+    }
+
     protected void assertFailLocator(final DatatypeAware dt) {
         try {
             dt.locatorValue();
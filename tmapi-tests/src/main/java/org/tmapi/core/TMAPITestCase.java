@@ -60,16 +60,27 @@ public class TMAPITestCase {
 
     @Before
     public void setUp() throws Exception {
+        _sys = createFactory().newTopicMapSystem();
+        removeAllMaps(); // Seems to be unnecessary, but who knows
+        _defaultLocator = _sys.createLocator(_DEFAULT_ADDRESS);
+        _tm = _sys.createTopicMap(_defaultLocator);
+    }
+
+    /**
+     * Creates a {@link TopicMapSystemFactory} which is configured with the
+     * system properties.
+     *
+     * @return A new factory.
+     * @throws FactoryConfigurationException If the factory cannot be created.
+     */
+    protected TopicMapSystemFactory createFactory() throws FactoryConfigurationException {
         TopicMapSystemFactory factory = TopicMapSystemFactory.newInstance();
         //bad hack to copy all System.Properties to factory
         for (Object obj: System.getProperties().keySet()) {
             String key = (String) obj;
             factory.setProperty(key, System.getProperty(key));
         }
-        _sys = factory.newTopicMapSystem();
-        removeAllMaps(); // Seems to be unnecessary, but who knows
-        _defaultLocator = _sys.createLocator(_DEFAULT_ADDRESS);
-        _tm = _sys.createTopicMap(_defaultLocator);
+        return factory;
     }
 
     @After
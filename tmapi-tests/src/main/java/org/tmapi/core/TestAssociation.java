@@ -170,4 +170,24 @@ public class TestAssociation extends TMAPITestCase {
             // noop.
         }
     }
+
+    @Test
+    public void testCountRoles() {
+        final Association assoc = createAssociation();
+        final Topic type = createTopic();
+        final Topic type2 = createTopic();
+        Assert.assertEquals(0, assoc.countRoles(type));
+        assoc.createRole(type, createTopic());
+        assoc.createRole(type, createTopic());
+        assoc.createRole(type2, createTopic());
+        Assert.assertEquals(2, assoc.countRoles(type));
+        Assert.assertEquals(1, assoc.countRoles(type2));
+        Assert.assertEquals(0, assoc.countRoles(createTopic()));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCountRolesIllegal() {
+        createAssociation().countRoles(null);
+    }
+
 }
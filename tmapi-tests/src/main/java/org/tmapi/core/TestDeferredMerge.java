@@ -0,0 +1,119 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the feature "deferred-merge" and {@link TopicMap#flushMerges()}.
+ * <p>
+ * The tests are skipped if the engine does not support the feature.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestDeferredMerge extends TMAPITestCase {
+
+    private static final String _FEATURE_BASE = "http://tmapi.org/features/";
+
+    private static final String 
+        AUTOMERGE = _FEATURE_BASE + "automerge",
+        DEFERRED_MERGE = _FEATURE_BASE + "deferred-merge";
+
+    /**
+     * Enables the deferred merge feature if the engine supports it.
+     */
+    @Override
+    protected TopicMapSystemFactory createFactory() throws FactoryConfigurationException {
+        final TopicMapSystemFactory factory = super.createFactory();
+        try {
+            factory.setFeature(AUTOMERGE, true);
+            factory.setFeature(DEFERRED_MERGE, true);
+        }
+        catch (TMAPIException ex) {
+            // noop, the tests are skipped by setUp()
+        }
+        return factory;
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        boolean supported = false;
+        try {
+            supported = _sys.getFeature(DEFERRED_MERGE);
+        }
+        catch (FeatureNotRecognizedException ex) {
+            // noop.
+        }
+        Assume.assumeTrue(supported);
+    }
+
+    @Test
+    public void testFeatureEnabled() throws Exception {
+        Assert.assertTrue(_sys.getFeature(DEFERRED_MERGE));
+    }
+
+    @Test
+    public void testSubjectIdentifier() {
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        final Topic topic1 = createTopic();
+        final Topic topic2 = createTopic();
+        topic1.addSubjectIdentifier(loc);
+        topic2.addSubjectIdentifier(loc);
+        Assert.assertNotNull(_tm.getTopicBySubjectIdentifier(loc));
+        _tm.flushMerges();
+        Assert.assertEquals(1, _tm.getTopics().size());
+        final Topic topic = _tm.getTopicBySubjectIdentifier(loc);
+        Assert.assertNotNull(topic);
+        Assert.assertEquals(1, topic.getSubjectIdentifiers().size());
+    }
+
+    @Test
+    public void testTransitiveCollisions() {
+        final Locator sid = createLocator("http://psi.example.org/topic");
+        final Locator slo = createLocator("http://www.example.org/");
+        final Locator iid = createLocator("http://www.example.org/tm#topic");
+        final Topic topic1 = createTopic();
+        final Topic topic2 = createTopic();
+        final Topic topic3 = createTopic();
+        topic1.addSubjectIdentifier(sid);
+        topic2.addSubjectIdentifier(sid);
+        topic2.addSubjectLocator(slo);
+        topic3.addSubjectLocator(slo);
+        topic3.addItemIdentifier(iid);
+        _tm.flushMerges();
+        Assert.assertEquals(1, _tm.getTopics().size());
+        final Topic topic = _tm.getTopicBySubjectIdentifier(sid);
+        Assert.assertEquals(topic, _tm.getTopicBySubjectLocator(slo));
+        Assert.assertEquals(topic, _tm.getConstructByItemIdentifier(iid));
+    }
+
+    @Test
+    public void testFlushWithoutCollisions() {
+        final Topic topic = createTopic();
+        _tm.flushMerges();
+        Assert.assertEquals(1, _tm.getTopics().size());
+        Assert.assertTrue(_tm.getTopics().contains(topic));
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests against the {@link IdentityFilter}.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestIdentityFilter extends TMAPITestCase {
+
+    private static final String _PSI = "http://psi.example.org/";
+
+    @Test
+    public void testEmpty() {
+        final IdentityFilter filter = new IdentityFilter(100, 0.01);
+        Assert.assertEquals(0, filter.size());
+        Assert.assertFalse(filter.mightContain(createLocator(_PSI + "topic")));
+        Assert.assertEquals(1, filter.getNegativeCount());
+        Assert.assertEquals(0, filter.getPositiveCount());
+        Assert.assertEquals(0.0, filter.getExpectedFalsePositiveProbability(), 0.0);
+    }
+
+    @Test
+    public void testNoFalseNegatives() {
+        final IdentityFilter filter = new IdentityFilter(1000, 0.01);
+        final List<Locator> locs = new ArrayList<Locator>();
+        for (int i = 0; i < 1000; i++) {
+            final Locator loc = createLocator(_PSI + "topic-" + i);
+            locs.add(loc);
+            filter.add(loc);
+        }
+        for (Locator loc: locs) {
+            Assert.assertTrue(filter.mightContain(loc));
+            Assert.assertTrue(filter.mightContain(createLocator(loc.getReference())));
+        }
+        Assert.assertEquals(2000, filter.getPositiveCount());
+        Assert.assertEquals(0, filter.getNegativeCount());
+        Assert.assertTrue(filter.size() > 990);
+    }
+
+    @Test
+    public void testFalsePositiveProbability() {
+        final IdentityFilter filter = new IdentityFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(createLocator(_PSI + "topic-" + i));
+        }
+        final double expected = filter.getExpectedFalsePositiveProbability();
+        Assert.assertTrue(expected > 0.001 && expected < 0.02);
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(createLocator(_PSI + "unknown-" + i))) {
+                filter.recordFalsePositive();
+            }
+        }
+        Assert.assertEquals(10000, filter.getPositiveCount() + filter.getNegativeCount());
+        Assert.assertEquals(filter.getPositiveCount(), filter.getFalsePositiveCount());
+        Assert.assertTrue(filter.getFalsePositiveCount() < 300);
+    }
+
+    @Test
+    public void testClear() {
+        final Locator loc = createLocator(_PSI + "topic");
+        final IdentityFilter filter = new IdentityFilter(10, 0.01);
+        filter.add(loc);
+        Assert.assertTrue(filter.mightContain(loc));
+        filter.clear();
+        Assert.assertEquals(0, filter.size());
+        Assert.assertEquals(0, filter.getPositiveCount());
+        Assert.assertFalse(filter.mightContain(loc));
+    }
+
+    @Test
+    public void testCreate() {
+        final IdentityFilter filter = IdentityFilter.create(_sys, 100);
+        final Locator loc = createLocator(_PSI + "topic");
+        filter.add(loc);
+        Assert.assertTrue(filter.mightContain(loc));
+    }
+
+    @Test
+    public void testCreateWithProperty() throws Exception {
+        final double defaultFpp = _expectedFalsePositiveProbability(_sys);
+        final double higherFpp = _expectedFalsePositiveProbability(Double.valueOf(0.1));
+        final double lowerFpp = _expectedFalsePositiveProbability("0.001");
+        Assert.assertTrue(higherFpp > defaultFpp);
+        Assert.assertTrue(higherFpp > 0.05 && higherFpp < 0.2);
+        Assert.assertTrue(lowerFpp < defaultFpp);
+        Assert.assertTrue(lowerFpp < 0.002);
+    }
+
+    @Test
+    public void testCreateWithIllegalProperty() throws Exception {
+        for (Object value: new Object[] {"abc", "1.5", Double.valueOf(0.0)}) {
+            try {
+                _expectedFalsePositiveProbability(value);
+                Assert.fail("Expected an IllegalArgumentException for " + value);
+            }
+            catch (IllegalArgumentException ex) {
+                // noop.
+            }
+        }
+    }
+
+    /**
+     * Returns the expected false positive probability of a filter with 1000 
+     * identifiers which was created for a topic map system where the 
+     * property {@link IdentityFilter#FALSE_POSITIVE_PROBABILITY} is set to 
+     * <tt>value</tt>.
+     */
+    private double _expectedFalsePositiveProbability(Object value) throws Exception {
+        final TopicMapSystemFactory factory = createFactory();
+        factory.setProperty(IdentityFilter.FALSE_POSITIVE_PROBABILITY, value);
+        final TopicMapSystem sys = factory.newTopicMapSystem();
+        try {
+            return _expectedFalsePositiveProbability(sys);
+        }
+        finally {
+            sys.close();
+        }
+    }
+
+    private double _expectedFalsePositiveProbability(TopicMapSystem sys) {
+        final IdentityFilter filter = IdentityFilter.create(sys, 1000);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(createLocator(_PSI + "topic-" + i));
+        }
+        return filter.getExpectedFalsePositiveProbability();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalProbability() {
+        new IdentityFilter(100, 1.0);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalExpectedInsertions() {
+        new IdentityFilter(-1, 0.01);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalLocator() {
+        new IdentityFilter(100, 0.01).add(null);
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.net.URI;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests against the {@link LocatorFactory}.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestLocatorFactory {
+
+    private LocatorFactory _factory;
+
+    @Before
+    public void setUp() throws Exception {
+        _factory = new SimpleLocatorFactory();
+    }
+
+    @Test
+    public void testIdentity() {
+        final Locator loc = _factory.createLocator("http://www.example.org/a");
+        Assert.assertSame(loc, _factory.createLocator("http://www.example.org/a"));
+        Assert.assertNotSame(loc, _factory.createLocator("http://www.example.org/b"));
+        Assert.assertEquals("http://www.example.org/a", loc.getReference());
+    }
+
+    @Test
+    public void testNormalizedIdentity() {
+        final Locator loc = _factory.createLocator("http://www.example.org/a/../b");
+        Assert.assertEquals("http://www.example.org/b", loc.getReference());
+        Assert.assertSame(loc, _factory.createLocator("http://www.example.org/b"));
+        Assert.assertSame(loc, _factory.createLocator("http://www.example.org/a/../b"));
+    }
+
+    @Test
+    public void testStatistics() {
+        Assert.assertEquals(0, _factory.getHitCount());
+        Assert.assertEquals(0, _factory.getMissCount());
+        Assert.assertEquals(0, _factory.size());
+        _factory.createLocator("http://www.example.org/a");
+        _factory.createLocator("http://www.example.org/b");
+        _factory.createLocator("http://www.example.org/a");
+        _factory.createLocator("urn:x-example:a");
+        Assert.assertEquals(1, _factory.getHitCount());
+        Assert.assertEquals(3, _factory.getMissCount());
+        Assert.assertEquals(3, _factory.size());
+        Assert.assertEquals(2, _factory.getNamespaceCount());
+        Assert.assertEquals("http://www.example.org/a".length() * 2 + "urn:x-example:a".length(), 
+                _factory.getReferenceCharacterCount());
+        Assert.assertEquals("http://www.example.org/".length() + 2 + "urn:x-example:".length() + 1, 
+                _factory.getStoredCharacterCount());
+        Assert.assertTrue(_factory.getStoredCharacterCount() < _factory.getReferenceCharacterCount());
+    }
+
+    @Test
+    public void testNormalizedStatistics() {
+        final String reference = "http://www.example.org/b";
+        _factory.createLocator("http://www.example.org/a/../b");
+        Assert.assertEquals(1, _factory.size());
+        Assert.assertEquals(1, _factory.getNamespaceCount());
+        Assert.assertEquals(reference.length(), _factory.getReferenceCharacterCount());
+        Assert.assertEquals(reference.length(), _factory.getStoredCharacterCount());
+        _factory.createLocator(reference);
+        _factory.createLocator("http://www.example.org/./b");
+        Assert.assertEquals(1, _factory.size());
+        Assert.assertEquals(reference.length(), _factory.getReferenceCharacterCount());
+        Assert.assertEquals(reference.length(), _factory.getStoredCharacterCount());
+    }
+
+    @Test
+    public void testClear() {
+        final Locator loc = _factory.createLocator("http://www.example.org/a");
+        _factory.clear();
+        Assert.assertEquals(0, _factory.size());
+        Assert.assertEquals(0, _factory.getMissCount());
+        Assert.assertNotSame(loc, _factory.createLocator("http://www.example.org/a"));
+    }
+
+    @Test
+    public void testIllegalReference() {
+        try {
+            _factory.createLocator(null);
+            Assert.fail("createLocator(null) is illegal");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+    }
+
+    @Test
+    public void testMalformedReference() {
+        try {
+            _factory.createLocator("http://www.example.org/a b");
+            Assert.fail("Expected an error for an invalid IRI");
+        }
+        catch (MalformedIRIException ex) {
+            // noop.
+        }
+        Assert.assertEquals(0, _factory.size());
+    }
+
+    /**
+     * Factory which creates {@link URI} based locators.
+     */
+    private static class SimpleLocatorFactory extends LocatorFactory {
+
+        @Override
+        protected Locator newLocator(String namespace, String localPart) throws MalformedIRIException {
+            try {
+                return new SimpleLocator(this, new URI(namespace + localPart).normalize());
+            }
+            catch (Exception ex) {
+                throw new MalformedIRIException(ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Locator implementation which uses identity equality.
+     */
+    private static class SimpleLocator implements Locator {
+
+        private final LocatorFactory _factory;
+        private final URI _uri;
+
+        SimpleLocator(LocatorFactory factory, URI uri) {
+            _factory = factory;
+            _uri = uri;
+        }
+
+        public String getReference() {
+            return _uri.toString();
+        }
+
+        public String toExternalForm() {
+            return _uri.toASCIIString();
+        }
+
+        public Locator resolve(String reference) throws MalformedIRIException {
+            return _factory.createLocator(_uri.resolve(reference).toString());
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests against the {@link ScopeFactory}.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestScopeFactory extends TMAPITestCase {
+
+    @Test
+    public void testInterning() {
+        final ScopeFactory factory = new ScopeFactory();
+        final Topic theme1 = createTopic();
+        final Topic theme2 = createTopic();
+        final Scope scope = factory.createScope(theme1, theme2);
+        Assert.assertSame(scope, factory.createScope(theme2, theme1));
+        Assert.assertSame(scope, factory.createScope(Arrays.asList(theme1, theme2, theme1)));
+        Assert.assertNotSame(scope, factory.createScope(theme1));
+        Assert.assertEquals(2, factory.size());
+        Assert.assertEquals(scope.getThemes().hashCode(), scope.hashCode());
+    }
+
+    @Test
+    public void testUnconstrainedScope() {
+        final ScopeFactory factory = new ScopeFactory();
+        final Scope scope = factory.createScope();
+        Assert.assertTrue(scope.isUnconstrained());
+        Assert.assertTrue(scope.getThemes().isEmpty());
+        Assert.assertSame(scope, factory.createScope(Collections.<Topic>emptySet()));
+    }
+
+    @Test
+    public void testIdentifiers() {
+        final ScopeFactory factory = new ScopeFactory();
+        final Scope scope1 = factory.createScope();
+        final Scope scope2 = factory.createScope(createTopic());
+        Assert.assertEquals(0, scope1.getId());
+        Assert.assertEquals(1, scope2.getId());
+        Assert.assertSame(scope1, factory.getScope(0));
+        Assert.assertSame(scope2, factory.getScope(1));
+        Assert.assertNull(factory.getScope(2));
+        Assert.assertNull(factory.getScope(-1));
+        factory.clear();
+        Assert.assertEquals(0, factory.size());
+        Assert.assertNull(factory.getScope(0));
+    }
+
+    @Test
+    public void testImmutable() {
+        final ScopeFactory factory = new ScopeFactory();
+        final Scope scope = factory.createScope(createTopic());
+        try {
+            scope.getThemes().add(createTopic());
+            Assert.fail("Scopes must be immutable");
+        }
+        catch (UnsupportedOperationException ex) {
+            // noop.
+        }
+    }
+
+    @Test
+    public void testIllegalThemes() {
+        final ScopeFactory factory = new ScopeFactory();
+        try {
+            factory.createScope(Arrays.asList(createTopic(), null));
+            Assert.fail("null is not a valid theme");
+        }
+        catch (ModelConstraintException ex) {
+            // noop.
+        }
+    }
+
+}
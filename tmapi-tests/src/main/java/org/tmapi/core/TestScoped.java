@@ -14,6 +14,7 @@
 package org.tmapi.core;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 /**
@@ -93,4 +94,43 @@ public class TestScoped extends TMAPITestCase {
     public void testVariant() {
         _testScoped(createVariant());
     }
+
+    /**
+     * Tests if equal scopes share the same {@link Scope} instance.
+     */
+    @Test
+    public void testScopeObject() {
+        final Topic theme1 = createTopic();
+        final Topic theme2 = createTopic();
+        final Association assoc = createAssociation();
+        final Occurrence occ = createOccurrence();
+        final Scope unconstrained;
+        try {
+            unconstrained = assoc.getScopeObject();
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+            return;
+        }
+        Assert.assertTrue(unconstrained.isUnconstrained());
+        Assert.assertEquals(0, unconstrained.size());
+        Assert.assertSame(unconstrained, occ.getScopeObject());
+        Assert.assertSame(unconstrained, _tm.createScope());
+        assoc.addTheme(theme1);
+        assoc.addTheme(theme2);
+        occ.addTheme(theme2);
+        occ.addTheme(theme1);
+        final Scope scope = assoc.getScopeObject();
+        Assert.assertSame(scope, occ.getScopeObject());
+        Assert.assertSame(scope, _tm.createScope(theme1, theme2));
+        Assert.assertEquals(scope.hashCode(), scope.getThemes().hashCode());
+        Assert.assertEquals(2, scope.size());
+        Assert.assertTrue(scope.contains(theme1));
+        Assert.assertTrue(scope.contains(theme2));
+        Assert.assertFalse(scope.isUnconstrained());
+        Assert.assertFalse(scope.getId() == unconstrained.getId());
+        occ.removeTheme(theme2);
+        Assert.assertNotSame(scope, occ.getScopeObject());
+        Assert.assertSame(_tm.createScope(theme1), occ.getScopeObject());
+    }
 }
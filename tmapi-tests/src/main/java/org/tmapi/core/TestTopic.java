@@ -752,4 +752,45 @@ public class TestTopic extends TMAPITestCase {
         }
     }
 
+    @Test
+    public void testCountRolesPlayed() {
+        final Topic topic = createTopic();
+        final Topic roleType = createTopic();
+        final Topic roleType2 = createTopic();
+        final Topic assocType = createTopic();
+        Assert.assertEquals(0, topic.countRolesPlayed());
+        Assert.assertEquals(0, topic.countRolesPlayed(roleType));
+        Assert.assertEquals(0, topic.countRolesPlayed(roleType, assocType));
+        _tm.createAssociation(assocType).createRole(roleType, topic);
+        _tm.createAssociation(createTopic()).createRole(roleType, topic);
+        createAssociation().createRole(roleType2, topic);
+        Assert.assertEquals(3, topic.countRolesPlayed());
+        Assert.assertEquals(2, topic.countRolesPlayed(roleType));
+        Assert.assertEquals(1, topic.countRolesPlayed(roleType2));
+        Assert.assertEquals(1, topic.countRolesPlayed(roleType, assocType));
+        Assert.assertEquals(0, topic.countRolesPlayed(roleType2, assocType));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testCountRolesPlayedIllegal() {
+        createTopic().countRolesPlayed(null);
+    }
+
+    @Test
+    public void testHasType() {
+        final Topic topic = createTopic();
+        final Topic type = createTopic();
+        Assert.assertFalse(topic.hasType(type));
+        topic.addType(type);
+        Assert.assertTrue(topic.hasType(type));
+        Assert.assertFalse(topic.hasType(topic));
+        topic.removeType(type);
+        Assert.assertFalse(topic.hasType(type));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testHasTypeIllegal() {
+        createTopic().hasType(null);
+    }
+
 }
@@ -13,10 +13,17 @@
  */
 package org.tmapi.core;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 import org.tmapi.index.Index;
 
@@ -237,6 +244,60 @@ public class TestTopicMap extends TMAPITestCase {
         }
     }
 
+    @Test
+    public void testTopicStream() {
+        Assert.assertEquals(0, _tm.topics().count());
+        final Topic topic = createTopic();
+        final Topic topic2 = createTopic();
+        final Set<Topic> topics = _tm.topics().collect(Collectors.toSet());
+        Assert.assertEquals(_tm.getTopics(), topics);
+        Assert.assertTrue(topics.contains(topic));
+        Assert.assertTrue(topics.contains(topic2));
+        Assert.assertEquals(_tm.getTopics(), _tm.topics().parallel().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testTopicSpliterator() {
+        for (int i=0; i<100; i++) {
+            createTopic();
+        }
+        final Spliterator<Topic> spliterator = _tm.topicSpliterator();
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.NONNULL));
+        Assert.assertEquals(100, spliterator.estimateSize());
+        final Set<Topic> topics = new HashSet<Topic>();
+        final Spliterator<Topic> prefix = spliterator.trySplit();
+        if (prefix != null) {
+            prefix.forEachRemaining(topics::add);
+        }
+        spliterator.forEachRemaining(topics::add);
+        Assert.assertEquals(_tm.getTopics(), topics);
+    }
+
+    @Test
+    public void testForEachTopic() {
+        final Topic topic = createTopic();
+        final List<Topic> topics = new ArrayList<Topic>();
+        _tm.forEachTopic(topics::add);
+        Assert.assertEquals(1, topics.size());
+        Assert.assertTrue(topics.contains(topic));
+    }
+
+    @Test
+    public void testAssociationStream() {
+        Assert.assertEquals(0, _tm.associations().count());
+        final Association assoc = createAssociation();
+        Assert.assertEquals(1, _tm.associations().count());
+        Assert.assertTrue(_tm.associations().anyMatch(assoc::equals));
+        Assert.assertEquals(_tm.getAssociations(), _tm.associations().parallel().collect(Collectors.toSet()));
+        final Spliterator<Association> spliterator = _tm.associationSpliterator();
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.NONNULL));
+        final List<Association> assocs = new ArrayList<Association>();
+        _tm.forEachAssociation(assocs::add);
+        Assert.assertEquals(Collections.singletonList(assoc), assocs);
+    }
+
     @Test
     public void testGetIndex() {
         try {
@@ -258,4 +319,45 @@ public class TestTopicMap extends TMAPITestCase {
         public void open() { }
         public void reindex() {}
     }
+
+    @Test
+    public void testCounts() {
+        Assert.assertEquals(0, _tm.getTopicCount());
+        Assert.assertEquals(0, _tm.getAssociationCount());
+        createTopic();
+        createAssociation();
+        Assert.assertEquals(_tm.getTopics().size(), _tm.getTopicCount());
+        Assert.assertEquals(1, _tm.getAssociationCount());
+    }
+
+    @Test
+    public void testChangeCount() {
+        final long count;
+        try {
+            count = _tm.getChangeCount();
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+            return;
+        }
+        final Topic topic = createTopic();
+        final long count2 = _tm.getChangeCount();
+        Assert.assertTrue(count2 > count);
+        topic.createName("Name");
+        final long count3 = _tm.getChangeCount();
+        Assert.assertTrue(count3 > count2);
+        _tm.getTopics();
+        Assert.assertEquals("Reading must not change the counter", count3, _tm.getChangeCount());
+    }
+
+    @Test
+    public void testTopicMapSystem() {
+        try {
+            Assert.assertSame(_sys, _tm.getTopicMapSystem());
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+    }
+
 }
@@ -0,0 +1,114 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests against the {@link TopicMapBatch} interface.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestTopicMapBatch extends TMAPITestCase {
+
+    @Test
+    public void testTopicMap() {
+        final TopicMapBatch batch = _tm.createBatch();
+        Assert.assertEquals(_tm, batch.getTopicMap());
+        Assert.assertFalse(batch.isCommitted());
+    }
+
+    @Test
+    public void testCreation() {
+        final Locator sid = createLocator("http://psi.example.org/type");
+        final Locator datatype = createLocator("http://www.w3.org/2001/XMLSchema#string");
+        final TopicMapBatch batch = _tm.createBatch();
+        final Topic type = batch.createTopicBySubjectIdentifier(sid);
+        final Topic topic = batch.createTopic();
+        final Name name = batch.createName(topic, type, "Name", null);
+        final Variant variant = batch.createVariant(name, "Variant", datatype, Collections.singleton(type));
+        final Occurrence occ = batch.createOccurrence(topic, type, "Occurrence", datatype, null);
+        final Association assoc = batch.createAssociation(type, null);
+        final Role role = batch.createRole(assoc, type, topic);
+        batch.commit();
+        Assert.assertTrue(batch.isCommitted());
+        Assert.assertEquals(7, batch.getCreatedCount());
+        Assert.assertTrue(batch.getElapsedTime() >= 0);
+        Assert.assertTrue(batch.getThroughput() >= 0);
+        Assert.assertEquals(type, _tm.getTopicBySubjectIdentifier(sid));
+        Assert.assertEquals(2, _tm.getTopics().size());
+        Assert.assertTrue(topic.getNames().contains(name));
+        Assert.assertTrue(name.getScope().isEmpty());
+        Assert.assertTrue(name.getVariants().contains(variant));
+        Assert.assertTrue(topic.getOccurrences().contains(occ));
+        Assert.assertEquals(datatype, occ.getDatatype());
+        Assert.assertTrue(_tm.getAssociations().contains(assoc));
+        Assert.assertTrue(assoc.getRoles().contains(role));
+        Assert.assertEquals(topic, role.getPlayer());
+    }
+
+    @Test
+    public void testIdentityMerge() {
+        final Locator sid = createLocator("http://psi.example.org/topic");
+        final TopicMapBatch batch = _tm.createBatch();
+        batch.createTopicBySubjectIdentifier(sid);
+        batch.createTopicBySubjectIdentifier(sid);
+        batch.createTopicByItemIdentifier(sid);
+        batch.commit();
+        Assert.assertEquals(1, _tm.getTopics().size());
+        final Topic topic = _tm.getTopicBySubjectIdentifier(sid);
+        Assert.assertNotNull(topic);
+        Assert.assertEquals(topic, _tm.getConstructByItemIdentifier(sid));
+    }
+
+    @Test
+    public void testCommitTwice() {
+        final TopicMapBatch batch = _tm.createBatch();
+        batch.createTopic();
+        batch.commit();
+        final long elapsed = batch.getElapsedTime();
+        batch.commit();
+        Assert.assertTrue(batch.isCommitted());
+        Assert.assertEquals(elapsed, batch.getElapsedTime());
+    }
+
+    @Test
+    public void testCreationAfterCommit() {
+        final TopicMapBatch batch = _tm.createBatch();
+        batch.commit();
+        try {
+            batch.createTopic();
+            Assert.fail("Creating constructs after commit is illegal");
+        }
+        catch (IllegalStateException ex) {
+            // noop.
+        }
+    }
+
+    @Test
+    public void testNameCreationIllegalTopic() {
+        final TopicMapBatch batch = _tm.createBatch();
+        try {
+            batch.createName(null, createTopic(), "Name", null);
+            Assert.fail("Creating a name without a topic is illegal");
+        }
+        catch (ModelConstraintException ex) {
+            // noop.
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests against the {@link TopicMapListener} interface.
+ * <p>
+ * The tests are skipped if the engine does not support listeners.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestTopicMapListener extends TMAPITestCase {
+
+    private RecordingListener _listener;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        _listener = new RecordingListener();
+        try {
+            _tm.addTopicMapListener(_listener);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+    }
+
+    /**
+     * Returns the recorded events of the specified <tt>type</tt>.
+     */
+    private List<TopicMapEvent> _events(TopicMapEvent.Type type) {
+        final List<TopicMapEvent> result = new ArrayList<TopicMapEvent>();
+        for (TopicMapEvent evt: _listener.events) {
+            if (evt.getType() == type) {
+                result.add(evt);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testTopicCreated() {
+        final Topic topic = createTopic();
+        final List<TopicMapEvent> events = _events(TopicMapEvent.Type.CONSTRUCT_CREATED);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(topic, events.get(0).getConstruct());
+        Assert.assertEquals(_tm, events.get(0).getNewValue());
+    }
+
+    @Test
+    public void testTopicRemoved() {
+        final Topic topic = createTopic();
+        topic.remove();
+        final List<TopicMapEvent> events = _events(TopicMapEvent.Type.CONSTRUCT_REMOVED);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(topic, events.get(0).getConstruct());
+    }
+
+    @Test
+    public void testSubjectIdentifier() {
+        final Topic topic = createTopic();
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        topic.addSubjectIdentifier(loc);
+        List<TopicMapEvent> events = _events(TopicMapEvent.Type.SUBJECT_IDENTIFIER_ADDED);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(topic, events.get(0).getConstruct());
+        Assert.assertEquals(loc, events.get(0).getNewValue());
+        topic.removeSubjectIdentifier(loc);
+        events = _events(TopicMapEvent.Type.SUBJECT_IDENTIFIER_REMOVED);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(loc, events.get(0).getOldValue());
+    }
+
+    @Test
+    public void testValueChanged() {
+        final Name name = createName();
+        name.setValue("New value");
+        final List<TopicMapEvent> events = _events(TopicMapEvent.Type.VALUE_CHANGED);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(name, events.get(0).getConstruct());
+        Assert.assertEquals("Name", events.get(0).getOldValue());
+        Assert.assertEquals("New value", events.get(0).getNewValue());
+    }
+
+    @Test
+    public void testMerge() {
+        final Topic topic1 = createTopic();
+        final Topic topic2 = createTopic();
+        topic1.mergeIn(topic2);
+        final List<TopicMapEvent> events = _events(TopicMapEvent.Type.TOPICS_MERGED);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(topic1, events.get(0).getConstruct());
+        Assert.assertEquals(topic2, events.get(0).getOldValue());
+    }
+
+    @Test
+    public void testBatchedDelivery() {
+        final Topic topic = createTopic();
+        Assert.assertEquals(1, _listener.batches.size());
+        Assert.assertEquals(1, _listener.batches.get(0).size());
+        Assert.assertEquals(topic, _listener.batches.get(0).get(0).getConstruct());
+    }
+
+    @Test
+    public void testBatchedDeliveryMerge() {
+        final Topic topic1 = createTopic();
+        final Topic topic2 = createTopic();
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        topic1.addSubjectIdentifier(createLocator("http://psi.example.org/topic1"));
+        topic2.addSubjectIdentifier(loc);
+        topic2.createName("Name");
+        final int batchCount = _listener.batches.size();
+        final int eventCount = _listener.events.size();
+        topic1.mergeIn(topic2);
+        // All events of the merge are delivered by one invocation
+        Assert.assertEquals(batchCount + 1, _listener.batches.size());
+        final List<TopicMapEvent> batch = _listener.batches.get(batchCount);
+        Assert.assertEquals(_listener.events.size() - eventCount, batch.size());
+        boolean merged = false;
+        for (TopicMapEvent evt: batch) {
+            merged = merged || evt.getType() == TopicMapEvent.Type.TOPICS_MERGED;
+        }
+        Assert.assertTrue(merged);
+        Assert.assertTrue(topic1.getSubjectIdentifiers().contains(loc));
+    }
+
+    @Test
+    public void testRemoveListener() {
+        _tm.removeTopicMapListener(_listener);
+        createTopic();
+        Assert.assertTrue(_listener.events.isEmpty());
+    }
+
+    /**
+     * Listener which records all events.
+     */
+    private static class RecordingListener implements TopicMapListener {
+
+        final List<List<TopicMapEvent>> batches = new ArrayList<List<TopicMapEvent>>();
+        final List<TopicMapEvent> events = new ArrayList<TopicMapEvent>();
+
+        public void topicMapChanged(List<TopicMapEvent> evts) {
+            batches.add(evts);
+            events.addAll(evts);
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests against {@link TopicMap#snapshot()}.
+ * <p>
+ * The tests are skipped if the engine does not support snapshots.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestTopicMapSnapshot extends TMAPITestCase {
+
+    /**
+     * Returns a snapshot of the default topic map or skips the test if
+     * snapshots are not supported.
+     */
+    private TopicMap _snapshot() {
+        try {
+            return _tm.snapshot();
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+            return null;
+        }
+    }
+
+    @Test
+    public void testIsolation() {
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        final Topic topic = _tm.createTopicBySubjectIdentifier(loc);
+        // Use an explicit type to avoid the default name type topic
+        final Name name = topic.createName(createTopic(), "Name");
+        final TopicMap snapshot = _snapshot();
+        try {
+            createTopic();
+            name.setValue("Changed");
+            Assert.assertEquals(2, snapshot.getTopics().size());
+            final Topic snapshotTopic = snapshot.getTopicBySubjectIdentifier(loc);
+            Assert.assertNotNull(snapshotTopic);
+            Assert.assertEquals(topic.getId(), snapshotTopic.getId());
+            Assert.assertEquals("Name", snapshotTopic.getNames().iterator().next().getValue());
+            Assert.assertEquals(3, _tm.getTopics().size());
+        }
+        finally {
+            snapshot.close();
+        }
+    }
+
+    @Test
+    public void testImmutable() {
+        createTopic();
+        final TopicMap snapshot = _snapshot();
+        try {
+            snapshot.createTopic();
+            Assert.fail("A snapshot must not be modifiable");
+        }
+        catch (UnsupportedOperationException ex) {
+            // noop.
+        }
+        try {
+            snapshot.getTopics().iterator().next().createName("Name");
+            Assert.fail("The constructs of a snapshot must not be modifiable");
+        }
+        catch (UnsupportedOperationException ex) {
+            // noop.
+        }
+        finally {
+            snapshot.close();
+        }
+        Assert.assertEquals(1, _tm.getTopics().size());
+    }
+
+    @Test
+    public void testSnapshotOfSnapshot() {
+        final TopicMap snapshot = _snapshot();
+        try {
+            Assert.assertSame(snapshot, snapshot.snapshot());
+        }
+        finally {
+            snapshot.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        final Topic type = createTopic();
+        for (int i=0; i<100; i++) {
+            createTopic().createName(type, "Name " + i);
+        }
+        final TopicMap snapshot = _snapshot();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            for (int i=0; i<4; i++) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    public Integer call() {
+                        int count = 0;
+                        for (Topic topic: snapshot.getTopics()) {
+                            count += topic.getNames().size();
+                        }
+                        return count;
+                    }
+                }));
+            }
+            for (int i=0; i<100; i++) {
+                createTopic();
+            }
+            for (Future<Integer> result: results) {
+                Assert.assertEquals(100, result.get().intValue());
+            }
+            // 100 named topics and the name type
+            Assert.assertEquals(101, snapshot.getTopics().size());
+        }
+        finally {
+            executor.shutdown();
+            snapshot.close();
+        }
+    }
+
+}
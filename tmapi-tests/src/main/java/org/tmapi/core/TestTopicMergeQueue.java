@@ -0,0 +1,105 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests against the {@link TopicMergeQueue}.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestTopicMergeQueue extends TMAPITestCase {
+
+    @Test
+    public void testEmpty() {
+        final TopicMergeQueue queue = new TopicMergeQueue();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.size());
+        Assert.assertEquals(0, queue.flush());
+    }
+
+    @Test
+    public void testMerge() {
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        final Topic topic1 = createTopic();
+        final Topic topic2 = createTopic();
+        topic2.addSubjectIdentifier(loc);
+        final TopicMergeQueue queue = new TopicMergeQueue();
+        queue.add(topic1, topic2);
+        Assert.assertFalse(queue.isEmpty());
+        Assert.assertEquals(1, queue.size());
+        Assert.assertTrue(queue.isQueued(topic1, topic2));
+        Assert.assertEquals(1, queue.flush());
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(1, _tm.getTopics().size());
+        Assert.assertNotNull(_tm.getTopicBySubjectIdentifier(loc));
+    }
+
+    @Test
+    public void testTransitiveMerge() {
+        final Topic topic1 = createTopic();
+        final Topic topic2 = createTopic();
+        final Topic topic3 = createTopic();
+        final Topic topic4 = createTopic();
+        final Topic unrelated = createTopic();
+        final TopicMergeQueue queue = new TopicMergeQueue();
+        queue.add(topic1, topic2);
+        queue.add(topic3, topic4);
+        Assert.assertFalse(queue.isQueued(topic1, topic3));
+        queue.add(topic2, topic3);
+        queue.add(topic4, topic1);
+        Assert.assertTrue(queue.isQueued(topic1, topic4));
+        Assert.assertFalse(queue.isQueued(topic1, unrelated));
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(3, queue.flush());
+        Assert.assertEquals(2, _tm.getTopics().size());
+        Assert.assertTrue(_tm.getTopics().contains(unrelated));
+    }
+
+    @Test
+    public void testSameTopic() {
+        final Topic topic = createTopic();
+        final TopicMergeQueue queue = new TopicMergeQueue();
+        queue.add(topic, topic);
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.flush());
+        Assert.assertTrue(_tm.getTopics().contains(topic));
+    }
+
+    @Test
+    public void testClear() {
+        final TopicMergeQueue queue = new TopicMergeQueue();
+        queue.add(createTopic(), createTopic());
+        queue.clear();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.flush());
+        Assert.assertEquals(2, _tm.getTopics().size());
+    }
+
+    @Test
+    public void testIllegalTopic() {
+        final TopicMergeQueue queue = new TopicMergeQueue();
+        try {
+            queue.add(createTopic(), null);
+            Assert.fail("null is not allowed");
+        }
+        catch (ModelConstraintException ex) {
+            // noop.
+        }
+    }
+
+}
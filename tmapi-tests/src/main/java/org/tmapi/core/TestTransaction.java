@@ -0,0 +1,131 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests against the {@link Transaction} interface.
+ * <p>
+ * The tests are skipped if the engine does not support transactions.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestTransaction extends TMAPITestCase {
+
+    /**
+     * Starts a transaction or skips the test if transactions are not 
+     * supported.
+     */
+    private Transaction _begin() {
+        try {
+            return _tm.begin();
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+            return null;
+        }
+    }
+
+    @Test
+    public void testCommit() {
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        final Transaction tx = _begin();
+        Assert.assertEquals(_tm, tx.getTopicMap());
+        Assert.assertTrue(tx.isActive());
+        _tm.createTopicBySubjectIdentifier(loc).createName("Name");
+        tx.commit();
+        Assert.assertFalse(tx.isActive());
+        final Topic topic = _tm.getTopicBySubjectIdentifier(loc);
+        Assert.assertNotNull(topic);
+        Assert.assertEquals(1, topic.getNames().size());
+    }
+
+    @Test
+    public void testRollback() {
+        final Topic topic = createTopic();
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        final Transaction tx = _begin();
+        _tm.createTopicBySubjectIdentifier(loc);
+        topic.createName("Name");
+        tx.rollback();
+        Assert.assertFalse(tx.isActive());
+        Assert.assertNull(_tm.getTopicBySubjectIdentifier(loc));
+        Assert.assertEquals(1, _tm.getTopics().size());
+        Assert.assertTrue(topic.getNames().isEmpty());
+    }
+
+    @Test
+    public void testCloseRollsBack() {
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        final Transaction transaction;
+        try (Transaction tx = _begin()) {
+            transaction = tx;
+            _tm.createTopicBySubjectIdentifier(loc);
+            Assert.assertTrue(tx.isActive());
+        }
+        Assert.assertFalse(transaction.isActive());
+        Assert.assertNull(_tm.getTopicBySubjectIdentifier(loc));
+    }
+
+    @Test
+    public void testCloseAfterCommit() {
+        final Locator loc = createLocator("http://psi.example.org/topic");
+        try (Transaction tx = _begin()) {
+            _tm.createTopicBySubjectIdentifier(loc);
+            tx.commit();
+        }
+        Assert.assertNotNull(_tm.getTopicBySubjectIdentifier(loc));
+    }
+
+    @Test
+    public void testCommitInactive() {
+        final Transaction tx = _begin();
+        tx.commit();
+        try {
+            tx.commit();
+            Assert.fail("Committing an inactive transaction is illegal");
+        }
+        catch (IllegalStateException ex) {
+            // noop.
+        }
+        try {
+            tx.rollback();
+            Assert.fail("Rolling back an inactive transaction is illegal");
+        }
+        catch (IllegalStateException ex) {
+            // noop.
+        }
+    }
+
+    @Test
+    public void testNestedBegin() {
+        final Transaction tx = _begin();
+        try {
+            _tm.begin();
+            Assert.fail("Starting a second transaction in the same thread is illegal");
+        }
+        catch (IllegalStateException ex) {
+            // noop.
+        }
+        finally {
+            tx.rollback();
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmapi.core.Association;
+import org.tmapi.core.Role;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+
+/**
+ * Tests against the {@link AssociationIndex} interface.
+ * <p>
+ * The tests are skipped if the engine does not provide an 
+ * {@link AssociationIndex}.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestAssociationIndex extends TMAPITestCase {
+
+    private AssociationIndex _assocIdx;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        try {
+            _assocIdx = _tm.getIndex(AssociationIndex.class);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        _assocIdx.open();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#tearDown()
+     */
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (_assocIdx != null) {
+            _assocIdx.close();
+            _assocIdx = null;
+        }
+    }
+
+    private void _updateIndex() {
+        if (!_assocIdx.isAutoUpdated()) {
+            _assocIdx.reindex();
+        }
+    }
+
+    private static <T> void _assertContentEquals(Collection<T> expected, Collection<T> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Assert.assertEquals(new HashSet<T>(expected), new HashSet<T>(actual));
+    }
+
+    @Test
+    public void testCounterpartPlayers() {
+        final Topic employment = createTopic();
+        final Topic employer = createTopic();
+        final Topic employee = createTopic();
+        final Topic membership = createTopic();
+        final Topic member = createTopic();
+        final Topic group = createTopic();
+        final Topic company = createTopic();
+        final Topic alice = createTopic();
+        final Topic bob = createTopic();
+        final Topic club = createTopic();
+        Association assoc = _tm.createAssociation(employment);
+        assoc.createRole(employer, company);
+        assoc.createRole(employee, alice);
+        assoc = _tm.createAssociation(employment);
+        assoc.createRole(employer, company);
+        assoc.createRole(employee, bob);
+        assoc = _tm.createAssociation(membership);
+        assoc.createRole(group, club);
+        assoc.createRole(member, alice);
+        _updateIndex();
+        _assertContentEquals(Arrays.asList(alice, bob), 
+                _assocIdx.getCounterpartPlayers(company, employer, employment, employee));
+        _assertContentEquals(Arrays.asList(company), 
+                _assocIdx.getCounterpartPlayers(alice, employee, employment, employer));
+        _assertContentEquals(Arrays.asList(company, club), 
+                _assocIdx.getCounterpartPlayers(alice, null, null, null));
+        _assertContentEquals(Arrays.asList(club), 
+                _assocIdx.getCounterpartPlayers(alice, null, membership, null));
+        _assertContentEquals(Arrays.asList(club), 
+                _assocIdx.getCounterpartPlayers(alice, member, null, null));
+        Assert.assertTrue(_assocIdx.getCounterpartPlayers(alice, employer, null, null).isEmpty());
+        Assert.assertEquals(2, _assocIdx.countCounterpartPlayers(company, null, null, null));
+        Assert.assertEquals(2, _assocIdx.getAssociationsByPlayer(company, employer, null).size());
+        Assert.assertEquals(1, _assocIdx.getAssociationsByPlayer(alice, null, membership).size());
+    }
+
+    @Test
+    public void testCounterpartRoles() {
+        final Topic roleType = createTopic();
+        final Topic player = createTopic();
+        final Association assoc = createAssociation();
+        assoc.createRole(roleType, player);
+        final Role other = assoc.createRole(roleType, createTopic());
+        final Role other2 = assoc.createRole(createTopic(), player);
+        _updateIndex();
+        _assertContentEquals(Arrays.asList(other, other2), 
+                _assocIdx.getCounterpartRoles(player, roleType, null, null));
+        _assertContentEquals(Arrays.asList(other), 
+                _assocIdx.getCounterpartRoles(player, roleType, null, roleType));
+    }
+
+    @Test
+    public void testUpdate() {
+        final Topic player = createTopic();
+        final Topic other = createTopic();
+        final Association assoc = createAssociation();
+        assoc.createRole(createTopic(), player);
+        final Role role = assoc.createRole(createTopic(), other);
+        _updateIndex();
+        _assertContentEquals(Arrays.asList(other), 
+                _assocIdx.getCounterpartPlayers(player, null, null, null));
+        final Topic other2 = createTopic();
+        role.setPlayer(other2);
+        _updateIndex();
+        _assertContentEquals(Arrays.asList(other2), 
+                _assocIdx.getCounterpartPlayers(player, null, null, null));
+        assoc.remove();
+        _updateIndex();
+        Assert.assertTrue(_assocIdx.getCounterpartPlayers(player, null, null, null).isEmpty());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalPlayer() {
+        _assocIdx.getCounterpartPlayers(null, null, null, null);
+    }
+
+}
@@ -0,0 +1,443 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.tmapi.core.Association;
+import org.tmapi.core.Name;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.Topic;
+import org.tmapi.core.TopicMap;
+import org.tmapi.core.TopicMapSystem;
+import org.tmapi.core.TopicMapSystemFactory;
+import org.tmapi.core.Variant;
+
+/**
+ * Runs the {@link ScopedIndex} tests against the {@link BitmapScopedIndex}
+ * and tests the bitmap operations with sparse and dense themes.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestBitmapScopedIndex extends TestScopedIndex {
+
+    private BitmapScopedIndex _bitmapIdx;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.TestScopedIndex#_createIndex()
+     */
+    @Override
+    protected ScopedIndex _createIndex() {
+        _bitmapIdx = new BitmapScopedIndex(_tm);
+        return _bitmapIdx;
+    }
+
+    @Test
+    public void testNotAutoUpdated() {
+        final Topic theme = createTopic();
+        Assert.assertFalse(_bitmapIdx.isAutoUpdated());
+        final Association assoc = createAssociation();
+        assoc.addTheme(theme);
+        Assert.assertTrue(_bitmapIdx.getAssociations(theme).isEmpty());
+        _bitmapIdx.reindex();
+        Assert.assertEquals(1, _bitmapIdx.getAssociations(theme).size());
+        Assert.assertTrue(_bitmapIdx.getAssociations(theme).contains(assoc));
+    }
+
+    @Test
+    public void testClose() {
+        final Topic theme = createTopic();
+        createAssociation().addTheme(theme);
+        _bitmapIdx.reindex();
+        _bitmapIdx.close();
+        Assert.assertFalse(_bitmapIdx.isOpen());
+        try {
+            _bitmapIdx.getAssociations(theme);
+            Assert.fail("Querying a closed index is illegal");
+        }
+        catch (IllegalStateException ex) {
+            // noop.
+        }
+        try {
+            _bitmapIdx.reindex();
+            Assert.fail("Reindexing a closed index is illegal");
+        }
+        catch (IllegalStateException ex) {
+            // noop.
+        }
+        Assert.assertFalse(_bitmapIdx.isOpen());
+        _bitmapIdx.open();
+        Assert.assertTrue(_bitmapIdx.isOpen());
+        Assert.assertEquals(1, _bitmapIdx.getAssociations(theme).size());
+    }
+
+    @Test
+    public void testThemes() {
+        final Topic theme = createTopic();
+        final Topic theme2 = createTopic();
+        final Association assoc = createAssociation();
+        final Association scopedAssoc = createAssociation();
+        scopedAssoc.addTheme(theme);
+        final Occurrence occ = createOccurrence();
+        occ.addTheme(theme2);
+        final Name name = createName();
+        name.addTheme(theme);
+        name.addTheme(theme2);
+        _bitmapIdx.reindex();
+        Assert.assertTrue(_bitmapIdx.getAssociations((Topic) null).contains(assoc));
+        Assert.assertFalse(_bitmapIdx.getAssociations((Topic) null).contains(scopedAssoc));
+        Assert.assertEquals(Collections.singleton(scopedAssoc), 
+                new HashSet<Association>(_bitmapIdx.getAssociations(theme)));
+        Assert.assertEquals(Collections.singleton(theme), 
+                new HashSet<Topic>(_bitmapIdx.getAssociationThemes()));
+        Assert.assertEquals(Collections.singleton(occ), 
+                new HashSet<Occurrence>(_bitmapIdx.getOccurrences(theme2)));
+        Assert.assertTrue(_bitmapIdx.getOccurrences(theme).isEmpty());
+        Assert.assertEquals(Collections.singleton(theme2), 
+                new HashSet<Topic>(_bitmapIdx.getOccurrenceThemes()));
+        Assert.assertTrue(_bitmapIdx.getNames(theme).contains(name));
+        Assert.assertTrue(_bitmapIdx.getNames(theme2).contains(name));
+        Assert.assertEquals(2, _bitmapIdx.getNameThemes().size());
+        // Changes are visible after reindexing
+        scopedAssoc.removeTheme(theme);
+        Assert.assertTrue(_bitmapIdx.getAssociations(theme).contains(scopedAssoc));
+        _bitmapIdx.reindex();
+        Assert.assertTrue(_bitmapIdx.getAssociations(theme).isEmpty());
+        Assert.assertTrue(_bitmapIdx.getAssociationThemes().isEmpty());
+        Assert.assertTrue(_bitmapIdx.getAssociations((Topic) null).contains(scopedAssoc));
+    }
+
+    @Test
+    public void testMatchAll() {
+        final Topic theme = createTopic();
+        final Topic theme2 = createTopic();
+        final Topic unusedTheme = createTopic();
+        final Occurrence both = createOccurrence();
+        both.addTheme(theme);
+        both.addTheme(theme2);
+        final Occurrence one = createOccurrence();
+        one.addTheme(theme);
+        _bitmapIdx.reindex();
+        Assert.assertEquals(Collections.singleton(both), new HashSet<Occurrence>(
+                _bitmapIdx.getOccurrences(new Topic[] {theme, theme2}, true)));
+        Assert.assertEquals(new HashSet<Occurrence>(Arrays.asList(both, one)), new HashSet<Occurrence>(
+                _bitmapIdx.getOccurrences(new Topic[] {theme, theme2}, false)));
+        Assert.assertTrue(_bitmapIdx.getOccurrences(new Topic[] {theme, unusedTheme}, true).isEmpty());
+        Assert.assertEquals(2, _bitmapIdx.getOccurrences(new Topic[] {theme, unusedTheme}, false).size());
+    }
+
+    @Test
+    public void testVariantScope() {
+        final Topic theme = createTopic();
+        final Topic theme2 = createTopic();
+        final Name name = createName();
+        final Variant variant = name.createVariant("Variant", theme);
+        _bitmapIdx.reindex();
+        Assert.assertEquals(Collections.singleton(theme), 
+                new HashSet<Topic>(_bitmapIdx.getVariantThemes()));
+        // The variant inherits the themes of its parent
+        name.addTheme(theme2);
+        _bitmapIdx.reindex();
+        Assert.assertTrue(_bitmapIdx.getVariants(theme2).contains(variant));
+        Assert.assertEquals(Collections.singleton(variant), new HashSet<Variant>(
+                _bitmapIdx.getVariants(new Topic[] {theme, theme2}, true)));
+        name.removeTheme(theme2);
+        _bitmapIdx.reindex();
+        Assert.assertTrue(_bitmapIdx.getVariants(theme2).isEmpty());
+        Assert.assertTrue(_bitmapIdx.getVariants(theme).contains(variant));
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        try {
+            _bitmapIdx.getAssociations(null, true);
+            Assert.fail("getAssociations(null, boolean) is illegal");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+        try {
+            _bitmapIdx.getOccurrences(null, true);
+            Assert.fail("getOccurrences(null, boolean) is illegal");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+        try {
+            _bitmapIdx.getNames(null, true);
+            Assert.fail("getNames(null, boolean) is illegal");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+        try {
+            _bitmapIdx.getVariants(null, true);
+            Assert.fail("getVariants(null, boolean) is illegal");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+        try {
+            _bitmapIdx.getVariants((Topic) null);
+            Assert.fail("getVariants(null) is illegal");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+    }
+
+    @Test
+    public void testDenseAndSparseThemes() {
+        // More than 4096 constructs per theme let the bitmaps switch to the
+        // dense representation
+        final int count = 10000;
+        final Topic topic = createTopic();
+        final Topic dense = createTopic();
+        final Topic even = createTopic();
+        final Topic sparse = createTopic();
+        final Set<Name> expectedAnd = new HashSet<Name>();
+        final Set<Name> expectedOr = new HashSet<Name>();
+        final List<Name> unscoped = new ArrayList<Name>();
+        for (int i = 0; i < count; i++) {
+            final Name name = topic.createName("Name " + i);
+            if (i % 10 != 0) {
+                name.addTheme(dense);
+            }
+            if (i % 2 == 0) {
+                name.addTheme(even);
+            }
+            if (i % 1000 == 3) {
+                name.addTheme(sparse);
+            }
+            if (name.getScope().isEmpty()) {
+                unscoped.add(name);
+            }
+            if (name.getScope().contains(dense) && name.getScope().contains(even)) {
+                expectedAnd.add(name);
+            }
+            if (name.getScope().contains(even) || name.getScope().contains(sparse)) {
+                expectedOr.add(name);
+            }
+        }
+        _bitmapIdx.reindex();
+        Assert.assertEquals(9000, _bitmapIdx.countNames(dense));
+        Assert.assertEquals(5000, _bitmapIdx.countNames(even));
+        Assert.assertEquals(10, _bitmapIdx.countNames(sparse));
+        Assert.assertEquals(unscoped.size(), _bitmapIdx.countNames(null));
+        Assert.assertEquals(expectedAnd, 
+                new HashSet<Name>(_bitmapIdx.getNames(new Topic[] {dense, even}, true)));
+        Assert.assertEquals(expectedOr, 
+                new HashSet<Name>(_bitmapIdx.getNames(new Topic[] {even, sparse}, false)));
+        Assert.assertTrue(_bitmapIdx.getNames(new Topic[] {even, sparse}, true).isEmpty());
+        Assert.assertEquals(10, 
+                _bitmapIdx.getNames(new Topic[] {dense, sparse}, true).size());
+        Assert.assertTrue(_bitmapIdx.getNames(new Topic[] {dense, createTopic()}, true).isEmpty());
+        Assert.assertEquals(9000, 
+                _bitmapIdx.getNames(new Topic[] {dense, createTopic()}, false).size());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalTopicMap() {
+        new BitmapScopedIndex(null);
+    }
+
+    @Test
+    public void testLazyBuild() {
+        final Topic theme = createTopic();
+        createAssociation().addTheme(theme);
+        final BitmapScopedIndex idx = new BitmapScopedIndex(_tm, true);
+        Assert.assertEquals(IndexState.CLOSED, idx.getState());
+        idx.open();
+        Assert.assertTrue(idx.isOpen());
+        Assert.assertEquals(IndexState.PENDING, idx.getState());
+        Assert.assertEquals(0.0, idx.getBuildProgress(), 0.0);
+        Assert.assertEquals(1, idx.getAssociations(theme).size());
+        Assert.assertEquals(IndexState.READY, idx.getState());
+        Assert.assertEquals(1.0, idx.getBuildProgress(), 0.0);
+        idx.close();
+        Assert.assertEquals(IndexState.CLOSED, idx.getState());
+    }
+
+    @Test
+    public void testOpenAsync() throws Exception {
+        final Topic theme = createTopic();
+        createAssociation().addTheme(theme);
+        final BitmapScopedIndex idx = new BitmapScopedIndex(_tm);
+        final CompletableFuture<Void> future = idx.openAsync();
+        Assert.assertTrue(idx.isOpen());
+        // Queries block until the index is ready
+        Assert.assertEquals(1, idx.getAssociations(theme).size());
+        future.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(IndexState.READY, idx.getState());
+        Assert.assertTrue(idx.openAsync().isDone());
+        idx.close();
+    }
+
+    @Test
+    public void testOpenAsyncClosed() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BitmapScopedIndex idx = new BitmapScopedIndex(_topicMap(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }));
+        final CompletableFuture<Void> future = idx.openAsync();
+        Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        // Closing the index must not wait for the build
+        idx.close();
+        Assert.assertEquals(IndexState.CLOSED, idx.getState());
+        release.countDown();
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            Assert.fail("The index was closed before it was ready");
+        }
+        catch (CancellationException ex) {
+            // noop.
+        }
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertEquals(IndexState.CLOSED, idx.getState());
+    }
+
+    @Test
+    public void testBuildFailure() throws Exception {
+        final Topic theme = createTopic();
+        final Runnable fail = new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("Build failure");
+            }
+        };
+        final BitmapScopedIndex idx = new BitmapScopedIndex(_topicMap(fail), true);
+        idx.open();
+        try {
+            idx.getAssociations(theme);
+            Assert.fail("The build failure must be reported");
+        }
+        catch (IllegalStateException ex) {
+            Assert.assertEquals("Build failure", ex.getMessage());
+        }
+        Assert.assertEquals(IndexState.CLOSED, idx.getState());
+        try {
+            idx.getAssociations(theme);
+            Assert.fail("Querying a closed index is illegal");
+        }
+        catch (IllegalStateException ex) {
+            Assert.assertEquals("The index is closed", ex.getMessage());
+        }
+        final BitmapScopedIndex asyncIdx = new BitmapScopedIndex(_topicMap(fail));
+        try {
+            asyncIdx.openAsync().get(10, TimeUnit.SECONDS);
+            Assert.fail("The build failure must be reported");
+        }
+        catch (ExecutionException ex) {
+            Assert.assertEquals("Build failure", ex.getCause().getMessage());
+        }
+        Assert.assertEquals(IndexState.CLOSED, asyncIdx.getState());
+    }
+
+    @Test
+    public void testBuildPolicyProperty() throws Exception {
+        try {
+            _tm.getTopicMapSystem();
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        Assert.assertEquals(IndexState.READY, _bitmapIdx.getState());
+        final TopicMapSystemFactory factory = createFactory();
+        factory.setProperty(Index.BUILD_POLICY, "lazy");
+        TopicMapSystem sys = factory.newTopicMapSystem();
+        try {
+            final BitmapScopedIndex idx = new BitmapScopedIndex(sys.createTopicMap("http://www.tmapi.org/test/build-policy"));
+            idx.open();
+            Assert.assertEquals(IndexState.PENDING, idx.getState());
+            idx.close();
+        }
+        finally {
+            sys.close();
+        }
+        factory.setProperty(Index.BUILD_POLICY, "eager");
+        sys = factory.newTopicMapSystem();
+        try {
+            final BitmapScopedIndex idx = new BitmapScopedIndex(sys.createTopicMap("http://www.tmapi.org/test/build-policy"));
+            idx.open();
+            Assert.assertEquals(IndexState.READY, idx.getState());
+            idx.close();
+        }
+        finally {
+            sys.close();
+        }
+        factory.setProperty(Index.BUILD_POLICY, "sometimes");
+        sys = factory.newTopicMapSystem();
+        try {
+            new BitmapScopedIndex(sys.createTopicMap("http://www.tmapi.org/test/build-policy"));
+            Assert.fail("Expected an IllegalArgumentException for an invalid build policy");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+        finally {
+            sys.close();
+        }
+    }
+
+    /**
+     * Returns a view of the topic map under test which runs <tt>onBuild</tt>
+     * when an index starts to read the associations.
+     */
+    private TopicMap _topicMap(final Runnable onBuild) {
+        return (TopicMap) Proxy.newProxyInstance(TopicMap.class.getClassLoader(), 
+                new Class<?>[] { TopicMap.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("associationSpliterator".equals(method.getName())) {
+                    onBuild.run();
+                }
+                try {
+                    return method.invoke(_tm, args);
+                }
+                catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+        });
+    }
+
+}
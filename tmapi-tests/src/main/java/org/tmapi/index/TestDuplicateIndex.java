@@ -0,0 +1,201 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmapi.core.Association;
+import org.tmapi.core.Construct;
+import org.tmapi.core.Name;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.Role;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+import org.tmapi.core.Variant;
+
+/**
+ * Tests against the {@link DuplicateIndex} interface.
+ * <p>
+ * The tests are skipped if the engine does not provide a 
+ * {@link DuplicateIndex}. Engines may collapse duplicates automatically,
+ * therefore the tests check the duplicates of those statements which 
+ * still exist after they became equal.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestDuplicateIndex extends TMAPITestCase {
+
+    private DuplicateIndex _duplicateIdx;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        try {
+            _duplicateIdx = _tm.getIndex(DuplicateIndex.class);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        _duplicateIdx.open();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#tearDown()
+     */
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (_duplicateIdx != null) {
+            _duplicateIdx.close();
+            _duplicateIdx = null;
+        }
+    }
+
+    private void _updateIndex() {
+        if (!_duplicateIdx.isAutoUpdated()) {
+            _duplicateIdx.reindex();
+        }
+    }
+
+    /**
+     * Checks if each of the <tt>statements</tt> is reported as duplicate of 
+     * all other statements.
+     */
+    private <T extends Construct> void _assertDuplicates(Collection<T> statements, 
+            Function<T, Collection<T>> duplicates) {
+        for (T statement: statements) {
+            final Set<T> expected = new HashSet<T>(statements);
+            expected.remove(statement);
+            Assert.assertEquals(expected, new HashSet<T>(duplicates.apply(statement)));
+        }
+    }
+
+    @Test
+    public void testName() {
+        final Topic topic = createTopic();
+        final Topic theme = createTopic();
+        final Name name = topic.createName("Name", theme);
+        final Name name2 = topic.createName("Other", theme);
+        _updateIndex();
+        Assert.assertTrue(_duplicateIdx.getDuplicates(name).isEmpty());
+        Assert.assertTrue(_duplicateIdx.getDuplicates(name2).isEmpty());
+        name2.setValue("Name");
+        _updateIndex();
+        _assertDuplicates(topic.getNames(), new Function<Name, Collection<Name>>() {
+            @Override
+            public Collection<Name> apply(Name statement) {
+                return _duplicateIdx.getDuplicates(statement);
+            }
+        });
+    }
+
+    @Test
+    public void testOccurrence() {
+        final Topic topic = createTopic();
+        final Topic type = createTopic();
+        final Occurrence occ = topic.createOccurrence(type, "Value");
+        final Occurrence occ2 = topic.createOccurrence(type, "Other");
+        createTopic().createOccurrence(type, "Value");
+        _updateIndex();
+        Assert.assertTrue(_duplicateIdx.getDuplicates(occ).isEmpty());
+        occ2.setValue("Value");
+        _updateIndex();
+        _assertDuplicates(topic.getOccurrences(), new Function<Occurrence, Collection<Occurrence>>() {
+            @Override
+            public Collection<Occurrence> apply(Occurrence statement) {
+                return _duplicateIdx.getDuplicates(statement);
+            }
+        });
+    }
+
+    @Test
+    public void testVariant() {
+        final Name name = createTopic().createName("Name");
+        final Topic theme = createTopic();
+        final Variant variant = name.createVariant("Variant", theme);
+        final Variant variant2 = name.createVariant("Other", theme);
+        _updateIndex();
+        Assert.assertTrue(_duplicateIdx.getDuplicates(variant).isEmpty());
+        variant2.setValue("Variant");
+        _updateIndex();
+        _assertDuplicates(name.getVariants(), new Function<Variant, Collection<Variant>>() {
+            @Override
+            public Collection<Variant> apply(Variant statement) {
+                return _duplicateIdx.getDuplicates(statement);
+            }
+        });
+    }
+
+    @Test
+    public void testAssociation() {
+        final Topic type = createTopic();
+        final Topic roleType = createTopic();
+        final Topic player = createTopic();
+        final Topic player2 = createTopic();
+        final Association assoc = _tm.createAssociation(type);
+        assoc.createRole(roleType, player);
+        final Association assoc2 = _tm.createAssociation(type);
+        final Role role2 = assoc2.createRole(roleType, player2);
+        _updateIndex();
+        Assert.assertTrue(_duplicateIdx.getDuplicates(assoc).isEmpty());
+        role2.setPlayer(player);
+        _updateIndex();
+        _assertDuplicates(_tm.getAssociations(), new Function<Association, Collection<Association>>() {
+            @Override
+            public Collection<Association> apply(Association statement) {
+                return _duplicateIdx.getDuplicates(statement);
+            }
+        });
+    }
+
+    @Test
+    public void testRole() {
+        final Topic roleType = createTopic();
+        final Topic player = createTopic();
+        final Association assoc = createAssociation();
+        final Role role = assoc.createRole(roleType, player);
+        final Role role2 = assoc.createRole(roleType, createTopic());
+        _updateIndex();
+        Assert.assertTrue(_duplicateIdx.getDuplicates(role).isEmpty());
+        role2.setPlayer(player);
+        _updateIndex();
+        _assertDuplicates(assoc.getRoles(), new Function<Role, Collection<Role>>() {
+            @Override
+            public Collection<Role> apply(Role statement) {
+                return _duplicateIdx.getDuplicates(statement);
+            }
+        });
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalName() {
+        _duplicateIdx.getDuplicates((Name) null);
+    }
+
+}
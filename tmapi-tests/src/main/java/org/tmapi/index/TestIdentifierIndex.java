@@ -0,0 +1,143 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmapi.core.Construct;
+import org.tmapi.core.Locator;
+import org.tmapi.core.Name;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+
+/**
+ * Tests against the {@link IdentifierIndex} interface.
+ * <p>
+ * The tests are skipped if the engine does not provide an 
+ * {@link IdentifierIndex}.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestIdentifierIndex extends TMAPITestCase {
+
+    private static final String _COUNTRY = "http://psi.example.org/country/";
+
+    private IdentifierIndex _identifierIdx;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        try {
+            _identifierIdx = _tm.getIndex(IdentifierIndex.class);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        _identifierIdx.open();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#tearDown()
+     */
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (_identifierIdx != null) {
+            _identifierIdx.close();
+            _identifierIdx = null;
+        }
+    }
+
+    private void _updateIndex() {
+        if (!_identifierIdx.isAutoUpdated()) {
+            _identifierIdx.reindex();
+        }
+    }
+
+    @Test
+    public void testSubjectIdentifiers() {
+        final Locator de = createLocator(_COUNTRY + "de");
+        final Locator fr = createLocator(_COUNTRY + "fr");
+        final Topic germany = _tm.createTopicBySubjectIdentifier(de);
+        final Topic france = _tm.createTopicBySubjectIdentifier(fr);
+        _tm.createTopicBySubjectIdentifier(createLocator("http://psi.example.org/city/berlin"));
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(de, fr), _identifierIdx.getSubjectIdentifiers(_COUNTRY));
+        Assert.assertEquals(2, _identifierIdx.countSubjectIdentifiers(_COUNTRY));
+        Assert.assertEquals(3, _identifierIdx.countSubjectIdentifiers("http://psi.example.org/"));
+        Assert.assertEquals(new HashSet<Topic>(Arrays.asList(germany, france)), 
+                new HashSet<Topic>(_identifierIdx.getTopicsBySubjectIdentifierPrefix(_COUNTRY)));
+        Assert.assertEquals(0, _identifierIdx.countSubjectIdentifiers(_COUNTRY + "x"));
+        germany.addSubjectIdentifier(createLocator(_COUNTRY + "deu"));
+        france.removeSubjectIdentifier(fr);
+        _updateIndex();
+        Assert.assertEquals(2, _identifierIdx.countSubjectIdentifiers(_COUNTRY));
+        Assert.assertEquals(Arrays.asList(germany), Arrays.asList(
+                _identifierIdx.getTopicsBySubjectIdentifierPrefix(_COUNTRY).toArray()));
+        germany.remove();
+        _updateIndex();
+        Assert.assertTrue(_identifierIdx.getSubjectIdentifiers(_COUNTRY).isEmpty());
+    }
+
+    @Test
+    public void testSubjectLocators() {
+        final Locator loc = createLocator("http://www.example.org/doc/a");
+        final Topic topic = _tm.createTopicBySubjectLocator(loc);
+        _tm.createTopicBySubjectIdentifier(createLocator("http://www.example.org/doc/b"));
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(loc), 
+                _identifierIdx.getSubjectLocators("http://www.example.org/doc/"));
+        Assert.assertEquals(Arrays.asList(topic), Arrays.asList(
+                _identifierIdx.getTopicsBySubjectLocatorPrefix("http://www.example.org/").toArray()));
+        topic.removeSubjectLocator(loc);
+        _updateIndex();
+        Assert.assertEquals(0, _identifierIdx.countSubjectLocators("http://www.example.org/"));
+    }
+
+    @Test
+    public void testItemIdentifiers() {
+        final String prefix = "http://www.example.org/ii/";
+        final Topic topic = _tm.createTopicByItemIdentifier(createLocator(prefix + "topic"));
+        final Name name = topic.createName("Name");
+        name.addItemIdentifier(createLocator(prefix + "name"));
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(createLocator(prefix + "name"), createLocator(prefix + "topic")), 
+                _identifierIdx.getItemIdentifiers(prefix));
+        Assert.assertEquals(new HashSet<Construct>(Arrays.<Construct>asList(topic, name)), 
+                new HashSet<Construct>(_identifierIdx.getConstructsByItemIdentifierPrefix(prefix)));
+        Assert.assertEquals(1, _identifierIdx.countItemIdentifiers(prefix + "n"));
+        name.remove();
+        _updateIndex();
+        Assert.assertEquals(1, _identifierIdx.countItemIdentifiers(prefix));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalPrefix() {
+        _identifierIdx.getSubjectIdentifiers(null);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests against the {@link IndexFileHeader}.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestIndexFileHeader {
+
+    private static final String _LOCATOR = "http://www.example.org/map";
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final IndexFileHeader header = new IndexFileHeader(3, 42L, _LOCATOR);
+        final ByteBuffer buffer = ByteBuffer.allocate(IndexFileHeader.SIZE + 4);
+        header.write(buffer);
+        Assert.assertEquals(IndexFileHeader.SIZE, buffer.position());
+        buffer.putInt(7);
+        buffer.flip();
+        final IndexFileHeader read = IndexFileHeader.read(buffer);
+        Assert.assertEquals(IndexFileHeader.SIZE, buffer.position());
+        Assert.assertEquals(7, buffer.getInt());
+        Assert.assertEquals(3, read.getFormatVersion());
+        Assert.assertEquals(42L, read.getChangeCount());
+        Assert.assertTrue(read.matches(3, 42L, _LOCATOR));
+    }
+
+    @Test
+    public void testMatches() {
+        final IndexFileHeader header = new IndexFileHeader(1, 10L, _LOCATOR);
+        Assert.assertTrue(header.matches(1, 10L, _LOCATOR));
+        Assert.assertFalse(header.matches(2, 10L, _LOCATOR));
+        Assert.assertFalse(header.matches(1, 11L, _LOCATOR));
+        Assert.assertFalse(header.matches(1, 10L, _LOCATOR + "2"));
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        final Path file = Files.createTempFile("tmapi-index", ".idx");
+        try {
+            final ByteBuffer buffer = ByteBuffer.allocate(IndexFileHeader.SIZE);
+            new IndexFileHeader(1, 5L, _LOCATOR).write(buffer);
+            Files.write(file, buffer.array());
+            final MappedByteBuffer mapped = IndexFileHeader.map(file);
+            Assert.assertEquals(IndexFileHeader.SIZE, mapped.capacity());
+            Assert.assertTrue(IndexFileHeader.read(mapped).matches(1, 5L, _LOCATOR));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected=IOException.class)
+    public void testIllegalMagic() throws IOException {
+        IndexFileHeader.read(ByteBuffer.allocate(IndexFileHeader.SIZE));
+    }
+
+    @Test(expected=IOException.class)
+    public void testTruncated() throws IOException {
+        IndexFileHeader.read(ByteBuffer.allocate(IndexFileHeader.SIZE - 1));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalLocator() {
+        new IndexFileHeader(1, 1L, null);
+    }
+
+}
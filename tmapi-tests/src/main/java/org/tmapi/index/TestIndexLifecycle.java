@@ -0,0 +1,63 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.tmapi.core.TMAPITestCase;
+
+/**
+ * Tests the lifecycle methods of the {@link Index} interface.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestIndexLifecycle extends TMAPITestCase {
+
+    private void _testLifecycle(Index idx) throws Exception {
+        if (idx.isOpen()) {
+            idx.close();
+        }
+        Assert.assertEquals(IndexState.CLOSED, idx.getState());
+        idx.open();
+        Assert.assertTrue(idx.isOpen());
+        Assert.assertNotSame(IndexState.CLOSED, idx.getState());
+        idx.close();
+        Assert.assertFalse(idx.isOpen());
+        idx.openAsync().get(10, TimeUnit.SECONDS);
+        Assert.assertTrue(idx.isOpen());
+        Assert.assertEquals(IndexState.READY, idx.getState());
+        Assert.assertEquals(1.0, idx.getBuildProgress(), 0.0);
+        idx.close();
+        Assert.assertEquals(IndexState.CLOSED, idx.getState());
+    }
+
+    @Test
+    public void testTypeInstanceIndex() throws Exception {
+        _testLifecycle(_tm.getIndex(TypeInstanceIndex.class));
+    }
+
+    @Test
+    public void testScopedIndex() throws Exception {
+        _testLifecycle(_tm.getIndex(ScopedIndex.class));
+    }
+
+    @Test
+    public void testLiteralIndex() throws Exception {
+        _testLifecycle(_tm.getIndex(LiteralIndex.class));
+    }
+
+}
@@ -13,9 +13,15 @@
  */
 package org.tmapi.index;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
+import org.junit.Test;
 import org.tmapi.core.Locator;
 import org.tmapi.core.Name;
 import org.tmapi.core.Occurrence;
@@ -325,4 +331,86 @@ public class TestLiteralIndex extends TMAPITestCase {
         }
     }
 
+    @Test
+    public void testCounts() {
+        final String value = "Value";
+        final Locator iri = createLocator("http://www.example.org/");
+        final Topic topic = createTopic();
+        final Name name = topic.createName(value);
+        name.createVariant(value, createTopic());
+        name.createVariant(iri, createTopic());
+        topic.createOccurrence(createTopic(), value);
+        topic.createOccurrence(createTopic(), value);
+        topic.createOccurrence(createTopic(), iri);
+        _updateIndex();
+        Assert.assertEquals(1, _litIdx.countNames(value));
+        Assert.assertEquals(2, _litIdx.countOccurrences(value));
+        Assert.assertEquals(2, _litIdx.countOccurrences(value, _xsdString));
+        Assert.assertEquals(1, _litIdx.countOccurrences(iri));
+        Assert.assertEquals(1, _litIdx.countOccurrences(iri.getReference(), _xsdAnyURI));
+        Assert.assertEquals(1, _litIdx.countVariants(value));
+        Assert.assertEquals(1, _litIdx.countVariants(value, _xsdString));
+        Assert.assertEquals(1, _litIdx.countVariants(iri));
+        Assert.assertEquals(0, _litIdx.countNames("Other"));
+    }
+
+    @Test
+    public void testValueStatistics() {
+        final Topic topic = createTopic();
+        topic.createName("Value");
+        topic.createName("Value");
+        topic.createName("Other");
+        _updateIndex();
+        final IndexStatistics<String> stats;
+        try {
+            stats = _litIdx.getNameValueStatistics();
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+            return;
+        }
+        Assert.assertEquals(3, stats.getConstructCount());
+        Assert.assertEquals(2, stats.getKeyCount());
+        Assert.assertEquals(2, stats.getCount("Value"));
+        Assert.assertEquals(0, stats.getCount("Unknown"));
+        Assert.assertEquals(2, stats.getMaxCount());
+    }
+
+    @Test
+    public void testStreams() {
+        final Topic topic = createTopic();
+        final Locator value = createLocator("http://www.example.org/");
+        for (int i = 0; i < 10; i++) {
+            final Name name = topic.createName("Value");
+            name.createVariant("Value", createTopic());
+            name.createVariant(value, createTopic());
+            topic.createOccurrence(createTopic(), "Value");
+            topic.createOccurrence(createTopic(), value);
+        }
+        _updateIndex();
+        Assert.assertEquals(new HashSet<Name>(_litIdx.getNames("Value")), 
+                _litIdx.names("Value").collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Occurrence>(_litIdx.getOccurrences("Value")), 
+                _litIdx.occurrences("Value").collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Occurrence>(_litIdx.getOccurrences(value)), 
+                _litIdx.occurrences(value).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Occurrence>(_litIdx.getOccurrences("Value", _xsdString)), 
+                _litIdx.occurrences("Value", _xsdString).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Variant>(_litIdx.getVariants("Value")), 
+                _litIdx.variants("Value").collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Variant>(_litIdx.getVariants(value)), 
+                _litIdx.variants(value).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Variant>(_litIdx.getVariants(value.getReference(), _xsdAnyURI)), 
+                _litIdx.variants(value.getReference(), _xsdAnyURI).collect(Collectors.toSet()));
+        final List<Name> all = _litIdx.names("Value").collect(Collectors.toList());
+        Assert.assertEquals(10, all.size());
+        Assert.assertEquals(all.subList(5, 10), 
+                _litIdx.names("Value").skip(5).limit(5).collect(Collectors.toList()));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalNameStream() {
+        _litIdx.names(null);
+    }
+
 }
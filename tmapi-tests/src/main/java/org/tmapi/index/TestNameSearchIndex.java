@@ -0,0 +1,191 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmapi.core.Name;
+import org.tmapi.core.Scope;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+
+/**
+ * Tests against the {@link NameSearchIndex} interface.
+ * <p>
+ * The tests are skipped if the engine does not provide a 
+ * {@link NameSearchIndex}.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestNameSearchIndex extends TMAPITestCase {
+
+    private NameSearchIndex _searchIdx;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        try {
+            _searchIdx = _tm.getIndex(NameSearchIndex.class);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        _searchIdx.open();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#tearDown()
+     */
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (_searchIdx != null) {
+            _searchIdx.close();
+            _searchIdx = null;
+        }
+    }
+
+    private void _updateIndex() {
+        if (!_searchIdx.isAutoUpdated()) {
+            _searchIdx.reindex();
+        }
+    }
+
+    private Scope _createScope(Topic... themes) {
+        try {
+            return _tm.createScope(themes);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+            return null;
+        }
+    }
+
+    @Test
+    public void testNormalize() {
+        Assert.assertEquals("stra\u00dfe", _searchIdx.normalize("STRA\u00dfE"));
+        Assert.assertEquals(_searchIdx.normalize("Caf\u00e9"), _searchIdx.normalize("Cafe\u0301"));
+        Assert.assertEquals(_searchIdx.normalize("\ufb01le"), _searchIdx.normalize("FILE"));
+    }
+
+    @Test
+    public void testTokenize() {
+        Assert.assertEquals(Arrays.asList("topic", "maps", "2008"), 
+                _searchIdx.tokenize("  Topic-Maps, 2008!"));
+        Assert.assertEquals(Collections.emptyList(), _searchIdx.tokenize(" - "));
+    }
+
+    @Test
+    public void testPrefix() {
+        final Name berlin = createTopic().createName("Berlin");
+        final Name bern = createTopic().createName("BERN");
+        createTopic().createName("Oberhausen");
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(bern, berlin), 
+                _searchIdx.getNamesByPrefix("ber", null, 0, 10));
+        Assert.assertEquals(Arrays.asList(bern), 
+                _searchIdx.getNamesByPrefix("Bern", null, 0, 10));
+        Assert.assertEquals(2, _searchIdx.countNamesByPrefix("BER", null));
+        Assert.assertTrue(_searchIdx.getNamesByPrefix("x", null, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void testSubstring() {
+        final Name berlin = createTopic().createName("Berlin");
+        final Name oberhausen = createTopic().createName("Oberhausen");
+        createTopic().createName("Hamburg");
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(berlin, oberhausen), 
+                _searchIdx.getNamesBySubstring("ER", null, 0, 10));
+        Assert.assertEquals(2, _searchIdx.countNamesBySubstring("er", null));
+    }
+
+    @Test
+    public void testText() {
+        final Name name = createTopic().createName("The Topic Maps Reference Model");
+        createTopic().createName("Topic Maps Data Model");
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(name), 
+                _searchIdx.getNamesByText("model reference", null, 0, 10));
+        Assert.assertEquals(2, _searchIdx.countNamesByText("topic MAPS", null));
+        Assert.assertEquals(0, _searchIdx.countNamesByText("top", null));
+    }
+
+    @Test
+    public void testPaging() {
+        for (int i = 0; i < 5; i++) {
+            createTopic().createName("Name " + i);
+        }
+        _updateIndex();
+        final List<Name> all = _searchIdx.getNamesByPrefix("name", null, 0, 10);
+        Assert.assertEquals(5, all.size());
+        Assert.assertEquals(all.subList(0, 2), _searchIdx.getNamesByPrefix("name", null, 0, 2));
+        Assert.assertEquals(all.subList(2, 4), _searchIdx.getNamesByPrefix("name", null, 2, 2));
+        Assert.assertEquals(all.subList(4, 5), _searchIdx.getNamesByPrefix("name", null, 4, 2));
+        Assert.assertTrue(_searchIdx.getNamesByPrefix("name", null, 5, 2).isEmpty());
+    }
+
+    @Test
+    public void testScope() {
+        final Topic theme = createTopic();
+        final Topic theme2 = createTopic();
+        final Name scoped = createTopic().createName("Name", theme, theme2);
+        createTopic().createName("Name", theme2);
+        createTopic().createName("Name");
+        _updateIndex();
+        Assert.assertEquals(3, _searchIdx.countNamesByPrefix("name", null));
+        Assert.assertEquals(2, _searchIdx.countNamesByPrefix("name", _createScope(theme2)));
+        Assert.assertEquals(Arrays.asList(scoped), 
+                _searchIdx.getNamesByText("name", _createScope(theme), 0, 10));
+    }
+
+    @Test
+    public void testUpdate() {
+        final Name name = createTopic().createName("Berlin");
+        _updateIndex();
+        Assert.assertEquals(1, _searchIdx.countNamesByPrefix("ber", null));
+        name.setValue("Hamburg");
+        _updateIndex();
+        Assert.assertEquals(0, _searchIdx.countNamesByPrefix("ber", null));
+        Assert.assertEquals(1, _searchIdx.countNamesBySubstring("burg", null));
+        name.remove();
+        _updateIndex();
+        Assert.assertEquals(0, _searchIdx.countNamesBySubstring("burg", null));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalPrefix() {
+        _searchIdx.getNamesByPrefix(null, null, 0, 10);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalLimit() {
+        _searchIdx.getNamesByPrefix("a", null, 0, -1);
+    }
+
+}
@@ -0,0 +1,259 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.tmapi.core.Association;
+import org.tmapi.core.Locator;
+import org.tmapi.core.Name;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+import org.tmapi.core.TopicMap;
+import org.tmapi.core.TopicMapSystem;
+import org.tmapi.core.TopicMapSystemFactory;
+
+/**
+ * Tests that {@link Index#reindex(int)} produces the same results as 
+ * {@link Index#reindex()}.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestParallelReindex extends TMAPITestCase {
+
+    private static final int _PARALLELISM = 4;
+
+    private final List<Topic> _types = new ArrayList<Topic>();
+    private final List<Topic> _themes = new ArrayList<Topic>();
+    private final List<String> _values = new ArrayList<String>();
+
+    /**
+     * Creates a topic map with enough constructs to be partitioned.
+     */
+    private void _populate() {
+        for (int i = 0; i < 5; i++) {
+            _types.add(createTopic());
+            _themes.add(createTopic());
+            _values.add("Value " + i);
+        }
+        final Locator iri = createLocator("http://www.example.org/");
+        for (int i = 0; i < 5000; i++) {
+            final Topic type = _types.get(i % 5);
+            final Topic theme = _themes.get(i % 3);
+            final String value = _values.get(i % 5);
+            final Topic topic = createTopic();
+            topic.addType(type);
+            final Name name = i % 4 == 0 ? topic.createName(type, value, theme) 
+                                         : topic.createName(type, value);
+            // The variant theme must not be in the scope of the name
+            name.createVariant(value, _themes.get(3 + i % 2));
+            topic.createOccurrence(type, value, _themes.get(i % 2));
+            if (i % 7 == 0) {
+                topic.createOccurrence(type, iri);
+            }
+            final Association assoc = _tm.createAssociation(type);
+            if (i % 3 == 0) {
+                assoc.addTheme(theme);
+            }
+            assoc.createRole(_types.get((i + 1) % 5), topic);
+        }
+    }
+
+    private static <T> Set<T> _set(Collection<T> collection) {
+        final Set<T> result = new HashSet<T>(collection);
+        Assert.assertEquals(collection.size(), result.size());
+        return result;
+    }
+
+    private List<Set<?>> _query(TypeInstanceIndex idx) {
+        final List<Set<?>> result = new ArrayList<Set<?>>();
+        result.add(_set(idx.getTopics((Topic) null)));
+        result.add(_set(idx.getTopicTypes()));
+        result.add(_set(idx.getAssociationTypes()));
+        result.add(_set(idx.getRoleTypes()));
+        result.add(_set(idx.getOccurrenceTypes()));
+        result.add(_set(idx.getNameTypes()));
+        for (Topic type: _types) {
+            result.add(_set(idx.getTopics(type)));
+            result.add(_set(idx.getAssociations(type)));
+            result.add(_set(idx.getRoles(type)));
+            result.add(_set(idx.getOccurrences(type)));
+            result.add(_set(idx.getNames(type)));
+        }
+        return result;
+    }
+
+    private List<Set<?>> _query(ScopedIndex idx) {
+        final List<Set<?>> result = new ArrayList<Set<?>>();
+        result.add(_set(idx.getAssociations((Topic) null)));
+        result.add(_set(idx.getOccurrences((Topic) null)));
+        result.add(_set(idx.getNames((Topic) null)));
+        result.add(_set(idx.getAssociationThemes()));
+        result.add(_set(idx.getOccurrenceThemes()));
+        result.add(_set(idx.getNameThemes()));
+        result.add(_set(idx.getVariantThemes()));
+        final Topic[] themes = _themes.subList(0, 2).toArray(new Topic[2]);
+        for (boolean matchAll: new boolean[] {true, false}) {
+            result.add(_set(idx.getAssociations(themes, matchAll)));
+            result.add(_set(idx.getOccurrences(themes, matchAll)));
+            result.add(_set(idx.getNames(themes, matchAll)));
+            result.add(_set(idx.getVariants(themes, matchAll)));
+        }
+        for (Topic theme: _themes) {
+            result.add(_set(idx.getAssociations(theme)));
+            result.add(_set(idx.getOccurrences(theme)));
+            result.add(_set(idx.getNames(theme)));
+            result.add(_set(idx.getVariants(theme)));
+        }
+        return result;
+    }
+
+    private List<Set<?>> _query(LiteralIndex idx) {
+        final List<Set<?>> result = new ArrayList<Set<?>>();
+        result.add(_set(idx.getOccurrences(createLocator("http://www.example.org/"))));
+        for (String value: _values) {
+            result.add(_set(idx.getOccurrences(value)));
+            result.add(_set(idx.getNames(value)));
+            result.add(_set(idx.getVariants(value)));
+        }
+        return result;
+    }
+
+    @Test
+    public void testTypeInstanceIndex() {
+        _populate();
+        final TypeInstanceIndex idx = _tm.getIndex(TypeInstanceIndex.class);
+        idx.open();
+        idx.reindex();
+        final List<Set<?>> serial = _query(idx);
+        idx.reindex(_PARALLELISM);
+        Assert.assertEquals(serial, _query(idx));
+        idx.close();
+    }
+
+    @Test
+    public void testScopedIndex() {
+        _populate();
+        final ScopedIndex idx = _tm.getIndex(ScopedIndex.class);
+        idx.open();
+        idx.reindex();
+        final List<Set<?>> serial = _query(idx);
+        idx.reindex(_PARALLELISM);
+        Assert.assertEquals(serial, _query(idx));
+        idx.close();
+    }
+
+    @Test
+    public void testLiteralIndex() {
+        _populate();
+        final LiteralIndex idx = _tm.getIndex(LiteralIndex.class);
+        idx.open();
+        idx.reindex();
+        final List<Set<?>> serial = _query(idx);
+        idx.reindex(_PARALLELISM);
+        Assert.assertEquals(serial, _query(idx));
+        idx.close();
+    }
+
+    @Test
+    public void testBitmapScopedIndex() {
+        _populate();
+        final BitmapScopedIndex serialIdx = new BitmapScopedIndex(_tm);
+        final BitmapScopedIndex parallelIdx = new BitmapScopedIndex(_tm, false, _PARALLELISM);
+        Assert.assertEquals(_PARALLELISM, parallelIdx.getParallelism());
+        serialIdx.open();
+        parallelIdx.open();
+        Assert.assertEquals(_query(serialIdx), _query(parallelIdx));
+        serialIdx.reindex(_PARALLELISM);
+        Assert.assertEquals(_query(parallelIdx), _query(serialIdx));
+        serialIdx.close();
+        parallelIdx.close();
+    }
+
+    @Test
+    public void testParallelismProperty() throws Exception {
+        _assumeTopicMapSystem();
+        Assert.assertEquals(1, new BitmapScopedIndex(_tm).getParallelism());
+        Assert.assertEquals(_PARALLELISM, _parallelism(Integer.valueOf(_PARALLELISM)));
+        Assert.assertEquals(3, _parallelism("3"));
+        Assert.assertEquals(_PARALLELISM + 1, _parallelism(Integer.valueOf(_PARALLELISM), _PARALLELISM + 1));
+    }
+
+    @Test
+    public void testParallelismPropertyIllegal() throws Exception {
+        _assumeTopicMapSystem();
+        for (Object value: new Object[] {"abc", "0", Integer.valueOf(-1), Boolean.TRUE}) {
+            try {
+                _parallelism(value);
+                Assert.fail("Expected an IllegalArgumentException for " + value);
+            }
+            catch (IllegalArgumentException ex) {
+                // noop.
+            }
+        }
+    }
+
+    private void _assumeTopicMapSystem() {
+        try {
+            _tm.getTopicMapSystem();
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+    }
+
+    /**
+     * Returns the parallelism of a {@link BitmapScopedIndex} created for a 
+     * topic map system where the parallelism property is set to 
+     * <tt>value</tt>.
+     */
+    private int _parallelism(Object value) throws Exception {
+        return _parallelism(value, -1);
+    }
+
+    /**
+     * Returns the parallelism of a {@link BitmapScopedIndex} created with
+     * <tt>parallelism</tt> (or without a parallelism if it is <tt>-1</tt>)
+     * for a topic map system where the parallelism property is set to 
+     * <tt>value</tt>.
+     */
+    private int _parallelism(Object value, int parallelism) throws Exception {
+        final TopicMapSystemFactory factory = createFactory();
+        factory.setProperty(Index.PARALLELISM, value);
+        final TopicMapSystem sys = factory.newTopicMapSystem();
+        try {
+            final TopicMap tm = sys.createTopicMap("http://www.tmapi.org/test/parallelism");
+            final BitmapScopedIndex idx = parallelism == -1 ? new BitmapScopedIndex(tm) 
+                                                            : new BitmapScopedIndex(tm, false, parallelism);
+            return idx.getParallelism();
+        }
+        finally {
+            sys.close();
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalParallelism() {
+        _tm.getIndex(ScopedIndex.class).reindex(0);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+
+/**
+ * Tests against the {@link PersistentIndex} interface.
+ * <p>
+ * The tests are skipped if the {@link TypeInstanceIndex} of the engine 
+ * is not persistent or if the topic map does not count changes.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestPersistentIndex extends TMAPITestCase {
+
+    private Path _file;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        try {
+            _tm.getChangeCount();
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        _file = Files.createTempFile("tmapi-index", ".idx");
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#tearDown()
+     */
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (_file != null) {
+            Files.deleteIfExists(_file);
+        }
+    }
+
+    private PersistentIndex _getIndex() {
+        final Index idx = _tm.getIndex(TypeInstanceIndex.class);
+        Assume.assumeTrue(idx instanceof PersistentIndex);
+        return (PersistentIndex) idx;
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        final Topic type = createTopic();
+        createTopic().addType(type);
+        final PersistentIndex idx = _getIndex();
+        idx.open();
+        idx.reindex();
+        idx.save(_file);
+        idx.close();
+        Assert.assertTrue(IndexFileHeader.read(IndexFileHeader.map(_file))
+                .matches(_tm, idx.getFormatVersion()));
+        Assert.assertTrue(idx.load(_file));
+        Assert.assertTrue(idx.isOpen());
+        Assert.assertEquals(1, ((TypeInstanceIndex) idx).getTopics(type).size());
+        idx.close();
+    }
+
+    @Test
+    public void testLoadOutdated() throws IOException {
+        final PersistentIndex idx = _getIndex();
+        idx.open();
+        idx.reindex();
+        idx.save(_file);
+        idx.close();
+        createTopic();
+        Assert.assertFalse(idx.load(_file));
+        Assert.assertFalse(idx.isOpen());
+    }
+
+    @Test(expected=IOException.class)
+    public void testLoadIllegalFile() throws IOException {
+        Files.write(_file, new byte[] {1, 2, 3});
+        _getIndex().load(_file);
+    }
+
+}
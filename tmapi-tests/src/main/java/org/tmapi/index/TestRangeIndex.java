@@ -0,0 +1,242 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmapi.core.Locator;
+import org.tmapi.core.Name;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+import org.tmapi.core.Variant;
+
+/**
+ * Tests against the {@link RangeIndex} interface.
+ * <p>
+ * The tests are skipped if the engine does not provide a {@link RangeIndex}.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestRangeIndex extends TMAPITestCase {
+
+    private static final String _XSD_BASE = "http://www.w3.org/2001/XMLSchema#";
+
+    private RangeIndex _rangeIdx;
+    private Locator _xsdInteger;
+    private Locator _xsdDecimal;
+    private Locator _xsdDouble;
+    private Locator _xsdDate;
+    private Locator _xsdDateTime;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        try {
+            _rangeIdx = _tm.getIndex(RangeIndex.class);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        _rangeIdx.open();
+        _xsdInteger = createLocator(_XSD_BASE + "integer");
+        _xsdDecimal = createLocator(_XSD_BASE + "decimal");
+        _xsdDouble = createLocator(_XSD_BASE + "double");
+        _xsdDate = createLocator(_XSD_BASE + "date");
+        _xsdDateTime = createLocator(_XSD_BASE + "dateTime");
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#tearDown()
+     */
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (_rangeIdx != null) {
+            _rangeIdx.close();
+            _rangeIdx = null;
+        }
+    }
+
+    private void _updateIndex() {
+        if (!_rangeIdx.isAutoUpdated()) {
+            _rangeIdx.reindex();
+        }
+    }
+
+    private Occurrence _createOccurrence(Topic type, String value, Locator datatype) {
+        return createTopic().createOccurrence(type, value, datatype);
+    }
+
+    @Test
+    public void testDatatypes() {
+        Assert.assertTrue(_rangeIdx.getDatatypes().containsAll(Arrays.asList(
+                _xsdInteger, _xsdDecimal, _xsdDouble, _xsdDate, _xsdDateTime)));
+    }
+
+    @Test
+    public void testIntegerRange() {
+        final Topic type = createTopic();
+        final Occurrence occ2 = _createOccurrence(type, "2", _xsdInteger);
+        final Occurrence occ10 = _createOccurrence(type, "10", _xsdInteger);
+        final Occurrence occ50 = _createOccurrence(type, "050", _xsdInteger);
+        final Occurrence occ100 = _createOccurrence(type, "100", _xsdInteger);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(occ10, occ50), 
+                _rangeIdx.getOccurrences(_xsdInteger, "10", true, "50", true));
+        Assert.assertEquals(Arrays.asList(occ50), 
+                _rangeIdx.getOccurrences(_xsdInteger, "10", false, "50", true));
+        Assert.assertEquals(Arrays.asList(occ10), 
+                _rangeIdx.getOccurrences(_xsdInteger, "10", true, "50", false));
+        Assert.assertEquals(Arrays.asList(occ2, occ10), 
+                _rangeIdx.getOccurrences(_xsdInteger, null, true, "10", true));
+        Assert.assertEquals(Arrays.asList(occ50, occ100), 
+                _rangeIdx.getOccurrences(_xsdInteger, "11", true, null, true));
+        Assert.assertEquals(Arrays.asList(occ2, occ10, occ50, occ100), 
+                _rangeIdx.getOccurrences(_xsdInteger, null, true, null, true));
+        Assert.assertTrue(_rangeIdx.getOccurrences(_xsdInteger, "60", true, "70", true).isEmpty());
+    }
+
+    @Test
+    public void testTypedRange() {
+        final Topic price = createTopic();
+        final Topic weight = createTopic();
+        final Occurrence occ = _createOccurrence(price, "20.5", _xsdDecimal);
+        _createOccurrence(price, "60", _xsdDecimal);
+        _createOccurrence(weight, "30", _xsdDecimal);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(occ), 
+                _rangeIdx.getOccurrences(price, _xsdDecimal, "10", true, "50", true));
+        Assert.assertEquals(2, 
+                _rangeIdx.getOccurrences(_xsdDecimal, "10", true, "50", true).size());
+        Assert.assertTrue(_rangeIdx.getOccurrences(createTopic(), _xsdDecimal, null, true, null, true).isEmpty());
+    }
+
+    @Test
+    public void testDoubleRange() {
+        final Topic type = createTopic();
+        final Occurrence occ1 = _createOccurrence(type, "-1.5E2", _xsdDouble);
+        final Occurrence occ2 = _createOccurrence(type, "0.25", _xsdDouble);
+        final Occurrence occ3 = _createOccurrence(type, "INF", _xsdDouble);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(occ1, occ2), 
+                _rangeIdx.getOccurrences(_xsdDouble, "-150", true, "1", true));
+        Assert.assertEquals(Arrays.asList(occ3), 
+                _rangeIdx.getOccurrences(_xsdDouble, "1", false, null, true));
+    }
+
+    @Test
+    public void testDateRange() {
+        final Topic type = createTopic();
+        final Occurrence before = _createOccurrence(type, "2019-12-31", _xsdDate);
+        final Occurrence after = _createOccurrence(type, "2020-01-02", _xsdDate);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(after), 
+                _rangeIdx.getOccurrences(_xsdDate, "2020-01-01", false, null, true));
+        Assert.assertEquals(Arrays.asList(before), 
+                _rangeIdx.getOccurrences(_xsdDate, null, true, "2020-01-01", false));
+    }
+
+    @Test
+    public void testDateTimeRange() {
+        final Topic type = createTopic();
+        final Occurrence occ1 = _createOccurrence(type, "2020-01-01T10:00:00Z", _xsdDateTime);
+        final Occurrence occ2 = _createOccurrence(type, "2020-01-01T12:00:00+01:00", _xsdDateTime);
+        final Occurrence occ3 = _createOccurrence(type, "2020-01-01T12:00:00Z", _xsdDateTime);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(occ1, occ2), 
+                _rangeIdx.getOccurrences(_xsdDateTime, "2020-01-01T10:00:00Z", true, "2020-01-01T11:00:00Z", true));
+        Assert.assertEquals(Arrays.asList(occ3), 
+                _rangeIdx.getOccurrences(_xsdDateTime, "2020-01-01T11:00:00Z", false, null, true));
+    }
+
+    @Test
+    public void testUpdate() {
+        final Occurrence occ = _createOccurrence(createTopic(), "5", _xsdInteger);
+        _updateIndex();
+        Assert.assertEquals(1, _rangeIdx.getOccurrences(_xsdInteger, "0", true, "10", true).size());
+        occ.setValue("15", _xsdInteger);
+        _updateIndex();
+        Assert.assertTrue(_rangeIdx.getOccurrences(_xsdInteger, "0", true, "10", true).isEmpty());
+        Assert.assertEquals(Arrays.asList(occ), _rangeIdx.getOccurrences(_xsdInteger, "10", true, "20", true));
+        occ.remove();
+        _updateIndex();
+        Assert.assertTrue(_rangeIdx.getOccurrences(_xsdInteger, null, true, null, true).isEmpty());
+    }
+
+    @Test
+    public void testTopK() {
+        final Topic type = createTopic();
+        final Occurrence occ1 = _createOccurrence(type, "1", _xsdInteger);
+        final Occurrence occ2 = _createOccurrence(type, "2", _xsdInteger);
+        final Occurrence occ3 = _createOccurrence(type, "3", _xsdInteger);
+        final Occurrence occ4 = _createOccurrence(createTopic(), "4", _xsdInteger);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(occ1, occ2), _rangeIdx.getFirstOccurrences(_xsdInteger, 2));
+        Assert.assertEquals(Arrays.asList(occ4, occ3), _rangeIdx.getLastOccurrences(_xsdInteger, 2));
+        Assert.assertEquals(Arrays.asList(occ3, occ2), _rangeIdx.getLastOccurrences(type, _xsdInteger, 2));
+        Assert.assertEquals(Arrays.asList(occ1, occ2, occ3), _rangeIdx.getFirstOccurrences(type, _xsdInteger, 10));
+        Assert.assertTrue(_rangeIdx.getFirstOccurrences(_xsdInteger, 0).isEmpty());
+    }
+
+    @Test
+    public void testVariants() {
+        final Name name = createTopic().createName("Name");
+        final Variant v1 = name.createVariant("1", _xsdInteger, createTopic());
+        final Variant v2 = name.createVariant("20", _xsdInteger, createTopic());
+        final Variant v3 = name.createVariant("300", _xsdInteger, createTopic());
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(v2), 
+                _rangeIdx.getVariants(_xsdInteger, "1", false, "300", false));
+        Assert.assertEquals(Arrays.asList(v1), _rangeIdx.getFirstVariants(_xsdInteger, 1));
+        final List<Variant> last = _rangeIdx.getLastVariants(_xsdInteger, 2);
+        Assert.assertEquals(Arrays.asList(v3, v2), last);
+    }
+
+    @Test
+    public void testInvalidLexicalValuesAreIgnored() {
+        _createOccurrence(createTopic(), "not a number", _xsdInteger);
+        _updateIndex();
+        Assert.assertTrue(_rangeIdx.getOccurrences(_xsdInteger, null, true, null, true).isEmpty());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalBound() {
+        _rangeIdx.getOccurrences(_xsdInteger, "ten", true, null, true);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalDatatype() {
+        _rangeIdx.getOccurrences(null, null, true, null, true);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalK() {
+        _rangeIdx.getFirstOccurrences(_xsdInteger, -1);
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmapi.core.Association;
+import org.tmapi.core.Name;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.Reifiable;
+import org.tmapi.core.Role;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+
+/**
+ * Tests against the {@link ReificationIndex} interface.
+ * <p>
+ * The tests are skipped if the engine does not provide a 
+ * {@link ReificationIndex}.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestReificationIndex extends TMAPITestCase {
+
+    private ReificationIndex _reificationIdx;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        try {
+            _reificationIdx = _tm.getIndex(ReificationIndex.class);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        _reificationIdx.open();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#tearDown()
+     */
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (_reificationIdx != null) {
+            _reificationIdx.close();
+            _reificationIdx = null;
+        }
+    }
+
+    private void _updateIndex() {
+        if (!_reificationIdx.isAutoUpdated()) {
+            _reificationIdx.reindex();
+        }
+    }
+
+    @Test
+    public void testReified() {
+        final Topic type = createTopic();
+        final Topic reifier = createTopic();
+        final Topic reifier2 = createTopic();
+        final Topic reifier3 = createTopic();
+        reifier.addType(type);
+        reifier2.addType(type);
+        final Association assoc = createAssociation();
+        final Role role = assoc.createRole(createTopic(), createTopic());
+        final Name name = createTopic().createName("Name");
+        createAssociation();
+        _updateIndex();
+        Assert.assertTrue(_reificationIdx.getReified(Reifiable.class).isEmpty());
+        assoc.setReifier(reifier);
+        role.setReifier(reifier2);
+        name.setReifier(reifier3);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(assoc), 
+                Arrays.asList(_reificationIdx.getReified(Association.class).toArray()));
+        Assert.assertEquals(Arrays.asList(role), 
+                Arrays.asList(_reificationIdx.getReified(Role.class).toArray()));
+        Assert.assertEquals(Arrays.asList(name), 
+                Arrays.asList(_reificationIdx.getReified(Name.class).toArray()));
+        Assert.assertEquals(0, _reificationIdx.countReified(Occurrence.class));
+        Assert.assertEquals(3, _reificationIdx.countReified(Reifiable.class));
+        Assert.assertEquals(new HashSet<Reifiable>(Arrays.<Reifiable>asList(assoc, role)), 
+                new HashSet<Reifiable>(_reificationIdx.getReified(Reifiable.class, type)));
+        Assert.assertEquals(Arrays.asList(role), 
+                Arrays.asList(_reificationIdx.getReified(Role.class, type).toArray()));
+        Assert.assertEquals(Arrays.asList(name), 
+                Arrays.asList(_reificationIdx.getReified(Reifiable.class, null).toArray()));
+        Assert.assertEquals(0, _reificationIdx.countReified(Name.class, type));
+        assoc.setReifier(null);
+        name.remove();
+        _updateIndex();
+        Assert.assertTrue(_reificationIdx.getReified(Association.class).isEmpty());
+        Assert.assertEquals(Arrays.asList(role), 
+                Arrays.asList(_reificationIdx.getReified(Reifiable.class).toArray()));
+    }
+
+    @Test
+    public void testReifiers() {
+        final Topic type = createTopic();
+        final Topic reifier = createTopic();
+        final Topic untyped = createTopic();
+        reifier.addType(type);
+        createTopic().addType(type);
+        _updateIndex();
+        Assert.assertTrue(_reificationIdx.getReifiers(type).isEmpty());
+        Assert.assertTrue(_reificationIdx.getReifierTypes().isEmpty());
+        createAssociation().setReifier(reifier);
+        _tm.setReifier(untyped);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(reifier), 
+                Arrays.asList(_reificationIdx.getReifiers(type).toArray()));
+        Assert.assertEquals(Arrays.asList(untyped), 
+                Arrays.asList(_reificationIdx.getReifiers(null).toArray()));
+        Assert.assertEquals(Arrays.asList(type), 
+                Arrays.asList(_reificationIdx.getReifierTypes().toArray()));
+        Assert.assertEquals(Arrays.asList(_tm), 
+                Arrays.asList(_reificationIdx.getReified(Reifiable.class, null).toArray()));
+        reifier.removeType(type);
+        _updateIndex();
+        Assert.assertTrue(_reificationIdx.getReifierTypes().isEmpty());
+        Assert.assertEquals(2, _reificationIdx.getReifiers(null).size());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalKind() {
+        _reificationIdx.getReified(null);
+    }
+
+}
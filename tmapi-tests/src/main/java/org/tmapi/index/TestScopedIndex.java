@@ -13,13 +13,21 @@
  */
 package org.tmapi.index;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
+import org.junit.Test;
 import org.tmapi.core.Association;
 import org.tmapi.core.Name;
 import org.tmapi.core.Occurrence;
+import org.tmapi.core.Scope;
 import org.tmapi.core.TMAPITestCase;
 import org.tmapi.core.Topic;
 import org.tmapi.core.Variant;
@@ -39,10 +47,19 @@ public class TestScopedIndex extends TMAPITestCase {
     @Override
     public void setUp() throws Exception {
         super.setUp();
-        _scopedIdx = _tm.getIndex(ScopedIndex.class);
+        _scopedIdx = _createIndex();
         _scopedIdx.open();
     }
 
+    /**
+     * Returns the index under test.
+     * 
+     * @return The {@link ScopedIndex} of the topic map.
+     */
+    protected ScopedIndex _createIndex() {
+        return _tm.getIndex(ScopedIndex.class);
+    }
+
     /* (non-Javadoc)
      * @see org.tmapi.core.TMAPITestCase#tearDown()
      */
@@ -496,4 +513,178 @@ public class TestScopedIndex extends TMAPITestCase {
         Assert.assertFalse(_scopedIdx.getVariants(new Topic[]{theme, theme2, unusedTheme, nameTheme}, true).contains(scoped));
     }
 
+
+    /**
+     * Returns the {@link Scope} representing the <tt>themes</tt> or skips 
+     * the test if {@link Scope} objects are not supported.
+     */
+    private Scope _createScope(Topic... themes) {
+        try {
+            return _tm.createScope(themes);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+            return null;
+        }
+    }
+
+    @Test
+    public void testAssociationByScope() {
+        final Topic theme = createTopic();
+        final Topic theme2 = createTopic();
+        final Association unscoped = createAssociation();
+        final Association scoped = createAssociation();
+        final Association scoped2 = createAssociation();
+        scoped.addTheme(theme);
+        scoped2.addTheme(theme);
+        scoped2.addTheme(theme2);
+        _updateIndex();
+        Assert.assertEquals(Collections.singletonList(unscoped), 
+                        new ArrayList<Association>(_scopedIdx.getAssociationsByScope(_createScope())));
+        Assert.assertEquals(Collections.singletonList(scoped), 
+                        new ArrayList<Association>(_scopedIdx.getAssociationsByScope(_createScope(theme))));
+        Assert.assertEquals(Collections.singletonList(scoped2), 
+                        new ArrayList<Association>(_scopedIdx.getAssociationsByScope(_createScope(theme, theme2))));
+        Assert.assertTrue(_scopedIdx.getAssociationsByScope(_createScope(theme2)).isEmpty());
+    }
+
+    @Test
+    public void testOccurrenceByScope() {
+        final Topic theme = createTopic();
+        final Occurrence unscoped = createOccurrence();
+        final Occurrence scoped = createOccurrence();
+        scoped.addTheme(theme);
+        _updateIndex();
+        Assert.assertEquals(1, _scopedIdx.getOccurrencesByScope(_createScope()).size());
+        Assert.assertTrue(_scopedIdx.getOccurrencesByScope(_createScope()).contains(unscoped));
+        Assert.assertEquals(1, _scopedIdx.getOccurrencesByScope(_createScope(theme)).size());
+        Assert.assertTrue(_scopedIdx.getOccurrencesByScope(_createScope(theme)).contains(scoped));
+    }
+
+    @Test
+    public void testNameByScope() {
+        final Topic theme = createTopic();
+        final Name unscoped = createName();
+        final Name scoped = createName();
+        scoped.addTheme(theme);
+        _updateIndex();
+        Assert.assertEquals(1, _scopedIdx.getNamesByScope(_createScope()).size());
+        Assert.assertTrue(_scopedIdx.getNamesByScope(_createScope()).contains(unscoped));
+        Assert.assertEquals(1, _scopedIdx.getNamesByScope(_createScope(theme)).size());
+        Assert.assertTrue(_scopedIdx.getNamesByScope(_createScope(theme)).contains(scoped));
+    }
+
+    @Test
+    public void testVariantByScope() {
+        final Topic theme = createTopic();
+        final Topic theme2 = createTopic();
+        final Name name = createName();
+        final Variant variant = name.createVariant("Variant", theme);
+        final Variant variant2 = name.createVariant("Variant 2", theme, theme2);
+        _updateIndex();
+        Assert.assertTrue(_scopedIdx.getVariantsByScope(_createScope()).isEmpty());
+        Assert.assertEquals(1, _scopedIdx.getVariantsByScope(_createScope(theme)).size());
+        Assert.assertTrue(_scopedIdx.getVariantsByScope(_createScope(theme)).contains(variant));
+        Assert.assertEquals(1, _scopedIdx.getVariantsByScope(_createScope(theme, theme2)).size());
+        Assert.assertTrue(_scopedIdx.getVariantsByScope(_createScope(theme, theme2)).contains(variant2));
+    }
+
+    @Test
+    public void testByScopeIllegal() {
+        try {
+            _scopedIdx.getAssociationsByScope(null);
+            Assert.fail("getAssociationsByScope(null) is illegal");
+        }
+        catch (IllegalArgumentException ex) {
+            // noop.
+        }
+    }
+
+    @Test
+    public void testCounts() {
+        final Topic theme = createTopic();
+        final Topic topic = createTopic();
+        final Association assoc = createAssociation();
+        assoc.addTheme(theme);
+        final Name name = topic.createName("Name", theme);
+        name.createVariant("Variant", createTopic());
+        topic.createOccurrence(createTopic(), "Value", theme);
+        _updateIndex();
+        Assert.assertEquals(1, _scopedIdx.countAssociations(theme));
+        Assert.assertEquals(1, _scopedIdx.countOccurrences(theme));
+        Assert.assertEquals(1, _scopedIdx.countNames(theme));
+        Assert.assertEquals(1, _scopedIdx.countVariants(theme));
+        Assert.assertEquals(0, _scopedIdx.countAssociations(null));
+        Assert.assertEquals(0, _scopedIdx.countNames(topic));
+    }
+
+    @Test
+    public void testThemeStatistics() {
+        final Topic theme = createTopic();
+        final Topic theme2 = createTopic();
+        createAssociation().addTheme(theme);
+        final Association assoc = createAssociation();
+        assoc.addTheme(theme);
+        assoc.addTheme(theme2);
+        createAssociation();
+        final Topic topic = createTopic();
+        for (int i = 0; i < 5; i++) {
+            topic.createName("Name " + i, theme2);
+        }
+        _updateIndex();
+        final IndexStatistics<Topic> stats = _scopedIdx.getAssociationThemeStatistics();
+        Assert.assertEquals(3, stats.getConstructCount());
+        Assert.assertEquals(2, stats.getKeyCount());
+        Assert.assertEquals(3, stats.getPostingCount());
+        Assert.assertEquals(2, stats.getCount(theme));
+        Assert.assertEquals(1, stats.getCount(theme2));
+        Assert.assertEquals(1, stats.getCount(null));
+        Assert.assertEquals(0, stats.getCount(topic));
+        Assert.assertEquals(2, stats.getMaxCount());
+        Assert.assertArrayEquals(new int[] {1, 1}, stats.getHistogram());
+        Assert.assertEquals(1.5, stats.getAverageCount(), 0.0001);
+        Assert.assertEquals(2.0 / 3, stats.getSelectivity(theme), 0.0001);
+        final IndexStatistics<Topic> nameStats = _scopedIdx.getNameThemeStatistics();
+        Assert.assertEquals(5, nameStats.getConstructCount());
+        Assert.assertEquals(5, nameStats.getCount(theme2));
+        Assert.assertArrayEquals(new int[] {0, 0, 1}, nameStats.getHistogram());
+        Assert.assertEquals(0, _scopedIdx.getOccurrenceThemeStatistics().getConstructCount());
+        Assert.assertEquals(0, _scopedIdx.getVariantThemeStatistics().getHistogram().length);
+    }
+
+    @Test
+    public void testStreams() {
+        final Topic theme = createTopic();
+        final Topic topic = createTopic();
+        for (int i = 0; i < 10; i++) {
+            topic.createName("Name " + i, theme).createVariant("Variant", theme, createTopic());
+            createAssociation().addTheme(theme);
+        }
+        topic.createOccurrence(createTopic(), "Occurrence");
+        _updateIndex();
+        Assert.assertEquals(new HashSet<Name>(_scopedIdx.getNames(theme)), 
+                _scopedIdx.names(theme).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Association>(_scopedIdx.getAssociations(theme)), 
+                _scopedIdx.associations(theme).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Variant>(_scopedIdx.getVariants(theme)), 
+                _scopedIdx.variants(theme).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Occurrence>(_scopedIdx.getOccurrences(null)), 
+                _scopedIdx.occurrences(null).collect(Collectors.toSet()));
+        Assert.assertEquals(0, _scopedIdx.occurrences(theme).count());
+        final List<Name> all = _scopedIdx.names(theme).collect(Collectors.toList());
+        Assert.assertEquals(10, all.size());
+        Assert.assertEquals(all.subList(0, 4), 
+                _scopedIdx.names(theme).limit(4).collect(Collectors.toList()));
+        Assert.assertEquals(all.subList(4, 8), 
+                _scopedIdx.names(theme).skip(4).limit(4).collect(Collectors.toList()));
+        Assert.assertEquals(all.subList(8, 10), 
+                _scopedIdx.names(theme).skip(8).limit(4).collect(Collectors.toList()));
+        Assert.assertEquals(0, _scopedIdx.names(theme).skip(10).count());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalVariantStream() {
+        _scopedIdx.variants(null);
+    }
+
 }
@@ -13,9 +13,16 @@
  */
 package org.tmapi.index;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Test;
 import org.tmapi.core.Association;
 import org.tmapi.core.FeatureNotRecognizedException;
 import org.tmapi.core.Name;
@@ -259,4 +266,139 @@ public class TestTypeInstanceIndex extends TMAPITestCase {
         Assert.assertTrue(_typeInstanceIdx.getNames(type).isEmpty());
         Assert.assertTrue(_typeInstanceIdx.getNameTypes().isEmpty());
     }
+
+    @Test
+    public void testCounts() {
+        final Topic type = createTopic();
+        final Topic topic = createTopic();
+        topic.addType(type);
+        final Association assoc = _tm.createAssociation(type);
+        assoc.createRole(type, topic);
+        topic.createOccurrence(type, "Value");
+        topic.createName(type, "Name");
+        _updateIndex();
+        Assert.assertEquals(_typeInstanceIdx.getTopics(type).size(), _typeInstanceIdx.countTopics(type));
+        Assert.assertEquals(_typeInstanceIdx.getTopics(null).size(), _typeInstanceIdx.countTopics(null));
+        Assert.assertEquals(1, _typeInstanceIdx.countTopics(type));
+        Assert.assertEquals(1, _typeInstanceIdx.countAssociations(type));
+        Assert.assertEquals(1, _typeInstanceIdx.countRoles(type));
+        Assert.assertEquals(1, _typeInstanceIdx.countOccurrences(type));
+        Assert.assertEquals(1, _typeInstanceIdx.countNames(type));
+        Assert.assertEquals(0, _typeInstanceIdx.countNames(topic));
+    }
+
+    private void _createSupertypeSubtype(Topic supertype, Topic subtype) {
+        final String base = "http://psi.topicmaps.org/iso13250/model/";
+        final Association assoc = _tm.createAssociation(
+                _tm.createTopicBySubjectIdentifier(createLocator(base + "supertype-subtype")));
+        assoc.createRole(_tm.createTopicBySubjectIdentifier(createLocator(base + "supertype")), supertype);
+        assoc.createRole(_tm.createTopicBySubjectIdentifier(createLocator(base + "subtype")), subtype);
+    }
+
+    @Test
+    public void testTypeHierarchy() {
+        final Topic animal = createTopic();
+        final Topic mammal = createTopic();
+        final Topic bird = createTopic();
+        final Topic cat = createTopic();
+        _createSupertypeSubtype(animal, mammal);
+        _createSupertypeSubtype(animal, bird);
+        _createSupertypeSubtype(mammal, cat);
+        final Topic tom = createTopic();
+        tom.addType(cat);
+        final Topic tweety = createTopic();
+        tweety.addType(bird);
+        final Topic creature = createTopic();
+        creature.addType(animal);
+        _updateIndex();
+        Assert.assertEquals(new HashSet<Topic>(Arrays.asList(mammal, bird)), 
+                new HashSet<Topic>(_typeInstanceIdx.getSubtypes(animal, false)));
+        Assert.assertEquals(new HashSet<Topic>(Arrays.asList(mammal, bird, cat)), 
+                new HashSet<Topic>(_typeInstanceIdx.getSubtypes(animal, true)));
+        Assert.assertEquals(new HashSet<Topic>(Arrays.asList(mammal)), 
+                new HashSet<Topic>(_typeInstanceIdx.getSupertypes(cat, false)));
+        Assert.assertEquals(new HashSet<Topic>(Arrays.asList(mammal, animal)), 
+                new HashSet<Topic>(_typeInstanceIdx.getSupertypes(cat, true)));
+        Assert.assertTrue(_typeInstanceIdx.getSubtypes(cat, true).isEmpty());
+        Assert.assertEquals(1, _typeInstanceIdx.getTopics(animal, false).size());
+        Assert.assertEquals(new HashSet<Topic>(Arrays.asList(creature, tom, tweety)), 
+                new HashSet<Topic>(_typeInstanceIdx.getTopics(animal, true)));
+        Assert.assertEquals(new HashSet<Topic>(Arrays.asList(tom)), 
+                new HashSet<Topic>(_typeInstanceIdx.getTopics(mammal, true)));
+    }
+
+    @Test
+    public void testTypeHierarchyCycle() {
+        final Topic a = createTopic();
+        final Topic b = createTopic();
+        _createSupertypeSubtype(a, b);
+        _createSupertypeSubtype(b, a);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(b), new ArrayList<Topic>(_typeInstanceIdx.getSubtypes(a, true)));
+        Assert.assertEquals(Arrays.asList(b), new ArrayList<Topic>(_typeInstanceIdx.getSupertypes(a, true)));
+    }
+
+    @Test
+    public void testTypeHierarchyWithoutAssociations() {
+        final Topic type = createTopic();
+        _updateIndex();
+        Assert.assertTrue(_typeInstanceIdx.getSubtypes(type, true).isEmpty());
+        Assert.assertTrue(_typeInstanceIdx.getSupertypes(type, true).isEmpty());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testSubtypesIllegal() {
+        _typeInstanceIdx.getSubtypes(null, true);
+    }
+
+    @Test
+    public void testTypeStatistics() {
+        final Topic type = createTopic();
+        final Topic type2 = createTopic();
+        final Topic topic = createTopic();
+        topic.addType(type);
+        topic.addType(type2);
+        createTopic().addType(type);
+        _tm.createAssociation(type).createRole(type2, topic);
+        _updateIndex();
+        final IndexStatistics<Topic> stats = _typeInstanceIdx.getTopicTypeStatistics();
+        Assert.assertEquals(_typeInstanceIdx.getTopics((Topic) null).size() + 2, stats.getConstructCount());
+        Assert.assertEquals(2, stats.getKeyCount());
+        Assert.assertEquals(2, stats.getCount(type));
+        Assert.assertEquals(1, stats.getCount(type2));
+        Assert.assertEquals(_typeInstanceIdx.getTopics((Topic) null).size(), stats.getCount(null));
+        Assert.assertEquals(1, _typeInstanceIdx.getAssociationTypeStatistics().getCount(type));
+        Assert.assertEquals(1, _typeInstanceIdx.getRoleTypeStatistics().getConstructCount());
+        Assert.assertEquals(0, _typeInstanceIdx.getOccurrenceTypeStatistics().getKeyCount());
+        Assert.assertEquals(0, _typeInstanceIdx.getNameTypeStatistics().getMaxCount());
+    }
+
+    @Test
+    public void testStreams() {
+        final Topic type = createTopic();
+        for (int i = 0; i < 10; i++) {
+            final Topic topic = createTopic();
+            topic.addType(type);
+            topic.createName(type, "Name");
+            topic.createOccurrence(type, "Occurrence");
+            _tm.createAssociation(type).createRole(type, topic);
+        }
+        _updateIndex();
+        Assert.assertEquals(new HashSet<Topic>(_typeInstanceIdx.getTopics(type)), 
+                _typeInstanceIdx.topics(type).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Association>(_typeInstanceIdx.getAssociations(type)), 
+                _typeInstanceIdx.associations(type).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Role>(_typeInstanceIdx.getRoles(type)), 
+                _typeInstanceIdx.roles(type).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Occurrence>(_typeInstanceIdx.getOccurrences(type)), 
+                _typeInstanceIdx.occurrences(type).collect(Collectors.toSet()));
+        Assert.assertEquals(new HashSet<Name>(_typeInstanceIdx.getNames(type)), 
+                _typeInstanceIdx.names(type).collect(Collectors.toSet()));
+        final List<Topic> all = _typeInstanceIdx.topics(type).collect(Collectors.toList());
+        Assert.assertEquals(10, all.size());
+        Assert.assertEquals(all.subList(3, 6), 
+                _typeInstanceIdx.topics(type).skip(3).limit(3).collect(Collectors.toList()));
+        Assert.assertEquals(0, _typeInstanceIdx.topics(type).skip(10).count());
+    }
+
 }
@@ -0,0 +1,173 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tmapi.core.Association;
+import org.tmapi.core.Name;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.Scope;
+import org.tmapi.core.TMAPITestCase;
+import org.tmapi.core.Topic;
+
+/**
+ * Tests against the {@link TypeScopeIndex} interface.
+ * <p>
+ * The tests are skipped if the engine does not provide a 
+ * {@link TypeScopeIndex}.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class TestTypeScopeIndex extends TMAPITestCase {
+
+    private TypeScopeIndex _typeScopeIdx;
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#setUp()
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        try {
+            _typeScopeIdx = _tm.getIndex(TypeScopeIndex.class);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+        }
+        _typeScopeIdx.open();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.core.TMAPITestCase#tearDown()
+     */
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        if (_typeScopeIdx != null) {
+            _typeScopeIdx.close();
+            _typeScopeIdx = null;
+        }
+    }
+
+    private void _updateIndex() {
+        if (!_typeScopeIdx.isAutoUpdated()) {
+            _typeScopeIdx.reindex();
+        }
+    }
+
+    private Scope _createScope(Topic... themes) {
+        try {
+            return _tm.createScope(themes);
+        }
+        catch (UnsupportedOperationException ex) {
+            Assume.assumeNoException(ex);
+            return null;
+        }
+    }
+
+    @Test
+    public void testOccurrence() {
+        final Topic type = createTopic();
+        final Topic type2 = createTopic();
+        final Topic theme = createTopic();
+        final Topic theme2 = createTopic();
+        final Topic topic = createTopic();
+        final Occurrence occ = topic.createOccurrence(type, "Value", theme);
+        final Occurrence occ2 = topic.createOccurrence(type, "Value", theme, theme2);
+        final Occurrence unscoped = topic.createOccurrence(type, "Value");
+        topic.createOccurrence(type2, "Value 2", theme);
+        _updateIndex();
+        Assert.assertEquals(new HashSet<Occurrence>(Arrays.asList(occ, occ2)), 
+                new HashSet<Occurrence>(_typeScopeIdx.getOccurrences(type, theme)));
+        Assert.assertEquals(2, _typeScopeIdx.countOccurrences(type, theme));
+        Assert.assertEquals(Arrays.asList(occ2), 
+                Arrays.asList(_typeScopeIdx.getOccurrences(type, theme2).toArray()));
+        Assert.assertEquals(Arrays.asList(unscoped), 
+                Arrays.asList(_typeScopeIdx.getOccurrences(type, (Topic) null).toArray()));
+        Assert.assertEquals(0, _typeScopeIdx.countOccurrences(type2, theme2));
+        Assert.assertEquals(Arrays.asList(occ), Arrays.asList(
+                _typeScopeIdx.getOccurrencesByScope(type, _createScope(theme)).toArray()));
+        occ.setType(type2);
+        occ2.removeTheme(theme2);
+        _updateIndex();
+        Assert.assertEquals(1, _typeScopeIdx.countOccurrences(type, theme));
+        Assert.assertEquals(2, _typeScopeIdx.countOccurrences(type2, theme));
+        Assert.assertEquals(0, _typeScopeIdx.countOccurrences(type, theme2));
+        Assert.assertEquals(Arrays.asList(occ2), Arrays.asList(
+                _typeScopeIdx.getOccurrencesByScope(type, _createScope(theme)).toArray()));
+        occ2.remove();
+        _updateIndex();
+        Assert.assertTrue(_typeScopeIdx.getOccurrences(type, theme).isEmpty());
+    }
+
+    @Test
+    public void testName() {
+        final Topic type = createTopic();
+        final Topic theme = createTopic();
+        final Topic topic = createTopic();
+        final Name name = topic.createName(type, "Name", theme);
+        topic.createName(type, "Name");
+        topic.createName("Name", theme);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(name), 
+                Arrays.asList(_typeScopeIdx.getNames(type, theme).toArray()));
+        Assert.assertEquals(1, _typeScopeIdx.countNames(type, (Topic) null));
+        Assert.assertEquals(Arrays.asList(name), Arrays.asList(
+                _typeScopeIdx.getNamesByScope(type, _createScope(theme)).toArray()));
+        name.addTheme(createTopic());
+        _updateIndex();
+        Assert.assertEquals(1, _typeScopeIdx.countNames(type, theme));
+        Assert.assertTrue(_typeScopeIdx.getNamesByScope(type, _createScope(theme)).isEmpty());
+    }
+
+    @Test
+    public void testAssociation() {
+        final Topic type = createTopic();
+        final Topic theme = createTopic();
+        final Association assoc = _tm.createAssociation(type, theme);
+        _tm.createAssociation(type);
+        _tm.createAssociation(createTopic(), theme);
+        _updateIndex();
+        Assert.assertEquals(Arrays.asList(assoc), 
+                Arrays.asList(_typeScopeIdx.getAssociations(type, theme).toArray()));
+        Assert.assertEquals(1, _typeScopeIdx.countAssociations(type, (Topic) null));
+        Assert.assertEquals(Arrays.asList(assoc), Arrays.asList(
+                _typeScopeIdx.getAssociationsByScope(type, _createScope(theme)).toArray()));
+        assoc.remove();
+        _updateIndex();
+        Assert.assertEquals(0, _typeScopeIdx.countAssociations(type, theme));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalType() {
+        _typeScopeIdx.getOccurrences(null, createTopic());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testIllegalScope() {
+        _typeScopeIdx.getNamesByScope(createTopic(), null);
+    }
+
+}
@@ -82,6 +82,32 @@ public interface Association extends Reifiable, Typed, Scoped {
      */
     public Set<Role> getRoles(Topic type);
 
+    /**
+     * Returns the number of {@link Role}s in this association with the 
+     * specified <tt>type</tt>.
+     * <p>
+     * The default implementation counts the roles of {@link #getRoles()} 
+     * without creating an intermediate set.
+     * </p>
+     *
+     * @param type The type of the {@link Role}s to be counted, 
+     *              must not be <tt>null</tt>.
+     * @return The number of roles with the specified <tt>type</tt> property.
+     * @throws IllegalArgumentException In case the <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countRoles(Topic type) {
+        if (type == null) {
+            throw new IllegalArgumentException("The type must not be null");
+        }
+        int count = 0;
+        for (Role role: getRoles()) {
+            if (type.equals(role.getType())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Creates a new {@link Role} representing a role in this association. 
      * 
@@ -16,6 +16,8 @@ package org.tmapi.core;
 import java.math.BigInteger;
 import java.math.BigDecimal;
 
+import javax.xml.datatype.XMLGregorianCalendar;
+
 /**
  * Common base interface for {@link Occurrence}s and {@link Variant}s.
  * <p>
@@ -23,6 +25,12 @@ import java.math.BigDecimal;
  * <a href="http://www.w3.org/TR/xmlschema-2/">XML Schema Part 2: Datatypes</a>
  * are supported.
  * </p>
+ * <p>
+ * Implementations should keep the converted representation of the value 
+ * (i.e. the <tt>long</tt> or <tt>double</tt> value) alongside the lexical 
+ * representation, so that repeated invocations of the <tt>xxxValue()</tt> 
+ * methods neither parse the value again nor allocate new objects.
+ * </p>
  * 
  * @author <a href="http://tmapi.org/">The TMAPI Project</a>
  * @version $Rev: 124 $ - $Date: 2009-10-01 17:21:27 +0000 (Thu, 01 Oct 2009) $
@@ -185,6 +193,67 @@ public interface DatatypeAware extends Reifiable, Scoped {
      */
     public long longValue();
 
+    /**
+     * Returns the <tt>double</tt> representation of the value.
+     * <p>
+     * The special values <tt>INF</tt>, <tt>-INF</tt>, and <tt>NaN</tt> of 
+     * <a href="http://www.w3.org/TR/xmlschema-2/#double">xsd:double</a>
+     * are supported.
+     * </p>
+     * <p>
+     * The default implementation parses the result of {@link #getValue()}.
+     * </p>
+     *
+     * @return A <tt>double</tt> representation of the value.
+     * @throws NumberFormatException If the value cannot be represented as 
+     *          a <tt>double</tt>.
+     */
+    public default double doubleValue() {
+        return Literals.parseDouble(getValue());
+    }
+
+    /**
+     * Returns the <tt>boolean</tt> representation of the value.
+     * <p>
+     * The lexical representations <tt>true</tt> and <tt>1</tt> are 
+     * converted into <tt>true</tt>, <tt>false</tt> and <tt>0</tt> are
+     * converted into <tt>false</tt>
+     * (c.f. <a href="http://www.w3.org/TR/xmlschema-2/#boolean">xsd:boolean</a>).
+     * </p>
+     * <p>
+     * The default implementation parses the result of {@link #getValue()}.
+     * </p>
+     *
+     * @return A <tt>boolean</tt> representation of the value.
+     * @throws IllegalArgumentException If the value cannot be represented as 
+     *          a <tt>boolean</tt>.
+     */
+    public default boolean booleanValue() {
+        return Literals.parseBoolean(getValue());
+    }
+
+    /**
+     * Returns the {@link XMLGregorianCalendar} representation of the value.
+     * <p>
+     * The value must be a lexical representation of 
+     * <a href="http://www.w3.org/TR/xmlschema-2/#dateTime">xsd:dateTime</a>,
+     * <a href="http://www.w3.org/TR/xmlschema-2/#date">xsd:date</a>,
+     * <a href="http://www.w3.org/TR/xmlschema-2/#time">xsd:time</a>,
+     * or one of the Gregorian datatypes (i.e. 
+     * <a href="http://www.w3.org/TR/xmlschema-2/#gYear">xsd:gYear</a>).
+     * </p>
+     * <p>
+     * The default implementation parses the result of {@link #getValue()}.
+     * </p>
+     *
+     * @return A {@link XMLGregorianCalendar} representation of the value.
+     * @throws IllegalArgumentException If the value cannot be represented as 
+     *          a {@link XMLGregorianCalendar} instance.
+     */
+    public default XMLGregorianCalendar calendarValue() {
+        return Literals.parseCalendar(getValue());
+    }
+
     /**
      * Returns the {@link Locator} representation of the value.
      *
@@ -0,0 +1,138 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * {@link TopicMapBatch} implementation which delegates each creation to the
+ * topic map immediately.
+ * <p>
+ * This implementation does not defer any checks; it is used by 
+ * {@link TopicMap#createBatch()} for engines which do not provide a 
+ * dedicated bulk loader.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+final class DefaultTopicMapBatch implements TopicMapBatch {
+
+    private final TopicMap _tm;
+    private final long _start;
+    private long _end;
+    private long _created;
+    private boolean _committed;
+
+    DefaultTopicMapBatch(TopicMap tm) {
+        _tm = tm;
+        _start = System.nanoTime();
+    }
+
+    public TopicMap getTopicMap() {
+        return _tm;
+    }
+
+    public Topic createTopicBySubjectIdentifier(Locator subjectIdentifier) {
+        _checkNotCommitted();
+        return _created(_tm.createTopicBySubjectIdentifier(subjectIdentifier));
+    }
+
+    public Topic createTopicBySubjectLocator(Locator subjectLocator) {
+        _checkNotCommitted();
+        return _created(_tm.createTopicBySubjectLocator(subjectLocator));
+    }
+
+    public Topic createTopicByItemIdentifier(Locator itemIdentifier) {
+        _checkNotCommitted();
+        return _created(_tm.createTopicByItemIdentifier(itemIdentifier));
+    }
+
+    public Topic createTopic() {
+        _checkNotCommitted();
+        return _created(_tm.createTopic());
+    }
+
+    public Name createName(Topic topic, Topic type, String value, Collection<Topic> scope) {
+        _checkNotCommitted();
+        _checkNotNull(topic, "The topic must not be null");
+        return _created(topic.createName(type, value, _scope(scope)));
+    }
+
+    public Occurrence createOccurrence(Topic topic, Topic type, String value, 
+            Locator datatype, Collection<Topic> scope) {
+        _checkNotCommitted();
+        _checkNotNull(topic, "The topic must not be null");
+        return _created(topic.createOccurrence(type, value, datatype, _scope(scope)));
+    }
+
+    public Variant createVariant(Name name, String value, Locator datatype, Collection<Topic> scope) {
+        _checkNotCommitted();
+        _checkNotNull(name, "The name must not be null");
+        return _created(name.createVariant(value, datatype, scope));
+    }
+
+    public Association createAssociation(Topic type, Collection<Topic> scope) {
+        _checkNotCommitted();
+        return _created(_tm.createAssociation(type, _scope(scope)));
+    }
+
+    public Role createRole(Association association, Topic type, Topic player) {
+        _checkNotCommitted();
+        _checkNotNull(association, "The association must not be null");
+        return _created(association.createRole(type, player));
+    }
+
+    public void commit() {
+        if (!_committed) {
+            _committed = true;
+            _end = System.nanoTime();
+        }
+    }
+
+    public boolean isCommitted() {
+        return _committed;
+    }
+
+    public long getCreatedCount() {
+        return _created;
+    }
+
+    public long getElapsedTime() {
+        return ((_committed ? _end : System.nanoTime()) - _start) / 1000000L;
+    }
+
+    private <C extends Construct> C _created(C construct) {
+        _created++;
+        return construct;
+    }
+
+    private void _checkNotCommitted() {
+        if (_committed) {
+            throw new IllegalStateException("The batch has been committed");
+        }
+    }
+
+    private void _checkNotNull(Construct construct, String msg) {
+        if (construct == null) {
+            throw new ModelConstraintException(null, msg);
+        }
+    }
+
+    private static Collection<Topic> _scope(Collection<Topic> scope) {
+        return scope == null ? Collections.<Topic>emptySet() : scope;
+    }
+
+}
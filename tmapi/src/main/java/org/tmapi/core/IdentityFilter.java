@@ -0,0 +1,283 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.Arrays;
+
+/**
+ * Probabilistic filter (a Bloom filter) over the identifiers of a topic map
+ * which answers negative identity lookups without a storage access.
+ * <p>
+ * Implementations may put this filter in front of 
+ * {@link TopicMap#getTopicBySubjectIdentifier(Locator)}, 
+ * {@link TopicMap#getTopicBySubjectLocator(Locator)} and 
+ * {@link TopicMap#getConstructByItemIdentifier(Locator)}: Every identifier 
+ * which is added to the topic map is {@link #add(Locator) added} to the 
+ * filter and a lookup consults the storage only if 
+ * {@link #mightContain(Locator)} returns <tt>true</tt>. If it returns 
+ * <tt>false</tt>, the identifier is definitely unknown. Since identifiers 
+ * cannot be removed from the filter, removed identifiers cause false 
+ * positives until the filter is rebuilt.
+ * </p>
+ * <p>
+ * The false positive probability is configured by the property 
+ * <tt>http://tmapi.org/properties/identity-filter-fpp</tt> (see 
+ * {@link #FALSE_POSITIVE_PROBABILITY}) which is set via 
+ * {@link TopicMapSystemFactory#setProperty(String, Object)}. The value is a
+ * {@link Number} or a string in the range (0, 1), i.e. <tt>0.01</tt>.
+ * </p>
+ * <p>
+ * The filter counts the lookups which were answered by the filter 
+ * ({@link #getNegativeCount()}) and the lookups which were passed to the 
+ * storage ({@link #getPositiveCount()}). Implementations should report 
+ * lookups which were passed to the storage but did not find a construct 
+ * by {@link #recordFalsePositive()}.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public final class IdentityFilter {
+
+    /**
+     * The property which configures the false positive probability.
+     */
+    public static final String FALSE_POSITIVE_PROBABILITY = "http://tmapi.org/properties/identity-filter-fpp";
+
+    /**
+     * The false positive probability which is used if the property 
+     * {@link #FALSE_POSITIVE_PROBABILITY} is not set.
+     */
+    public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private static final double _LN2 = Math.log(2);
+
+    private final long[] _bits;
+    private final long _bitCount;
+    private final int _hashCount;
+    private long _size;
+    private long _negatives;
+    private long _positives;
+    private long _falsePositives;
+
+    /**
+     * Creates a filter which is sized for <tt>expectedInsertions</tt> 
+     * identifiers.
+     *
+     * @param expectedInsertions The expected number of identifiers; must 
+     *          not be negative.
+     * @param falsePositiveProbability The false positive probability if 
+     *          the filter contains <tt>expectedInsertions</tt> identifiers;
+     *          must be in the range (0, 1).
+     * @throws IllegalArgumentException If one of the arguments is out of 
+     *          range.
+     */
+    public IdentityFilter(int expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("The number of expected insertions must not be negative");
+        }
+        if (!(falsePositiveProbability > 0 && falsePositiveProbability < 1)) {
+            throw new IllegalArgumentException("The false positive probability must be in the range (0, 1), got: " + falsePositiveProbability);
+        }
+        final long n = Math.max(1, expectedInsertions);
+        final long bitCount = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (_LN2 * _LN2)));
+        _bits = new long[(int) Math.min(Integer.MAX_VALUE, (bitCount + 63) >>> 6)];
+        _bitCount = (long) _bits.length << 6;
+        _hashCount = Math.max(1, (int) Math.round(-Math.log(falsePositiveProbability) / _LN2));
+    }
+
+    /**
+     * Creates a filter which is sized for <tt>expectedInsertions</tt> 
+     * identifiers and which uses the false positive probability configured 
+     * by the property {@link #FALSE_POSITIVE_PROBABILITY} of the 
+     * <tt>system</tt>.
+     *
+     * @param system The topic map system to read the property from.
+     * @param expectedInsertions The expected number of identifiers.
+     * @return A filter.
+     * @throws IllegalArgumentException If the property value is invalid or 
+     *          <tt>expectedInsertions</tt> is negative.
+     */
+    public static IdentityFilter create(TopicMapSystem system, int expectedInsertions) {
+        final Object value = system.getProperty(FALSE_POSITIVE_PROBABILITY);
+        double fpp = DEFAULT_FALSE_POSITIVE_PROBABILITY;
+        if (value instanceof Number) {
+            fpp = ((Number) value).doubleValue();
+        }
+        else if (value != null) {
+            try {
+                fpp = Double.parseDouble(value.toString().trim());
+            }
+            catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid value of " + FALSE_POSITIVE_PROBABILITY + ": " + value);
+            }
+        }
+        return new IdentityFilter(expectedInsertions, fpp);
+    }
+
+    /**
+     * Adds the identifier <tt>loc</tt> to this filter.
+     *
+     * @param loc The identifier; must not be <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>loc</tt> is <tt>null</tt>.
+     */
+    public void add(Locator loc) {
+        final long hash = _hash(loc);
+        final long hash2 = _mix(hash) | 1;
+        boolean changed = false;
+        for (int i = 0; i < _hashCount; i++) {
+            final long bit = ((hash + i * hash2) & Long.MAX_VALUE) % _bitCount;
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((_bits[word] & mask) == 0) {
+                _bits[word] |= mask;
+                changed = true;
+            }
+        }
+        if (changed) {
+            _size++;
+        }
+    }
+
+    /**
+     * Returns if the identifier <tt>loc</tt> may have been added to this 
+     * filter.
+     * <p>
+     * The result is counted by {@link #getNegativeCount()} or
+     * {@link #getPositiveCount()}.
+     * </p>
+     *
+     * @param loc The identifier; must not be <tt>null</tt>.
+     * @return <tt>false</tt> if the identifier has definitely not been 
+     *          added, <tt>true</tt> if it has probably been added.
+     * @throws IllegalArgumentException If <tt>loc</tt> is <tt>null</tt>.
+     */
+    public boolean mightContain(Locator loc) {
+        final long hash = _hash(loc);
+        final long hash2 = _mix(hash) | 1;
+        for (int i = 0; i < _hashCount; i++) {
+            final long bit = ((hash + i * hash2) & Long.MAX_VALUE) % _bitCount;
+            if ((_bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                _negatives++;
+                return false;
+            }
+        }
+        _positives++;
+        return true;
+    }
+
+    /**
+     * Records that a lookup for which {@link #mightContain(Locator)} 
+     * returned <tt>true</tt> did not find a construct.
+     */
+    public void recordFalsePositive() {
+        _falsePositives++;
+    }
+
+    /**
+     * Returns the number of lookups which were answered by this filter, 
+     * i.e. for which {@link #mightContain(Locator)} returned <tt>false</tt>.
+     *
+     * @return The number of negative lookups.
+     */
+    public long getNegativeCount() {
+        return _negatives;
+    }
+
+    /**
+     * Returns the number of lookups for which {@link #mightContain(Locator)}
+     * returned <tt>true</tt>.
+     *
+     * @return The number of positive lookups.
+     */
+    public long getPositiveCount() {
+        return _positives;
+    }
+
+    /**
+     * Returns the number of lookups reported by {@link #recordFalsePositive()}.
+     *
+     * @return The number of false positives.
+     */
+    public long getFalsePositiveCount() {
+        return _falsePositives;
+    }
+
+    /**
+     * Returns the approximate number of identifiers in this filter.
+     * <p>
+     * Identifiers which were added more than once are counted once; 
+     * identifiers which collide with the previously added identifiers are
+     * not counted.
+     * </p>
+     *
+     * @return The approximate number of identifiers.
+     */
+    public long size() {
+        return _size;
+    }
+
+    /**
+     * Returns the expected false positive probability for the current 
+     * number of identifiers in this filter.
+     *
+     * @return A value in the range [0, 1].
+     */
+    public double getExpectedFalsePositiveProbability() {
+        return Math.pow(1 - Math.exp(-(double) _hashCount * _size / _bitCount), _hashCount);
+    }
+
+    /**
+     * Removes all identifiers from this filter and resets the counters.
+     */
+    public void clear() {
+        Arrays.fill(_bits, 0L);
+        _size = 0;
+        _negatives = 0;
+        _positives = 0;
+        _falsePositives = 0;
+    }
+
+    /**
+     * Returns the 64-bit FNV-1a hash of the reference of <tt>loc</tt>.
+     */
+    private static long _hash(Locator loc) {
+        if (loc == null) {
+            throw new IllegalArgumentException("The locator must not be null");
+        }
+        final String reference = loc.getReference();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < reference.length(); i++) {
+            hash ^= reference.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Derives a second hash from <tt>hash</tt> (finalizer of MurmurHash3).
+     */
+    private static long _mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+}
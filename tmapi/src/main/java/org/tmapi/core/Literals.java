@@ -0,0 +1,118 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.regex.Pattern;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+/**
+ * Converts lexical representations of 
+ * <a href="http://www.w3.org/TR/xmlschema-2/">XML Schema Part 2: Datatypes</a>
+ * values into Java values.
+ * <p>
+ * Used by the default methods of {@link DatatypeAware}.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+final class Literals {
+
+    /**
+     * Lexical space of xsd:double without the special values 
+     * <tt>INF</tt> and <tt>-INF</tt>.
+     */
+    private static final Pattern _DOUBLE = Pattern.compile("[+-]?([0-9]+(\\.[0-9]*)?|\\.[0-9]+)([eE][+-]?[0-9]+)?|NaN");
+
+    private static volatile DatatypeFactory _datatypeFactory;
+
+    private Literals() {
+        // noop.
+    }
+
+    /**
+     * Returns the <tt>double</tt> represented by the lexical <tt>value</tt>.
+     *
+     * @param value An <a href="http://www.w3.org/TR/xmlschema-2/#double">xsd:double</a>
+     *              compatible string.
+     * @return The <tt>double</tt> value.
+     * @throws NumberFormatException If the value cannot be represented as 
+     *          a <tt>double</tt>.
+     */
+    static double parseDouble(String value) {
+        final String val = value.trim();
+        if ("INF".equals(val) || "+INF".equals(val)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if ("-INF".equals(val)) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (!_DOUBLE.matcher(val).matches()) {
+            // Rejects Java specific notations like "1.0d", "0x1p3" and "Infinity"
+            throw new NumberFormatException("Not a valid xsd:double: '" + value + "'");
+        }
+        return Double.parseDouble(val);
+    }
+
+    /**
+     * Returns the <tt>boolean</tt> represented by the lexical <tt>value</tt>.
+     *
+     * @param value An <a href="http://www.w3.org/TR/xmlschema-2/#boolean">xsd:boolean</a>
+     *              compatible string.
+     * @return The <tt>boolean</tt> value.
+     * @throws IllegalArgumentException If the value is neither <tt>true</tt>,
+     *          <tt>false</tt>, <tt>1</tt>, nor <tt>0</tt>.
+     */
+    static boolean parseBoolean(String value) {
+        final String val = value.trim();
+        if ("true".equals(val) || "1".equals(val)) {
+            return true;
+        }
+        if ("false".equals(val) || "0".equals(val)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not a valid xsd:boolean: '" + value + "'");
+    }
+
+    /**
+     * Returns the calendar represented by the lexical <tt>value</tt>.
+     *
+     * @param value A lexical representation of one of the XML Schema 
+     *              date/time datatypes.
+     * @return The calendar value.
+     * @throws IllegalArgumentException If the value is not a valid date/time 
+     *          representation.
+     */
+    static XMLGregorianCalendar parseCalendar(String value) {
+        return _getDatatypeFactory().newXMLGregorianCalendar(value.trim());
+    }
+
+    private static DatatypeFactory _getDatatypeFactory() {
+        DatatypeFactory factory = _datatypeFactory;
+        if (factory == null) {
+            try {
+                factory = DatatypeFactory.newInstance();
+            }
+            catch (DatatypeConfigurationException ex) {
+                throw new TMAPIRuntimeException("Cannot create a DatatypeFactory", ex);
+            }
+            _datatypeFactory = factory;
+        }
+        return factory;
+    }
+
+}
@@ -0,0 +1,304 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates interned {@link Locator} instances.
+ * <p>
+ * Equal IRI references are always represented by the same {@link Locator}
+ * instance, so implementations of {@link Locator} created by this factory 
+ * may implement {@link Locator#equals(Object)} as identity comparison and
+ * may compute the {@link Locator#hashCode()} once.
+ * </p>
+ * <p>
+ * IRIs are split into a namespace (everything up to and including the last
+ * <tt>/</tt> or <tt>#</tt>, or the last <tt>:</tt> if the IRI contains 
+ * neither) and a local part. Each namespace is stored once and shared by all
+ * locators within that namespace; {@link #newLocator(String, String)} 
+ * receives the shared namespace instance and the local part, so that 
+ * locator implementations can avoid to keep a full copy of the IRI. 
+ * </p>
+ * <p>
+ * Implementations of {@link TopicMapSystem#createLocator(String)}, 
+ * {@link TopicMap#createLocator(String)}, and {@link Locator#resolve(String)}
+ * should use one factory per {@link TopicMapSystem}. 
+ * </p>
+ * <p>
+ * The factory keeps strong references to all created locators until 
+ * {@link #clear()} is invoked. This class is thread-safe.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public abstract class LocatorFactory {
+
+    private final ConcurrentMap<String, Namespace> _namespaces;
+    private final AtomicLong _hits;
+    private final AtomicLong _misses;
+
+    /**
+     * Creates a new factory.
+     */
+    protected LocatorFactory() {
+        _namespaces = new ConcurrentHashMap<String, Namespace>();
+        _hits = new AtomicLong();
+        _misses = new AtomicLong();
+    }
+
+    /**
+     * Returns a {@link Locator} instance representing the specified IRI 
+     * <tt>reference</tt>.
+     * <p>
+     * If the reference was requested before, the previously created instance
+     * is returned. The same applies if {@link #newLocator(String, String)} 
+     * returns a locator with a normalized reference which is equal to 
+     * the reference of an existing locator.
+     * </p>
+     *
+     * @param reference A string which uses the IRI notation.
+     * @return A {@link Locator} representing the IRI <tt>reference</tt>.
+     * @throws IllegalArgumentException If <tt>reference</tt> is <tt>null</tt>.
+     * @throws MalformedIRIException If the provided string cannot be used to 
+     *          create a valid locator.
+     */
+    public Locator createLocator(String reference) throws MalformedIRIException {
+        if (reference == null) {
+            throw new IllegalArgumentException("The reference must not be null");
+        }
+        final int idx = _localPartIndex(reference);
+        final Namespace namespace = _getNamespace(reference.substring(0, idx));
+        final String localPart = reference.substring(idx);
+        Locator loc = namespace.locators.get(localPart);
+        if (loc != null) {
+            _hits.incrementAndGet();
+            return loc;
+        }
+        _misses.incrementAndGet();
+        loc = newLocator(namespace.name, localPart);
+        final String normalized = loc.getReference();
+        if (!reference.equals(normalized)) {
+            final int normalizedIdx = _localPartIndex(normalized);
+            loc = _intern(_getNamespace(normalized.substring(0, normalizedIdx)), 
+                    normalized.substring(normalizedIdx), loc);
+        }
+        return _intern(namespace, localPart, loc);
+    }
+
+    /**
+     * Creates a new {@link Locator} instance.
+     * <p>
+     * The reference of the locator is <tt>namespace + localPart</tt>.
+     * Implementations may normalize the reference.
+     * </p>
+     *
+     * @param namespace The namespace of the IRI, shared by all locators 
+     *          within that namespace. 
+     * @param localPart The local part of the IRI (maybe an empty string).
+     * @return A {@link Locator} representing the IRI.
+     * @throws MalformedIRIException If the IRI is invalid.
+     */
+    protected abstract Locator newLocator(String namespace, String localPart) throws MalformedIRIException;
+
+    /**
+     * Returns the number of {@link #createLocator(String)} invocations which
+     * returned an existing locator.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHitCount() {
+        return _hits.get();
+    }
+
+    /**
+     * Returns the number of {@link #createLocator(String)} invocations which
+     * created a new locator.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return _misses.get();
+    }
+
+    /**
+     * Returns the number of distinct references known by this factory.
+     * <p>
+     * References which were normalized to another reference are not 
+     * counted.
+     * </p>
+     *
+     * @return The number of interned references.
+     */
+    public long size() {
+        long size = 0;
+        for (Namespace namespace: _namespaces.values()) {
+            for (Map.Entry<String, Locator> entry: namespace.locators.entrySet()) {
+                if (_isNormalized(namespace, entry)) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct namespaces of the references known by 
+     * this factory.
+     *
+     * @return The number of namespaces.
+     */
+    public int getNamespaceCount() {
+        int count = 0;
+        for (Namespace namespace: _namespaces.values()) {
+            for (Map.Entry<String, Locator> entry: namespace.locators.entrySet()) {
+                if (_isNormalized(namespace, entry)) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of characters stored by this factory, i.e. the 
+     * characters of all namespaces and all local parts.
+     * <p>
+     * Compared with {@link #getReferenceCharacterCount()}, this number 
+     * indicates the memory saved by sharing the namespaces.
+     * </p>
+     *
+     * @return The number of stored characters.
+     */
+    public long getStoredCharacterCount() {
+        long count = 0;
+        for (Namespace namespace: _namespaces.values()) {
+            long localParts = 0;
+            boolean used = false;
+            for (Map.Entry<String, Locator> entry: namespace.locators.entrySet()) {
+                if (_isNormalized(namespace, entry)) {
+                    localParts += entry.getKey().length();
+                    used = true;
+                }
+            }
+            if (used) {
+                count += namespace.name.length() + localParts;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of characters of all interned references, i.e. 
+     * the number of characters which had to be stored if each reference 
+     * was kept as a string of its own.
+     *
+     * @return The sum of the lengths of all interned references.
+     */
+    public long getReferenceCharacterCount() {
+        long count = 0;
+        for (Namespace namespace: _namespaces.values()) {
+            final int length = namespace.name.length();
+            for (Map.Entry<String, Locator> entry: namespace.locators.entrySet()) {
+                if (_isNormalized(namespace, entry)) {
+                    count += length + entry.getKey().length();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes all interned locators and resets the statistics.
+     * <p>
+     * Locators created after this method was invoked are not identical to 
+     * locators created before.
+     * </p>
+     */
+    public void clear() {
+        _namespaces.clear();
+        _hits.set(0);
+        _misses.set(0);
+    }
+
+    private Namespace _getNamespace(String name) {
+        Namespace namespace = _namespaces.get(name);
+        if (namespace == null) {
+            namespace = new Namespace(name);
+            final Namespace existing = _namespaces.putIfAbsent(name, namespace);
+            if (existing != null) {
+                namespace = existing;
+            }
+        }
+        return namespace;
+    }
+
+    private static Locator _intern(Namespace namespace, String localPart, Locator loc) {
+        final Locator existing = namespace.locators.putIfAbsent(localPart, loc);
+        return existing != null ? existing : loc;
+    }
+
+    /**
+     * Returns if the entry is keyed by the local part of the normalized 
+     * reference of its locator and not by the local part of a reference 
+     * which was normalized to the locator's reference.
+     *
+     * @param namespace The namespace of the entry.
+     * @param entry The local part and the locator.
+     * @return <tt>true</tt> if <tt>namespace.name + entry.getKey()</tt> is 
+     *          equal to the reference of the locator.
+     */
+    private static boolean _isNormalized(Namespace namespace, Map.Entry<String, Locator> entry) {
+        final String reference = entry.getValue().getReference();
+        final String localPart = entry.getKey();
+        return reference.length() == namespace.name.length() + localPart.length()
+                && reference.startsWith(namespace.name)
+                && reference.endsWith(localPart);
+    }
+
+    /**
+     * Returns the index of the first character of the local part.
+     *
+     * @param reference The IRI.
+     * @return The index of the first character of the local part.
+     */
+    private static int _localPartIndex(String reference) {
+        final int idx = Math.max(reference.lastIndexOf('/'), reference.lastIndexOf('#'));
+        if (idx > -1) {
+            return idx + 1;
+        }
+        return reference.lastIndexOf(':') + 1;
+    }
+
+    /**
+     * Shared namespace and the locators within that namespace keyed by 
+     * their local part.
+     */
+    private static final class Namespace {
+
+        final String name;
+        final ConcurrentMap<String, Locator> locators;
+
+        Namespace(String name) {
+            this.name = name;
+            this.locators = new ConcurrentHashMap<String, Locator>();
+        }
+    }
+
+}
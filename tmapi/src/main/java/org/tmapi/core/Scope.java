@@ -0,0 +1,101 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.Set;
+
+/**
+ * Immutable, interned representation of a scope.
+ * <p>
+ * A scope is a set of {@link Topic}s (themes). Within one {@link TopicMap}
+ * each distinct set of themes is represented by exactly one <tt>Scope</tt> 
+ * instance, so all {@link Scoped} constructs with equal scopes share the 
+ * same instance and scopes can be compared by identity.
+ * </p>
+ * 
+ * @see TopicMap#createScope(java.util.Collection)
+ * @see Scoped#getScopeObject()
+ * @see ScopeFactory
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface Scope {
+
+    /**
+     * Returns the identifier of this scope.
+     * <p>
+     * The identifier is a non-negative integer which is unique within the 
+     * topic map. Identifiers are assigned densely, starting with <tt>0</tt>,
+     * so they can be used as array index or as key in bitmaps.
+     * </p>
+     *
+     * @return The identifier of this scope.
+     */
+    public int getId();
+
+    /**
+     * Returns the themes of this scope.
+     * 
+     * An empty set represents the unconstrained scope.
+     *
+     * @return An unmodifiable set of {@link Topic}s, never <tt>null</tt>.
+     */
+    public Set<Topic> getThemes();
+
+    /**
+     * Returns the number of themes.
+     *
+     * @return The number of themes; <tt>0</tt> for the unconstrained scope.
+     */
+    public int size();
+
+    /**
+     * Indicates if this scope represents the unconstrained scope.
+     *
+     * @return <tt>true</tt> if this scope has no themes, otherwise <tt>false</tt>.
+     */
+    public boolean isUnconstrained();
+
+    /**
+     * Indicates if the specified <tt>theme</tt> is part of this scope.
+     *
+     * @param theme The theme to check.
+     * @return <tt>true</tt> if this scope contains the <tt>theme</tt>, 
+     *          otherwise <tt>false</tt>.
+     */
+    public boolean contains(Topic theme);
+
+    /**
+     * Returns <tt>true</tt> if the <tt>other</tt> object is equal to this one. 
+     * 
+     * Since scopes are interned, equality is the result of comparing the 
+     * identity (<tt>this == other</tt>) of the two objects. 
+     *
+     * @param other The object to compare this object against.
+     * @return <tt>(this == other)</tt>
+     */
+    public boolean equals(Object other);
+
+    /**
+     * Returns the hash code value.
+     * 
+     * The hash code is computed once when the scope is created and is equal
+     * to the hash code of the set of themes.
+     *
+     * @return <tt>this.getThemes().hashCode()</tt>
+     */
+    public int hashCode();
+
+}
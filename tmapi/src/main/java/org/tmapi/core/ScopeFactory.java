@@ -0,0 +1,194 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates interned {@link Scope} instances.
+ * <p>
+ * Each distinct set of themes is represented by exactly one {@link Scope}
+ * instance with a precomputed hash code and a dense identifier. 
+ * Implementations of {@link TopicMap#createScope(Collection)} should use one 
+ * factory per {@link TopicMap}; {@link Scoped} implementations should keep
+ * a reference to the shared {@link Scope} instead of a set of themes of 
+ * their own.
+ * </p>
+ * <p>
+ * The factory keeps strong references to all created scopes until 
+ * {@link #clear()} is invoked. This class is thread-safe.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public final class ScopeFactory {
+
+    private final ConcurrentMap<Set<Topic>, Scope> _scopes;
+    private final List<Scope> _scopesById;
+
+    /**
+     * Creates a new factory.
+     */
+    public ScopeFactory() {
+        _scopes = new ConcurrentHashMap<Set<Topic>, Scope>();
+        _scopesById = new ArrayList<Scope>();
+    }
+
+    /**
+     * Returns the {@link Scope} which contains the specified <tt>themes</tt>.
+     *
+     * @param themes A collection of themes; an empty collection represents
+     *              the unconstrained scope.
+     * @return The interned {@link Scope} instance.
+     * @throws ModelConstraintException If <tt>themes</tt> is <tt>null</tt> or 
+     *              contains <tt>null</tt>.
+     */
+    public Scope createScope(Collection<Topic> themes) throws ModelConstraintException {
+        if (themes == null) {
+            throw new ModelConstraintException(null, "The themes must not be null");
+        }
+        Scope scope = _scopes.get(themes instanceof Set ? themes : new HashSet<Topic>(themes));
+        if (scope != null) {
+            return scope;
+        }
+        final Set<Topic> key = new HashSet<Topic>(themes);
+        if (key.contains(null)) {
+            throw new ModelConstraintException(null, "The themes must not contain null");
+        }
+        synchronized (_scopesById) {
+            scope = _scopes.get(key);
+            if (scope == null) {
+                scope = new ScopeImpl(_scopesById.size(), Collections.unmodifiableSet(key));
+                _scopesById.add(scope);
+                _scopes.put(scope.getThemes(), scope);
+            }
+        }
+        return scope;
+    }
+
+    /**
+     * Returns the {@link Scope} which contains the specified <tt>themes</tt>.
+     *
+     * @see #createScope(Collection)
+     *
+     * @param themes An array of themes; an empty array represents
+     *              the unconstrained scope.
+     * @return The interned {@link Scope} instance.
+     * @throws ModelConstraintException If <tt>themes</tt> is <tt>null</tt> or 
+     *              contains <tt>null</tt>.
+     */
+    public Scope createScope(Topic... themes) throws ModelConstraintException {
+        if (themes == null) {
+            throw new ModelConstraintException(null, "The themes must not be null");
+        }
+        return createScope(Arrays.asList(themes));
+    }
+
+    /**
+     * Returns the scope with the specified identifier.
+     *
+     * @param id The identifier of the scope.
+     * @return The {@link Scope} with the identifier <tt>id</tt> or <tt>null</tt>
+     *          if no such scope exists.
+     */
+    public Scope getScope(int id) {
+        synchronized (_scopesById) {
+            return id >= 0 && id < _scopesById.size() ? _scopesById.get(id) : null;
+        }
+    }
+
+    /**
+     * Returns the number of distinct scopes created by this factory.
+     *
+     * @return The number of scopes.
+     */
+    public int size() {
+        return _scopes.size();
+    }
+
+    /**
+     * Removes all interned scopes.
+     * <p>
+     * Scopes created after this method was invoked are not identical to 
+     * scopes created before and identifiers are assigned anew.
+     * </p>
+     */
+    public void clear() {
+        synchronized (_scopesById) {
+            _scopes.clear();
+            _scopesById.clear();
+        }
+    }
+
+    /**
+     * {@link Scope} implementation with a precomputed hash code.
+     */
+    private static final class ScopeImpl implements Scope {
+
+        private final int _id;
+        private final Set<Topic> _themes;
+        private final int _hashCode;
+
+        ScopeImpl(int id, Set<Topic> themes) {
+            _id = id;
+            _themes = themes;
+            _hashCode = themes.hashCode();
+        }
+
+        public int getId() {
+            return _id;
+        }
+
+        public Set<Topic> getThemes() {
+            return _themes;
+        }
+
+        public int size() {
+            return _themes.size();
+        }
+
+        public boolean isUnconstrained() {
+            return _themes.isEmpty();
+        }
+
+        public boolean contains(Topic theme) {
+            return _themes.contains(theme);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "Scope[id=" + _id + ", themes=" + _themes + "]";
+        }
+    }
+
+}
@@ -37,6 +37,27 @@ public interface Scoped extends Construct {
      */
     public Set<Topic> getScope();
 
+    /**
+     * Returns the scope as shared, immutable {@link Scope} object.
+     * <p>
+     * All scoped constructs of a topic map with an equal scope return the
+     * same {@link Scope} instance, so scopes can be compared by identity.
+     * The returned object does not reflect changes of the scope made after 
+     * this method returned.
+     * </p>
+     * <p>
+     * The default implementation returns 
+     * <tt>getTopicMap().createScope(getScope())</tt>.
+     * </p>
+     *
+     * @return The {@link Scope} of this construct, never <tt>null</tt>.
+     * @throws UnsupportedOperationException If the implementation does not
+     *          support {@link Scope} objects.
+     */
+    public default Scope getScopeObject() {
+        return getTopicMap().createScope(getScope());
+    }
+
     /**
      * Adds a topic to the scope.
      *
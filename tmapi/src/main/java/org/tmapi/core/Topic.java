@@ -19,6 +19,11 @@ import java.util.Set;
 /**
  * Represents a 
  * <a href="http://www.isotopicmaps.org/sam/sam-model/#d0e739">topic item</a>.
+ * <p>
+ * The default implementations of the <tt>countRolesPlayed</tt> methods 
+ * return the size of the set returned by <tt>getRolesPlayed</tt>; 
+ * implementations should count the roles directly.
+ * </p>
  * 
  * @author <a href="http://tmapi.org/">The TMAPI Project</a>
  * @version $Rev: 123 $ - $Date: 2009-10-01 17:17:03 +0000 (Thu, 01 Oct 2009) $
@@ -430,6 +435,47 @@ public interface Topic extends Construct {
      */
     public Set<Role> getRolesPlayed(Topic type, Topic assocType);
 
+    /**
+     * Returns the number of roles played by this topic.
+     *
+     * @return The number of {@link Role}s played by this topic.
+     */
+    public default int countRolesPlayed() {
+        return getRolesPlayed().size();
+    }
+
+    /**
+     * Returns the number of roles played by this topic where the role type
+     * is <tt>type</tt>.
+     *
+     * @param type The type of the {@link Role}s to be counted; must not 
+     *              be <tt>null</tt>.
+     * @return The number of {@link Role}s with the specified <tt>type</tt>.
+     * @throws IllegalArgumentException If the <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countRolesPlayed(Topic type) {
+        return getRolesPlayed(type).size();
+    }
+
+    /**
+     * Returns the number of {@link Role}s played by this topic where the role
+     * type is <tt>type</tt> and the {@link Association} type is 
+     * <tt>assocType</tt>.
+     *
+     * @param type The type of the {@link Role}s to be counted;
+     *              must not be <tt>null</tt>.
+     * @param assocType The type of the {@link Association} from which the
+     *                  counted roles must be part of; must not be <tt>null</tt>.
+     * @return The number of {@link Role}s with the specified <tt>type</tt>
+     *          which are part of {@link Association}s with the specified 
+     *          <tt>assocType</tt>.
+     * @throws IllegalArgumentException If the <tt>type</tt> or <tt>assocType</tt>
+     *              is <tt>null</tt>.
+     */
+    public default int countRolesPlayed(Topic type, Topic assocType) {
+        return getRolesPlayed(type, assocType).size();
+    }
+
     /**
      * Returns the types of which this topic is an instance of.
      * <p>
@@ -444,6 +490,25 @@ public interface Topic extends Construct {
      */
     public Set<Topic> getTypes();
 
+    /**
+     * Indicates if this topic is an instance of the specified <tt>type</tt>.
+     * <p>
+     * This method returns the same result as 
+     * <tt>topic.getTypes().contains(type)</tt>.
+     * </p>
+     *
+     * @param type The type to check; must not be <tt>null</tt>.
+     * @return <tt>true</tt> if <tt>type</tt> is one of the types of this 
+     *          topic, otherwise <tt>false</tt>.
+     * @throws IllegalArgumentException If the <tt>type</tt> is <tt>null</tt>.
+     */
+    public default boolean hasType(Topic type) {
+        if (type == null) {
+            throw new IllegalArgumentException("The type must not be null");
+        }
+        return getTypes().contains(type);
+    }
+
     /**
      * Adds a type to this topic.
      * <p>
@@ -13,14 +13,26 @@
  */
 package org.tmapi.core;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.tmapi.index.Index;
 
 /** 
  * Represents a 
  * <a href="http://www.isotopicmaps.org/sam/sam-model/#d0e657">topic map item</a>.
+ * <p>
+ * {@link #getTopicCount()} and {@link #getAssociationCount()} default to 
+ * the size of {@link #getTopics()} and {@link #getAssociations()}; 
+ * implementations which can count the constructs without creating the 
+ * sets should override them.
+ * </p>
  * 
  * @author <a href="http://tmapi.org/">The TMAPI Project</a>
  * @version $Rev: 173 $ - $Date: 2010-03-10 13:02:21 +0000 (Wed, 10 Mar 2010) $
@@ -56,6 +68,20 @@ public interface TopicMap extends Reifiable {
      * @return A {@link Locator}, never {@code null}.
      */
     public Locator getLocator();
+
+    /**
+     * Returns the {@link TopicMapSystem} which manages this topic map.
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @return The topic map system, never <tt>null</tt>.
+     * @throws UnsupportedOperationException If the implementation does not 
+     *          provide access to its topic map system.
+     */
+    public default TopicMapSystem getTopicMapSystem() {
+        throw new UnsupportedOperationException("The topic map system is not accessible");
+    }
     
     /**
      * Returns all {@link Association}s contained in this topic map.
@@ -66,6 +92,133 @@ public interface TopicMap extends Reifiable {
      */
     public Set<Association> getAssociations();
 
+    /**
+     * Returns the number of {@link Topic}s contained in this topic map.
+     *
+     * @return The number of topics.
+     */
+    public default int getTopicCount() {
+        return getTopics().size();
+    }
+
+    /**
+     * Returns the number of {@link Association}s contained in this topic map.
+     *
+     * @return The number of associations.
+     */
+    public default int getAssociationCount() {
+        return getAssociations().size();
+    }
+
+    /**
+     * Returns a {@link Spliterator} over all {@link Topic}s contained in this
+     * topic map.
+     * <p>
+     * The spliterator reports at least the characteristics 
+     * {@link Spliterator#SIZED} and {@link Spliterator#NONNULL}. Implementations
+     * should return a spliterator which is backed by the underlying storage,
+     * so that a scan over all topics runs in constant memory, and which 
+     * splits into balanced partitions so that it can be traversed in 
+     * parallel (i.e. by a {@link java.util.concurrent.ForkJoinPool}).
+     * </p>
+     * <p>
+     * The behaviour of the spliterator is undefined if the topic map is 
+     * modified while it is traversed.
+     * </p>
+     * <p>
+     * The default implementation returns a spliterator over {@link #getTopics()}.
+     * </p>
+     *
+     * @return A {@link Spliterator} of {@link Topic}s, never <tt>null</tt>.
+     */
+    public default Spliterator<Topic> topicSpliterator() {
+        return Spliterators.spliterator(getTopics(), 
+                Spliterator.SIZED | Spliterator.NONNULL | Spliterator.DISTINCT);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of all {@link Topic}s contained in 
+     * this topic map.
+     * <p>
+     * This method returns the same result as the following code:
+     * <pre>
+     *      StreamSupport.stream(topicMap.topicSpliterator(), false);
+     * </pre>
+     * </p>
+     * Use {@link Stream#parallel()} to process the topics in parallel.
+     *
+     * @see #topicSpliterator()
+     *
+     * @return A {@link Stream} of {@link Topic}s, never <tt>null</tt>.
+     */
+    public default Stream<Topic> topics() {
+        return StreamSupport.stream(topicSpliterator(), false);
+    }
+
+    /**
+     * Performs the given <tt>action</tt> for each {@link Topic} contained in 
+     * this topic map.
+     * <p>
+     * Opposite to <tt>getTopics().forEach(action)</tt> this method does not 
+     * require that the topics are materialized.
+     * </p>
+     *
+     * @see #topicSpliterator()
+     *
+     * @param action The action to be performed for each topic; must not
+     *          be <tt>null</tt>.
+     * @throws NullPointerException If the <tt>action</tt> is <tt>null</tt>.
+     */
+    public default void forEachTopic(Consumer<? super Topic> action) {
+        topicSpliterator().forEachRemaining(action);
+    }
+
+    /**
+     * Returns a {@link Spliterator} over all {@link Association}s contained 
+     * in this topic map.
+     * <p>
+     * The spliterator reports at least the characteristics 
+     * {@link Spliterator#SIZED} and {@link Spliterator#NONNULL}. 
+     * The same constraints as for {@link #topicSpliterator()} apply.
+     * </p>
+     * <p>
+     * The default implementation returns a spliterator over 
+     * {@link #getAssociations()}.
+     * </p>
+     *
+     * @return A {@link Spliterator} of {@link Association}s, never <tt>null</tt>.
+     */
+    public default Spliterator<Association> associationSpliterator() {
+        return Spliterators.spliterator(getAssociations(), 
+                Spliterator.SIZED | Spliterator.NONNULL | Spliterator.DISTINCT);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} of all {@link Association}s 
+     * contained in this topic map.
+     *
+     * @see #associationSpliterator()
+     *
+     * @return A {@link Stream} of {@link Association}s, never <tt>null</tt>.
+     */
+    public default Stream<Association> associations() {
+        return StreamSupport.stream(associationSpliterator(), false);
+    }
+
+    /**
+     * Performs the given <tt>action</tt> for each {@link Association} 
+     * contained in this topic map.
+     *
+     * @see #associationSpliterator()
+     *
+     * @param action The action to be performed for each association; must not
+     *          be <tt>null</tt>.
+     * @throws NullPointerException If the <tt>action</tt> is <tt>null</tt>.
+     */
+    public default void forEachAssociation(Consumer<? super Association> action) {
+        associationSpliterator().forEachRemaining(action);
+    }
+
     /**
      * Returns a topic by its subject identifier.
      * <p>
@@ -123,6 +276,50 @@ public interface TopicMap extends Reifiable {
      */
     public Locator createLocator(String reference) throws MalformedIRIException;
 
+    /**
+     * Returns the {@link Scope} instance which contains the specified 
+     * <tt>themes</tt>.
+     * <p>
+     * Scopes are interned: equal collections of themes always return the same
+     * {@link Scope} instance.
+     * </p>
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @see ScopeFactory
+     *
+     * @param themes A collection of themes; an empty collection represents
+     *              the unconstrained scope.
+     * @return The {@link Scope} representing the <tt>themes</tt>.
+     * @throws ModelConstraintException If <tt>themes</tt> is <tt>null</tt>.
+     * @throws UnsupportedOperationException If the implementation does not
+     *          support {@link Scope} objects.
+     */
+    public default Scope createScope(Collection<Topic> themes) throws ModelConstraintException {
+        throw new UnsupportedOperationException("Scope objects are not supported");
+    }
+
+    /**
+     * Returns the {@link Scope} instance which contains the specified 
+     * <tt>themes</tt>.
+     *
+     * @see #createScope(Collection)
+     *
+     * @param themes An array of themes; an empty array represents
+     *              the unconstrained scope.
+     * @return The {@link Scope} representing the <tt>themes</tt>.
+     * @throws ModelConstraintException If <tt>themes</tt> is <tt>null</tt>.
+     * @throws UnsupportedOperationException If the implementation does not
+     *          support {@link Scope} objects.
+     */
+    public default Scope createScope(Topic... themes) throws ModelConstraintException {
+        if (themes == null) {
+            throw new ModelConstraintException(this, "The themes must not be null");
+        }
+        return createScope(Arrays.asList(themes));
+    }
+
     /**
      * Returns a {@link Topic} instance with the specified subject identifier.
      * <p>
@@ -223,6 +420,135 @@ public interface TopicMap extends Reifiable {
      */
     public Association createAssociation(Topic type, Collection<Topic> scope) throws ModelConstraintException;
 
+    /**
+     * Returns a new {@link TopicMapBatch} which creates constructs in this
+     * topic map.
+     * <p>
+     * Implementations should return a batch which defers identity constraint
+     * checks, merging and duplicate suppression until 
+     * {@link TopicMapBatch#commit()} is invoked.
+     * </p>
+     * <p>
+     * The default implementation returns a batch which delegates each 
+     * creation to this topic map immediately.
+     * </p>
+     *
+     * @return A new {@link TopicMapBatch} instance.
+     */
+    public default TopicMapBatch createBatch() {
+        return new DefaultTopicMapBatch(this);
+    }
+
+    /**
+     * Registers a listener which is notified about modifications of this
+     * topic map.
+     * <p>
+     * Registering the same listener twice has no effect.
+     * </p>
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @param listener The listener to register; must not be <tt>null</tt>.
+     * @throws IllegalArgumentException If the <tt>listener</tt> is <tt>null</tt>.
+     * @throws UnsupportedOperationException If the implementation does not
+     *          support listeners.
+     */
+    public default void addTopicMapListener(TopicMapListener listener) {
+        throw new UnsupportedOperationException("Topic map listeners are not supported");
+    }
+
+    /**
+     * Unregisters a listener.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     *
+     * @param listener The listener to unregister (<tt>null</tt> is ignored).
+     */
+    public default void removeTopicMapListener(TopicMapListener listener) {
+        // noop.
+    }
+
+    /**
+     * Starts a new {@link Transaction}.
+     * <p>
+     * All subsequent modifications made by the current thread belong to the
+     * returned transaction until it is committed or rolled back. Other 
+     * threads do not see the modifications before the transaction is 
+     * committed.
+     * </p>
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @return The new transaction.
+     * @throws IllegalStateException If the current thread has an active 
+     *          transaction on this topic map.
+     * @throws UnsupportedOperationException If the implementation does not 
+     *          support transactions.
+     */
+    public default Transaction begin() {
+        throw new UnsupportedOperationException("Transactions are not supported");
+    }
+
+    /**
+     * Returns the modification counter of this topic map.
+     * <p>
+     * The counter is increased by each modification of the topic map or 
+     * of one of its constructs (or once by each committed 
+     * {@link Transaction}); it is never decreased. Implementations with a 
+     * persistent backend must persist the counter, so that it can be used to
+     * check if data derived from the topic map (i.e. a saved 
+     * {@link org.tmapi.index.PersistentIndex index}) is still up-to-date 
+     * after a restart.
+     * </p>
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @return The modification counter.
+     * @throws UnsupportedOperationException If the implementation does not 
+     *          track modifications.
+     */
+    public default long getChangeCount() {
+        throw new UnsupportedOperationException("Change counting is not supported");
+    }
+
+    /**
+     * Returns an immutable point-in-time view of this topic map.
+     * <p>
+     * The returned topic map reflects the state of this topic map at the 
+     * time this method was invoked; subsequent modifications of this topic
+     * map are not visible through the snapshot. Implementations should 
+     * create snapshots in constant time (i.e. by copy-on-write) and should 
+     * allow an arbitrary number of threads to read a snapshot concurrently
+     * without locking, while this topic map is modified by another thread.
+     * </p>
+     * <p>
+     * The constructs of a snapshot are not equal to the constructs of this 
+     * topic map but have the same {@link Construct#getId() identifiers}.
+     * All methods of the snapshot and its constructs which would modify the 
+     * topic map throw an {@link UnsupportedOperationException}. 
+     * Invoking this method on a snapshot returns the snapshot itself.
+     * </p>
+     * <p>
+     * The application should invoke {@link #close()} on the snapshot once 
+     * it is no longer needed, so that the implementation can release the 
+     * retained state.
+     * </p>
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @return An immutable snapshot of this topic map.
+     * @throws UnsupportedOperationException If the implementation does not 
+     *          support snapshots.
+     */
+    public default TopicMap snapshot() {
+        throw new UnsupportedOperationException("Snapshots are not supported");
+    }
+
     /**
      * Closes use of this topic map instance. 
      * <p>
@@ -261,6 +587,32 @@ public interface TopicMap extends Reifiable {
      */
     public void mergeIn(TopicMap other) throws ModelConstraintException;
 
+    /**
+     * Executes all pending merges of {@link Topic}s.
+     * <p>
+     * If the feature <tt>http://tmapi.org/features/deferred-merge</tt> is 
+     * enabled (in addition to <tt>http://tmapi.org/features/automerge</tt>),
+     * adding an identifier to a topic which is already used by another topic
+     * does not merge the topics immediately. The collision is queued instead 
+     * and this method resolves all queued collisions in one pass 
+     * (i.e. by a {@link TopicMergeQueue}), so that each topic is merged 
+     * at most once.
+     * </p>
+     * <p>
+     * Until this method is invoked, {@link #getTopicBySubjectIdentifier(Locator)},
+     * {@link #getTopicBySubjectLocator(Locator)}, and 
+     * {@link #getConstructByItemIdentifier(Locator)} return one of the 
+     * colliding topics.
+     * </p>
+     * <p>
+     * If the feature is disabled, this method has no effect. The default 
+     * implementation does nothing.
+     * </p>
+     */
+    public default void flushMerges() {
+        // noop.
+    }
+
     /**
      * Returns the specified index.
      *
@@ -0,0 +1,254 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.Collection;
+
+/**
+ * Creates Topic Maps constructs in bulk.
+ * <p>
+ * A batch is obtained by {@link TopicMap#createBatch()} and is meant to be
+ * used by deserializers and importers which create a large number of 
+ * constructs. Opposite to the creation methods of {@link TopicMap}, 
+ * {@link Topic}, {@link Name}, and {@link Association} a batch is allowed to 
+ * defer the detection of identity constraint violations (merging of topics 
+ * with equal identifiers) and the suppression of duplicate statements until 
+ * {@link #commit()} is invoked. This allows implementations to perform 
+ * these checks once for all constructs created by the batch instead of 
+ * once per creation.
+ * </p>
+ * <p>
+ * Until {@link #commit()} returns, the topic map may contain topics which 
+ * must be merged and duplicate statements. Constructs returned by the batch
+ * may be merged into other constructs during {@link #commit()}; they should 
+ * not be used after the commit unless they are retrieved from the topic 
+ * map again.
+ * </p>
+ * <p>
+ * A batch is not thread-safe and must be used by one thread only. 
+ * After {@link #commit()} any further invocation of a creation method 
+ * causes an {@link IllegalStateException}.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface TopicMapBatch {
+
+    /**
+     * Returns the {@link TopicMap} to which constructs are added.
+     *
+     * @return The topic map, never <tt>null</tt>.
+     */
+    public TopicMap getTopicMap();
+
+    /**
+     * Returns a {@link Topic} with the specified subject identifier.
+     * 
+     * @see TopicMap#createTopicBySubjectIdentifier(Locator)
+     *
+     * @param subjectIdentifier The subject identifier the topic should contain.
+     * @return A {@link Topic} instance with the specified subject identifier.
+     * @throws ModelConstraintException If the <tt>subjectIdentifier</tt> is <tt>null</tt>.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Topic createTopicBySubjectIdentifier(Locator subjectIdentifier) throws ModelConstraintException;
+
+    /**
+     * Returns a {@link Topic} with the specified subject locator.
+     * 
+     * @see TopicMap#createTopicBySubjectLocator(Locator)
+     *
+     * @param subjectLocator The subject locator the topic should contain.
+     * @return A {@link Topic} instance with the specified subject locator.
+     * @throws ModelConstraintException If the <tt>subjectLocator</tt> is <tt>null</tt>.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Topic createTopicBySubjectLocator(Locator subjectLocator) throws ModelConstraintException;
+
+    /**
+     * Returns a {@link Topic} with the specified item identifier.
+     * <p>
+     * Opposite to {@link TopicMap#createTopicByItemIdentifier(Locator)} an
+     * {@link IdentityConstraintException} may be reported by {@link #commit()}
+     * if the item identifier is used by a construct which is not a topic.
+     * </p>
+     * 
+     * @see TopicMap#createTopicByItemIdentifier(Locator)
+     *
+     * @param itemIdentifier The item identifier the topic should contain.
+     * @return A {@link Topic} instance with the specified item identifier.
+     * @throws ModelConstraintException If the <tt>itemIdentifier</tt> is <tt>null</tt>.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Topic createTopicByItemIdentifier(Locator itemIdentifier) throws ModelConstraintException;
+
+    /**
+     * Returns a new {@link Topic} with an automatically generated item 
+     * identifier.
+     * 
+     * @see TopicMap#createTopic()
+     *
+     * @return The newly created {@link Topic}.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Topic createTopic();
+
+    /**
+     * Creates a {@link Name} for the specified <tt>topic</tt>.
+     * 
+     * @see Topic#createName(Topic, String, Collection)
+     *
+     * @param topic The topic to which the name should be added.
+     * @param type The name type; must not be <tt>null</tt>.
+     * @param value The string value; must not be <tt>null</tt>.
+     * @param scope A collection of themes or <tt>null</tt> if the name 
+     *              should be in the unconstrained scope.
+     * @return The newly created {@link Name}.
+     * @throws ModelConstraintException If the <tt>topic</tt>, <tt>type</tt> 
+     *              or <tt>value</tt> is <tt>null</tt>.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Name createName(Topic topic, Topic type, String value, 
+            Collection<Topic> scope) throws ModelConstraintException;
+
+    /**
+     * Creates an {@link Occurrence} for the specified <tt>topic</tt>.
+     * 
+     * @see Topic#createOccurrence(Topic, String, Locator, Collection)
+     *
+     * @param topic The topic to which the occurrence should be added.
+     * @param type The occurrence type; must not be <tt>null</tt>.
+     * @param value The string value; must not be <tt>null</tt>.
+     * @param datatype The datatype of the <tt>value</tt>; must not be <tt>null</tt>.
+     * @param scope A collection of themes or <tt>null</tt> if the occurrence
+     *              should be in the unconstrained scope.
+     * @return The newly created {@link Occurrence}.
+     * @throws ModelConstraintException If the <tt>topic</tt>, <tt>type</tt>, 
+     *              <tt>value</tt> or <tt>datatype</tt> is <tt>null</tt>.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Occurrence createOccurrence(Topic topic, Topic type, String value, 
+            Locator datatype, Collection<Topic> scope) throws ModelConstraintException;
+
+    /**
+     * Creates a {@link Variant} for the specified <tt>name</tt>.
+     * 
+     * @see Name#createVariant(String, Locator, Collection)
+     *
+     * @param name The name to which the variant should be added.
+     * @param value The string value; must not be <tt>null</tt>.
+     * @param datatype The datatype of the <tt>value</tt>; must not be <tt>null</tt>.
+     * @param scope A collection (size >= 1) of themes.
+     * @return The newly created {@link Variant}.
+     * @throws ModelConstraintException If the <tt>name</tt>, <tt>value</tt>, 
+     *              or <tt>datatype</tt> is <tt>null</tt>, or the scope of 
+     *              the variant would not be a true superset of the name's 
+     *              scope.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Variant createVariant(Name name, String value, Locator datatype, 
+            Collection<Topic> scope) throws ModelConstraintException;
+
+    /**
+     * Creates an {@link Association} with the specified <tt>type</tt> and 
+     * <tt>scope</tt>.
+     * 
+     * @see TopicMap#createAssociation(Topic, Collection)
+     *
+     * @param type The association type; must not be <tt>null</tt>.
+     * @param scope A collection of themes or <tt>null</tt> if the association
+     *              should be in the unconstrained scope.
+     * @return The newly created {@link Association}.
+     * @throws ModelConstraintException If the <tt>type</tt> is <tt>null</tt>.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Association createAssociation(Topic type, Collection<Topic> scope) throws ModelConstraintException;
+
+    /**
+     * Creates a {@link Role} in the specified <tt>association</tt>.
+     * 
+     * @see Association#createRole(Topic, Topic)
+     *
+     * @param association The association to which the role should be added.
+     * @param type The role type; must not be <tt>null</tt>.
+     * @param player The role player; must not be <tt>null</tt>.
+     * @return The newly created {@link Role}.
+     * @throws ModelConstraintException If the <tt>association</tt>, 
+     *              <tt>type</tt> or <tt>player</tt> is <tt>null</tt>.
+     * @throws IllegalStateException If the batch has been committed.
+     */
+    public Role createRole(Association association, Topic type, Topic player) throws ModelConstraintException;
+
+    /**
+     * Completes the batch.
+     * <p>
+     * All deferred identity constraint checks are executed, topics with 
+     * equal identifiers are merged and duplicate statements are removed. 
+     * After this method returns, the topic map conforms to the 
+     * <a href="http://www.isotopicmaps.org/sam/sam-model/">Topic Maps - Data Model (TMDM)</a>.
+     * </p>
+     * <p>
+     * Invoking this method on a committed batch has no effect.
+     * </p>
+     *
+     * @throws IdentityConstraintException If a topic shares an item identifier 
+     *              with a construct which is not a topic.
+     */
+    public void commit() throws IdentityConstraintException;
+
+    /**
+     * Indicates if {@link #commit()} has been invoked.
+     *
+     * @return <tt>true</tt> if the batch has been committed, otherwise <tt>false</tt>.
+     */
+    public boolean isCommitted();
+
+    /**
+     * Returns the number of constructs created by this batch.
+     * 
+     * The number includes constructs which were merged or removed as 
+     * duplicates during {@link #commit()}.
+     *
+     * @return The number of constructs created by this batch.
+     */
+    public long getCreatedCount();
+
+    /**
+     * Returns the time in milliseconds elapsed between the creation of the 
+     * batch and the completion of {@link #commit()}. 
+     * 
+     * If the batch has not been committed yet, the time elapsed up to now 
+     * is returned.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long getElapsedTime();
+
+    /**
+     * Returns the load throughput of this batch in constructs per second.
+     * <p>
+     * This method returns the same result as the following code:
+     * <pre>
+     *      batch.getCreatedCount() * 1000.0 / Math.max(1, batch.getElapsedTime());
+     * </pre>
+     * </p>
+     *
+     * @return The number of constructs created per second.
+     */
+    public default double getThroughput() {
+        return getCreatedCount() * 1000.0 / Math.max(1, getElapsedTime());
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+/**
+ * Describes a modification of a {@link TopicMap}.
+ * <p>
+ * Events are delivered to {@link TopicMapListener}s. Each event has a 
+ * {@link Type}, the {@link Construct} which was modified, and depending 
+ * on the type the old and the new value of the modified property.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public final class TopicMapEvent {
+
+    /**
+     * The kind of modification.
+     */
+    public enum Type {
+        /**
+         * A construct was created. The construct is the new construct, 
+         * the new value is its parent.
+         */
+        CONSTRUCT_CREATED,
+        /**
+         * A construct was removed. The construct is the removed construct, 
+         * the old value is its former parent.
+         */
+        CONSTRUCT_REMOVED,
+        /**
+         * Two topics were merged. The construct is the topic which survived 
+         * the merge, the old value is the topic which was merged into it.
+         */
+        TOPICS_MERGED,
+        /**
+         * An item identifier was added. The new value is the {@link Locator}.
+         */
+        ITEM_IDENTIFIER_ADDED,
+        /**
+         * An item identifier was removed. The old value is the {@link Locator}.
+         */
+        ITEM_IDENTIFIER_REMOVED,
+        /**
+         * A subject identifier was added to a topic. The new value is the 
+         * {@link Locator}.
+         */
+        SUBJECT_IDENTIFIER_ADDED,
+        /**
+         * A subject identifier was removed from a topic. The old value is the
+         * {@link Locator}.
+         */
+        SUBJECT_IDENTIFIER_REMOVED,
+        /**
+         * A subject locator was added to a topic. The new value is the 
+         * {@link Locator}.
+         */
+        SUBJECT_LOCATOR_ADDED,
+        /**
+         * A subject locator was removed from a topic. The old value is the
+         * {@link Locator}.
+         */
+        SUBJECT_LOCATOR_REMOVED,
+        /**
+         * A type was added to a topic. The new value is the type.
+         */
+        TOPIC_TYPE_ADDED,
+        /**
+         * A type was removed from a topic. The old value is the type.
+         */
+        TOPIC_TYPE_REMOVED,
+        /**
+         * The type of a {@link Typed} construct was changed. The old and new
+         * value are the former and the current type.
+         */
+        TYPE_CHANGED,
+        /**
+         * A theme was added to a {@link Scoped} construct. The new value is 
+         * the theme.
+         */
+        THEME_ADDED,
+        /**
+         * A theme was removed from a {@link Scoped} construct. The old value 
+         * is the theme.
+         */
+        THEME_REMOVED,
+        /**
+         * The value of a {@link Name} or of a {@link DatatypeAware} construct 
+         * was changed. The old and new value are the former and the current
+         * lexical value.
+         */
+        VALUE_CHANGED,
+        /**
+         * The datatype of a {@link DatatypeAware} construct was changed. The 
+         * old and new value are the former and the current datatype.
+         */
+        DATATYPE_CHANGED,
+        /**
+         * The player of a {@link Role} was changed. The old and new value are 
+         * the former and the current player.
+         */
+        PLAYER_CHANGED,
+        /**
+         * The reifier of a {@link Reifiable} was changed. The old and new 
+         * value are the former and the current reifier (maybe <tt>null</tt>).
+         */
+        REIFIER_CHANGED
+    }
+
+    private final Type _type;
+    private final Construct _construct;
+    private final Object _oldValue;
+    private final Object _newValue;
+
+    /**
+     * Creates a new event.
+     *
+     * @param type The kind of modification.
+     * @param construct The construct which was modified.
+     * @param oldValue The old value or <tt>null</tt>.
+     * @param newValue The new value or <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>type</tt> or <tt>construct</tt> 
+     *          is <tt>null</tt>.
+     */
+    public TopicMapEvent(Type type, Construct construct, Object oldValue, Object newValue) {
+        if (type == null) {
+            throw new IllegalArgumentException("The type must not be null");
+        }
+        if (construct == null) {
+            throw new IllegalArgumentException("The construct must not be null");
+        }
+        _type = type;
+        _construct = construct;
+        _oldValue = oldValue;
+        _newValue = newValue;
+    }
+
+    /**
+     * Returns the kind of modification.
+     *
+     * @return The event type, never <tt>null</tt>.
+     */
+    public Type getType() {
+        return _type;
+    }
+
+    /**
+     * Returns the construct which was modified.
+     *
+     * @return The modified construct, never <tt>null</tt>.
+     */
+    public Construct getConstruct() {
+        return _construct;
+    }
+
+    /**
+     * Returns the value of the modified property before the modification.
+     *
+     * @see Type
+     *
+     * @return The old value or <tt>null</tt>.
+     */
+    public Object getOldValue() {
+        return _oldValue;
+    }
+
+    /**
+     * Returns the value of the modified property after the modification.
+     *
+     * @see Type
+     *
+     * @return The new value or <tt>null</tt>.
+     */
+    public Object getNewValue() {
+        return _newValue;
+    }
+
+    @Override
+    public String toString() {
+        return "TopicMapEvent[type=" + _type + ", construct=" + _construct 
+                + ", oldValue=" + _oldValue + ", newValue=" + _newValue + "]";
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.List;
+
+/**
+ * Receives notifications about modifications of a {@link TopicMap}.
+ * <p>
+ * Listeners are registered by {@link TopicMap#addTopicMapListener(TopicMapListener)}
+ * and may be used to maintain secondary structures (caches, custom indices,
+ * replication logs) incrementally instead of rescanning the topic map.
+ * </p>
+ * <p>
+ * Implementations deliver the events in the order of the modifications. 
+ * Events caused by one operation (i.e. all events of a 
+ * {@link Topic#mergeIn(Topic)} or of a {@link TopicMapBatch#commit()}) 
+ * are delivered together by one invocation of {@link #topicMapChanged(List)}.
+ * Events are delivered by the thread which modified the topic map before 
+ * the modifying method returns; listeners should therefore return quickly 
+ * and must not modify the topic map.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface TopicMapListener {
+
+    /**
+     * Notifies this listener about modifications of the topic map.
+     *
+     * @param events An unmodifiable, non-empty list of events in the order
+     *              of the modifications.
+     */
+    public void topicMapChanged(List<TopicMapEvent> events);
+
+}
@@ -0,0 +1,202 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects pairs of {@link Topic}s which must be merged and merges them
+ * in one pass.
+ * <p>
+ * Implementations which support the feature 
+ * <tt>http://tmapi.org/features/deferred-merge</tt> may use this class to 
+ * queue identity collisions detected by {@link Topic#addSubjectIdentifier(Locator)}, 
+ * {@link Topic#addSubjectLocator(Locator)}, and 
+ * {@link Topic#addItemIdentifier(Locator)} and to resolve them in 
+ * {@link TopicMap#flushMerges()}.
+ * </p>
+ * <p>
+ * The queued pairs are grouped into equivalence classes by a union-find 
+ * structure (with union by size and path compression). On {@link #flush()} 
+ * every topic of an equivalence class is merged exactly once into the 
+ * representative of its class, regardless of how many collisions were 
+ * reported for it.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public final class TopicMergeQueue {
+
+    private final Map<Topic, Topic> _parents;
+    private final Map<Topic, Integer> _sizes;
+    private final List<Topic> _topics;
+
+    /**
+     * Creates an empty queue.
+     */
+    public TopicMergeQueue() {
+        _parents = new IdentityHashMap<Topic, Topic>();
+        _sizes = new IdentityHashMap<Topic, Integer>();
+        _topics = new ArrayList<Topic>();
+    }
+
+    /**
+     * Records that the topics <tt>topic</tt> and <tt>other</tt> represent
+     * the same subject and must be merged.
+     *
+     * @param topic A topic; must not be <tt>null</tt>.
+     * @param other The topic which must be merged with <tt>topic</tt>; 
+     *              must not be <tt>null</tt>.
+     * @throws ModelConstraintException If <tt>topic</tt> or <tt>other</tt>
+     *              is <tt>null</tt>.
+     */
+    public void add(Topic topic, Topic other) throws ModelConstraintException {
+        if (topic == null || other == null) {
+            throw new ModelConstraintException(topic, "The topics must not be null");
+        }
+        if (topic == other) {
+            return;
+        }
+        final Topic root = _find(topic);
+        final Topic otherRoot = _find(other);
+        if (root == otherRoot) {
+            return;
+        }
+        final int size = _sizes.get(root);
+        final int otherSize = _sizes.get(otherRoot);
+        if (size < otherSize) {
+            _parents.put(root, otherRoot);
+            _sizes.put(otherRoot, size + otherSize);
+        }
+        else {
+            _parents.put(otherRoot, root);
+            _sizes.put(root, size + otherSize);
+        }
+    }
+
+    /**
+     * Returns if the topics <tt>topic</tt> and <tt>other</tt> will be
+     * merged by {@link #flush()}.
+     *
+     * @param topic A topic.
+     * @param other Another topic.
+     * @return <tt>true</tt> if both topics belong to the same equivalence 
+     *          class, otherwise <tt>false</tt>.
+     */
+    public boolean isQueued(Topic topic, Topic other) {
+        if (!_parents.containsKey(topic) || !_parents.containsKey(other)) {
+            return false;
+        }
+        return _find(topic) == _find(other);
+    }
+
+    /**
+     * Indicates if no merges are pending.
+     *
+     * @return <tt>true</tt> if no topics are queued, otherwise <tt>false</tt>.
+     */
+    public boolean isEmpty() {
+        return _topics.isEmpty();
+    }
+
+    /**
+     * Returns the number of merges which will be executed by {@link #flush()}.
+     *
+     * @return The number of pending {@link Topic#mergeIn(Topic)} operations.
+     */
+    public int size() {
+        int count = 0;
+        for (Topic topic: _topics) {
+            if (_parents.get(topic) != topic) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Merges all queued topics and empties this queue.
+     * <p>
+     * Every topic is merged into the representative of its equivalence 
+     * class by {@link Topic#mergeIn(Topic)}.
+     * </p>
+     *
+     * @return The number of topics which were merged into another topic.
+     */
+    public int flush() {
+        int merged = 0;
+        final List<Topic> topics = new ArrayList<Topic>(_topics);
+        final List<Topic> roots = new ArrayList<Topic>(topics.size());
+        for (Topic topic: topics) {
+            roots.add(_find(topic));
+        }
+        clear();
+        for (int i=0; i<topics.size(); i++) {
+            final Topic topic = topics.get(i);
+            final Topic root = roots.get(i);
+            if (topic != root) {
+                root.mergeIn(topic);
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Discards all queued merges.
+     */
+    public void clear() {
+        _parents.clear();
+        _sizes.clear();
+        _topics.clear();
+    }
+
+    /**
+     * Returns the representative of the equivalence class of <tt>topic</tt>.
+     * 
+     * Unknown topics are added as a class of their own.
+     *
+     * @param topic The topic.
+     * @return The representative of the class.
+     */
+    private Topic _find(Topic topic) {
+        Topic parent = _parents.get(topic);
+        if (parent == null) {
+            _parents.put(topic, topic);
+            _sizes.put(topic, 1);
+            _topics.add(topic);
+            return topic;
+        }
+        Topic root = topic;
+        while (parent != root) {
+            root = parent;
+            parent = _parents.get(root);
+        }
+        Topic current = topic;
+        while (current != root) {
+            final Topic next = _parents.get(current);
+            _parents.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.core;
+
+/**
+ * Groups modifications of a {@link TopicMap} into an atomic unit.
+ * <p>
+ * A transaction is started by {@link TopicMap#begin()}. All modifications 
+ * made through the topic map and its constructs by the thread which started
+ * the transaction belong to the transaction until either {@link #commit()} 
+ * or {@link #rollback()} is invoked. Implementations should use the 
+ * transaction boundaries to write all modifications with one durable flush,
+ * to update indices and to validate the topic map once per transaction, and 
+ * to deliver the {@link TopicMapEvent}s of the transaction to the 
+ * {@link TopicMapListener}s on commit.
+ * </p>
+ * <p>
+ * Transactions can be used in try-with-resources statements; 
+ * {@link #close()} rolls back a transaction which has not been committed:
+ * <pre>
+ *      try (Transaction tx = topicMap.begin()) {
+ *          topicMap.createTopic();
+ *          tx.commit();
+ *      }
+ * </pre>
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface Transaction extends AutoCloseable {
+
+    /**
+     * Returns the {@link TopicMap} to which this transaction belongs.
+     *
+     * @return The topic map, never <tt>null</tt>.
+     */
+    public TopicMap getTopicMap();
+
+    /**
+     * Indicates if this transaction is neither committed nor rolled back.
+     *
+     * @return <tt>true</tt> if the transaction is active, otherwise <tt>false</tt>.
+     */
+    public boolean isActive();
+
+    /**
+     * Makes all modifications of this transaction durable and visible to 
+     * other threads.
+     * <p>
+     * If the commit fails, all modifications of this transaction are 
+     * discarded.
+     * </p>
+     *
+     * @throws IllegalStateException If the transaction is not active.
+     * @throws TMAPIRuntimeException If the modifications cannot be committed.
+     */
+    public void commit() throws TMAPIRuntimeException;
+
+    /**
+     * Discards all modifications of this transaction.
+     *
+     * @throws IllegalStateException If the transaction is not active.
+     */
+    public void rollback();
+
+    /**
+     * Rolls back this transaction if it is still active.
+     * <p>
+     * The default implementation invokes {@link #rollback()} iff 
+     * {@link #isActive()} returns <tt>true</tt>.
+     * </p>
+     */
+    @Override
+    public default void close() {
+        if (isActive()) {
+            rollback();
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Collection;
+
+import org.tmapi.core.Association;
+import org.tmapi.core.Role;
+import org.tmapi.core.Topic;
+
+/**
+ * Index for the traversal of {@link Association}s from a role player to 
+ * the players of the other roles of the same associations.
+ * <p>
+ * A <em>counterpart</em> of a {@link Role} <tt>r</tt> is any role of 
+ * <tt>r.getParent()</tt> which is not equal to <tt>r</tt>. The lookups of 
+ * this index start at the roles played by a topic and answer 
+ * "the counterpart players of topic T via role type R1 in associations of 
+ * type A with the role type R2". 
+ * </p>
+ * <p>
+ * The role type, association type and counterpart role type are optional; 
+ * <tt>null</tt> matches any type. The lookup
+ * <pre>
+ *      idx.getCounterpartPlayers(topic, roleType, assocType, otherRoleType)
+ * </pre>
+ * returns the same topics as the following code:
+ * <pre>
+ *      Set&lt;Topic&gt; players = new HashSet&lt;Topic&gt;();
+ *      for (Role role: topic.getRolesPlayed()) {
+ *          if (roleType != null &amp;&amp; !roleType.equals(role.getType())) {
+ *              continue;
+ *          }
+ *          Association assoc = role.getParent();
+ *          if (assocType != null &amp;&amp; !assocType.equals(assoc.getType())) {
+ *              continue;
+ *          }
+ *          for (Role other: assoc.getRoles()) {
+ *              if (!other.equals(role) 
+ *                  &amp;&amp; (otherRoleType == null || otherRoleType.equals(other.getType()))) {
+ *                  players.add(other.getPlayer());
+ *              }
+ *          }
+ *      }
+ * </pre>
+ * </p>
+ * <p>
+ * Implementations should keep adjacency lists per player which are keyed 
+ * by role type and association type, so that a traversal step does not 
+ * create intermediate sets of roles.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface AssociationIndex extends Index {
+
+    /**
+     * Returns the players of the counterpart roles of the roles played by 
+     * <tt>player</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param player The player of the roles to start from; must not be 
+     *          <tt>null</tt>.
+     * @param roleType The type of the roles played by <tt>player</tt> or 
+     *          <tt>null</tt> to match any role type.
+     * @param assocType The type of the {@link Association}s or 
+     *          <tt>null</tt> to match any association type.
+     * @param otherRoleType The type of the counterpart roles or 
+     *          <tt>null</tt> to match any role type.
+     * @return An unmodifiable collection of distinct {@link Topic}s.
+     * @throws IllegalArgumentException If <tt>player</tt> is <tt>null</tt>.
+     */
+    public Collection<Topic> getCounterpartPlayers(Topic player, Topic roleType, 
+            Topic assocType, Topic otherRoleType);
+
+    /**
+     * Returns the counterpart roles of the roles played by <tt>player</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param player The player of the roles to start from; must not be 
+     *          <tt>null</tt>.
+     * @param roleType The type of the roles played by <tt>player</tt> or 
+     *          <tt>null</tt> to match any role type.
+     * @param assocType The type of the {@link Association}s or 
+     *          <tt>null</tt> to match any association type.
+     * @param otherRoleType The type of the counterpart roles or 
+     *          <tt>null</tt> to match any role type.
+     * @return An unmodifiable collection of {@link Role}s.
+     * @throws IllegalArgumentException If <tt>player</tt> is <tt>null</tt>.
+     */
+    public Collection<Role> getCounterpartRoles(Topic player, Topic roleType, 
+            Topic assocType, Topic otherRoleType);
+
+    /**
+     * Returns the {@link Association}s in which <tt>player</tt> plays a role.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param player The role player; must not be <tt>null</tt>.
+     * @param roleType The type of the roles played by <tt>player</tt> or 
+     *          <tt>null</tt> to match any role type.
+     * @param assocType The type of the {@link Association}s or 
+     *          <tt>null</tt> to match any association type.
+     * @return An unmodifiable collection of distinct {@link Association}s.
+     * @throws IllegalArgumentException If <tt>player</tt> is <tt>null</tt>.
+     */
+    public Collection<Association> getAssociationsByPlayer(Topic player, 
+            Topic roleType, Topic assocType);
+
+    /**
+     * Returns the number of distinct topics which would be returned by
+     * {@link #getCounterpartPlayers(Topic, Topic, Topic, Topic)}.
+     *
+     * @param player The player of the roles to start from; must not be 
+     *          <tt>null</tt>.
+     * @param roleType The type of the roles played by <tt>player</tt> or 
+     *          <tt>null</tt> to match any role type.
+     * @param assocType The type of the {@link Association}s or 
+     *          <tt>null</tt> to match any association type.
+     * @param otherRoleType The type of the counterpart roles or 
+     *          <tt>null</tt> to match any role type.
+     * @return The number of counterpart players.
+     * @throws IllegalArgumentException If <tt>player</tt> is <tt>null</tt>.
+     */
+    public default int countCounterpartPlayers(Topic player, Topic roleType, 
+            Topic assocType, Topic otherRoleType) {
+        return getCounterpartPlayers(player, roleType, assocType, otherRoleType).size();
+    }
+
+}
@@ -0,0 +1,778 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.tmapi.core.Association;
+import org.tmapi.core.Construct;
+import org.tmapi.core.Name;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.Scope;
+import org.tmapi.core.Topic;
+import org.tmapi.core.TopicMap;
+import org.tmapi.core.TopicMapSystem;
+import org.tmapi.core.Variant;
+
+/**
+ * {@link ScopedIndex} implementation which keeps compressed bitmaps per 
+ * theme.
+ * <p>
+ * The index assigns dense integer ids to the {@link Association}s, 
+ * {@link Occurrence}s, {@link Name}s and {@link Variant}s of the topic map 
+ * and stores, for each theme, the ids of the constructs in whose scope the 
+ * theme occurs as a roaring-style compressed bitmap: The ids are 
+ * partitioned by their 16 high bits and each partition is either a sorted 
+ * array of the 16 low bits (up to 4096 entries) or a bitset of 
+ * 2<sup>16</sup> bits. Queries with <tt>matchAll</tt> intersect the 
+ * bitmaps of the themes, starting with the smallest one, queries without 
+ * <tt>matchAll</tt> unite them.
+ * </p>
+ * <p>
+ * This index is not updated automatically; {@link #reindex()} rebuilds it 
+ * from the topic map. Readers see either the state before or after a 
+ * reindex. Queries and {@link #reindex()} throw an 
+ * {@link IllegalStateException} if the index is closed. Engines may return 
+ * this index from {@link TopicMap#getIndex(Class)} or use it as reference 
+ * for their own implementations.
+ * </p>
+ * <p>
+ * The index can be built in the background by {@link #openAsync()} or 
+ * lazily on the first query if it was created with <tt>lazy</tt> set to 
+ * <tt>true</tt> or if the property {@link Index#BUILD_POLICY} of the topic 
+ * map system is <tt>"lazy"</tt>. Queries issued while the index is 
+ * {@link IndexState#PENDING} or {@link IndexState#BUILDING} block until 
+ * the index is ready. If the build fails, the index is closed. 
+ * {@link #close()} does not wait for a running build; the result of that 
+ * build is discarded.
+ * </p>
+ * <p>
+ * If the index is created with a parallelism greater than one, 
+ * {@link #reindex()} splits the associations and topics of the topic map 
+ * into partitions, builds the bitmaps of each partition in a 
+ * {@link ForkJoinPool} and concatenates the partial results. 
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public class BitmapScopedIndex implements ScopedIndex {
+
+    private final TopicMap _tm;
+    private final boolean _lazy;
+    private final Object _buildLock;
+    private volatile IndexState _state;
+    private volatile Columns _columns;
+    private final int _parallelism;
+    private final AtomicInteger _processed;
+    private volatile int _total;
+
+    /**
+     * Creates an index for the specified topic map.
+     * <p>
+     * The index is built when it is opened unless the property 
+     * {@link Index#BUILD_POLICY} of the topic map system is <tt>"lazy"</tt>.
+     * The index must be opened before it can be used.
+     * </p>
+     *
+     * @param topicMap The topic map to index; must not be <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>topicMap</tt> is <tt>null</tt> or
+     *          if the value of the build policy property is invalid.
+     */
+    public BitmapScopedIndex(TopicMap topicMap) {
+        this(topicMap, _isLazy(topicMap));
+    }
+
+    /**
+     * Creates an index for the specified topic map.
+     * <p>
+     * The index is built by the number of threads set by the property 
+     * {@link Index#PARALLELISM} of the topic map system or by one thread 
+     * if the property is not set.
+     * The index must be opened before it can be used.
+     * </p>
+     *
+     * @param topicMap The topic map to index; must not be <tt>null</tt>.
+     * @param lazy <tt>true</tt> to defer building the index from 
+     *          {@link #open()} to the first query.
+     * @throws IllegalArgumentException If <tt>topicMap</tt> is <tt>null</tt> or
+     *          if the value of the parallelism property is invalid.
+     */
+    public BitmapScopedIndex(TopicMap topicMap, boolean lazy) {
+        this(topicMap, lazy, _parallelism(topicMap));
+    }
+
+    /**
+     * Creates an index for the specified topic map.
+     * <p>
+     * The index must be opened before it can be used.
+     * </p>
+     *
+     * @param topicMap The topic map to index; must not be <tt>null</tt>.
+     * @param lazy <tt>true</tt> to defer building the index from 
+     *          {@link #open()} to the first query.
+     * @param parallelism The number of threads used to build the index.
+     * @throws IllegalArgumentException If <tt>topicMap</tt> is <tt>null</tt> or
+     *          if <tt>parallelism</tt> is less than <tt>1</tt>.
+     */
+    public BitmapScopedIndex(TopicMap topicMap, boolean lazy, int parallelism) {
+        if (topicMap == null) {
+            throw new IllegalArgumentException("The topic map must not be null");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be greater than zero");
+        }
+        _tm = topicMap;
+        _lazy = lazy;
+        _parallelism = parallelism;
+        _processed = new AtomicInteger();
+        _buildLock = new Object();
+        _state = IndexState.CLOSED;
+        _columns = new Columns();
+    }
+
+    /**
+     * Returns the indexed topic map.
+     *
+     * @return The topic map, never <tt>null</tt>.
+     */
+    public TopicMap getTopicMap() {
+        return _tm;
+    }
+
+    /**
+     * Returns the number of threads used by {@link #reindex()}.
+     *
+     * @return The parallelism, at least <tt>1</tt>.
+     */
+    public int getParallelism() {
+        return _parallelism;
+    }
+
+    /**
+     * Returns the approximate number of bytes used by the bitmaps of this 
+     * index.
+     *
+     * @return The estimated memory footprint in bytes.
+     */
+    public long getSizeInBytes() {
+        final Columns columns = _columns;
+        return columns.associations.getSizeInBytes() 
+                + columns.occurrences.getSizeInBytes()
+                + columns.names.getSizeInBytes()
+                + columns.variants.getSizeInBytes();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.Index#open()
+     */
+    @Override
+    public void open() {
+        synchronized (this) {
+            if (_state != IndexState.CLOSED) {
+                return;
+            }
+            _state = IndexState.PENDING;
+        }
+        if (!_lazy) {
+            _ensureReady();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.Index#openAsync()
+     */
+    @Override
+    public CompletableFuture<Void> openAsync() {
+        synchronized (this) {
+            if (_state == IndexState.READY) {
+                return CompletableFuture.completedFuture(null);
+            }
+            _state = IndexState.BUILDING;
+        }
+        final CompletableFuture<Void> future = new CompletableFuture<Void>();
+        CompletableFuture.runAsync(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    _ensureReady();
+                }
+                catch (RuntimeException ex) {
+                    future.completeExceptionally(ex);
+                    return;
+                }
+                if (_state == IndexState.READY) {
+                    future.complete(null);
+                }
+                else {
+                    future.completeExceptionally(new CancellationException("The index was closed before it was ready"));
+                }
+            }
+        });
+        return future;
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.Index#close()
+     */
+    @Override
+    public synchronized void close() {
+        _state = IndexState.CLOSED;
+        _columns = new Columns();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.Index#isOpen()
+     */
+    @Override
+    public boolean isOpen() {
+        return _state != IndexState.CLOSED;
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.Index#getState()
+     */
+    @Override
+    public IndexState getState() {
+        return _state;
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.Index#getBuildProgress()
+     */
+    @Override
+    public double getBuildProgress() {
+        switch (_state) {
+            case READY:
+                return 1.0;
+            case BUILDING:
+                final int total = _total;
+                return total == 0 ? 0.0 : Math.min(1.0, (double) _processed.get() / total);
+            default:
+                return 0.0;
+        }
+    }
+
+    /**
+     * Returns <tt>false</tt>.
+     * 
+     * @return <tt>false</tt>, the index must be updated by {@link #reindex()}.
+     */
+    @Override
+    public boolean isAutoUpdated() {
+        return false;
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.Index#reindex()
+     */
+    @Override
+    public void reindex() {
+        reindex(_parallelism);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.Index#reindex(int)
+     */
+    @Override
+    public void reindex(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be greater than zero");
+        }
+        _checkOpen();
+        synchronized (_buildLock) {
+            final Columns columns = _build(parallelism);
+            synchronized (this) {
+                _checkOpen();
+                _columns = columns;
+                if (_state == IndexState.PENDING || _state == IndexState.BUILDING) {
+                    _state = IndexState.READY;
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the index if it is pending or building. If another thread 
+     * builds the index, this method blocks until the build is finished.
+     * <p>
+     * The result is discarded if the index was closed during the build. If 
+     * the build fails, the index is closed.
+     * </p>
+     */
+    private void _ensureReady() {
+        synchronized (_buildLock) {
+            synchronized (this) {
+                if (_state != IndexState.PENDING && _state != IndexState.BUILDING) {
+                    return;
+                }
+                _state = IndexState.BUILDING;
+            }
+            final Columns columns;
+            try {
+                columns = _build(_parallelism);
+            }
+            catch (RuntimeException ex) {
+                synchronized (this) {
+                    if (_state == IndexState.BUILDING) {
+                        _state = IndexState.CLOSED;
+                    }
+                }
+                throw ex;
+            }
+            synchronized (this) {
+                if (_state == IndexState.BUILDING) {
+                    _columns = columns;
+                    _state = IndexState.READY;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the columns to query, building the index if necessary.
+     */
+    private Columns _current() {
+        if (_state == IndexState.PENDING || _state == IndexState.BUILDING) {
+            _ensureReady();
+        }
+        _checkOpen();
+        return _columns;
+    }
+
+    /**
+     * Throws an {@link IllegalStateException} if the index is closed.
+     */
+    private void _checkOpen() {
+        if (_state == IndexState.CLOSED) {
+            throw new IllegalStateException("The index is closed");
+        }
+    }
+
+    /**
+     * Returns the value of the property <tt>name</tt> of the topic map 
+     * system which manages <tt>topicMap</tt> or <tt>null</tt> if the 
+     * property is not set or the topic map system is not accessible.
+     */
+    private static Object _getProperty(TopicMap topicMap, String name) {
+        if (topicMap == null) {
+            return null;
+        }
+        try {
+            final TopicMapSystem sys = topicMap.getTopicMapSystem();
+            return sys == null ? null : sys.getProperty(name);
+        }
+        catch (UnsupportedOperationException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns if the property {@link Index#BUILD_POLICY} is <tt>"lazy"</tt>.
+     */
+    private static boolean _isLazy(TopicMap topicMap) {
+        final Object value = _getProperty(topicMap, BUILD_POLICY);
+        if (value == null) {
+            return false;
+        }
+        final String policy = value.toString().trim();
+        if ("lazy".equalsIgnoreCase(policy)) {
+            return true;
+        }
+        if ("eager".equalsIgnoreCase(policy)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid value of " + BUILD_POLICY + ": " + value);
+    }
+
+    /**
+     * Returns the value of the property {@link Index#PARALLELISM} or 
+     * <tt>1</tt> if the property is not set.
+     */
+    private static int _parallelism(TopicMap topicMap) {
+        final Object value = _getProperty(topicMap, PARALLELISM);
+        if (value == null) {
+            return 1;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Integer.parseInt(((String) value).trim());
+            }
+            catch (NumberFormatException ex) {
+                // noop.
+            }
+        }
+        throw new IllegalArgumentException("Invalid value of " + PARALLELISM + ": " + value);
+    }
+
+    /**
+     * Creates new columns from the topic map.
+     */
+    private Columns _build(int parallelism) {
+        _processed.set(0);
+        _total = _tm.getAssociationCount() + _tm.getTopicCount();
+        if (parallelism == 1) {
+            final Columns columns = new Columns();
+            _index(columns, _tm.associationSpliterator());
+            _index(columns, _tm.topicSpliterator());
+            return columns;
+        }
+        // Several partitions per thread to balance partitions of different costs
+        final long threshold = Math.max(1024, _total / (parallelism * 4L));
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final Columns columns = pool.invoke(new BuildTask(_tm.associationSpliterator(), threshold));
+            columns.addAll(pool.invoke(new BuildTask(_tm.topicSpliterator(), threshold)));
+            return columns;
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Adds the constructs reachable from the <tt>spliterator</tt> to the 
+     * <tt>columns</tt>.
+     */
+    private void _index(final Columns columns, Spliterator<? extends Construct> spliterator) {
+        spliterator.forEachRemaining(new Consumer<Construct>() {
+            @Override
+            public void accept(Construct construct) {
+                columns.index(construct);
+                _processed.incrementAndGet();
+            }
+        });
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getAssociations(org.tmapi.core.Topic)
+     */
+    @Override
+    public Collection<Association> getAssociations(Topic theme) {
+        return _current().associations.get(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#associations(org.tmapi.core.Topic)
+     */
+    @Override
+    public Stream<Association> associations(Topic theme) {
+        return _current().associations.stream(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getAssociations(org.tmapi.core.Topic[], boolean)
+     */
+    @Override
+    public Collection<Association> getAssociations(Topic[] themes, boolean matchAll) {
+        return _current().associations.get(themes, matchAll);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getAssociationsByScope(org.tmapi.core.Scope)
+     */
+    @Override
+    public Collection<Association> getAssociationsByScope(Scope scope) {
+        return _current().associations.get(scope);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#countAssociations(org.tmapi.core.Topic)
+     */
+    @Override
+    public int countAssociations(Topic theme) {
+        return _current().associations.count(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getAssociationThemes()
+     */
+    @Override
+    public Collection<Topic> getAssociationThemes() {
+        return _current().associations.getThemes();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getAssociationThemeStatistics()
+     */
+    @Override
+    public IndexStatistics<Topic> getAssociationThemeStatistics() {
+        return _current().associations.getStatistics();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getOccurrences(org.tmapi.core.Topic)
+     */
+    @Override
+    public Collection<Occurrence> getOccurrences(Topic theme) {
+        return _current().occurrences.get(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#occurrences(org.tmapi.core.Topic)
+     */
+    @Override
+    public Stream<Occurrence> occurrences(Topic theme) {
+        return _current().occurrences.stream(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getOccurrences(org.tmapi.core.Topic[], boolean)
+     */
+    @Override
+    public Collection<Occurrence> getOccurrences(Topic[] themes, boolean matchAll) {
+        return _current().occurrences.get(themes, matchAll);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getOccurrencesByScope(org.tmapi.core.Scope)
+     */
+    @Override
+    public Collection<Occurrence> getOccurrencesByScope(Scope scope) {
+        return _current().occurrences.get(scope);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#countOccurrences(org.tmapi.core.Topic)
+     */
+    @Override
+    public int countOccurrences(Topic theme) {
+        return _current().occurrences.count(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getOccurrenceThemes()
+     */
+    @Override
+    public Collection<Topic> getOccurrenceThemes() {
+        return _current().occurrences.getThemes();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getOccurrenceThemeStatistics()
+     */
+    @Override
+    public IndexStatistics<Topic> getOccurrenceThemeStatistics() {
+        return _current().occurrences.getStatistics();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getNames(org.tmapi.core.Topic)
+     */
+    @Override
+    public Collection<Name> getNames(Topic theme) {
+        return _current().names.get(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#names(org.tmapi.core.Topic)
+     */
+    @Override
+    public Stream<Name> names(Topic theme) {
+        return _current().names.stream(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getNames(org.tmapi.core.Topic[], boolean)
+     */
+    @Override
+    public Collection<Name> getNames(Topic[] themes, boolean matchAll) {
+        return _current().names.get(themes, matchAll);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getNamesByScope(org.tmapi.core.Scope)
+     */
+    @Override
+    public Collection<Name> getNamesByScope(Scope scope) {
+        return _current().names.get(scope);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#countNames(org.tmapi.core.Topic)
+     */
+    @Override
+    public int countNames(Topic theme) {
+        return _current().names.count(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getNameThemes()
+     */
+    @Override
+    public Collection<Topic> getNameThemes() {
+        return _current().names.getThemes();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getNameThemeStatistics()
+     */
+    @Override
+    public IndexStatistics<Topic> getNameThemeStatistics() {
+        return _current().names.getStatistics();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getVariants(org.tmapi.core.Topic)
+     */
+    @Override
+    public Collection<Variant> getVariants(Topic theme) {
+        if (theme == null) {
+            throw new IllegalArgumentException("The theme must not be null");
+        }
+        return _current().variants.get(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#variants(org.tmapi.core.Topic)
+     */
+    @Override
+    public Stream<Variant> variants(Topic theme) {
+        if (theme == null) {
+            throw new IllegalArgumentException("The theme must not be null");
+        }
+        return _current().variants.stream(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getVariants(org.tmapi.core.Topic[], boolean)
+     */
+    @Override
+    public Collection<Variant> getVariants(Topic[] themes, boolean matchAll) {
+        return _current().variants.get(themes, matchAll);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getVariantsByScope(org.tmapi.core.Scope)
+     */
+    @Override
+    public Collection<Variant> getVariantsByScope(Scope scope) {
+        return _current().variants.get(scope);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#countVariants(org.tmapi.core.Topic)
+     */
+    @Override
+    public int countVariants(Topic theme) {
+        if (theme == null) {
+            throw new IllegalArgumentException("The theme must not be null");
+        }
+        return _current().variants.count(theme);
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getVariantThemes()
+     */
+    @Override
+    public Collection<Topic> getVariantThemes() {
+        return _current().variants.getThemes();
+    }
+
+    /* (non-Javadoc)
+     * @see org.tmapi.index.ScopedIndex#getVariantThemeStatistics()
+     */
+    @Override
+    public IndexStatistics<Topic> getVariantThemeStatistics() {
+        return _current().variants.getStatistics();
+    }
+
+
+    /**
+     * The columns of one index generation or of one partition.
+     */
+    private static final class Columns {
+        final ScopeColumn<Association> associations = new ScopeColumn<Association>();
+        final ScopeColumn<Occurrence> occurrences = new ScopeColumn<Occurrence>();
+        final ScopeColumn<Name> names = new ScopeColumn<Name>();
+        final ScopeColumn<Variant> variants = new ScopeColumn<Variant>();
+
+        /**
+         * Adds an association or the characteristics of a topic.
+         */
+        void index(Construct construct) {
+            if (construct instanceof Association) {
+                associations.add((Association) construct);
+                return;
+            }
+            final Topic topic = (Topic) construct;
+            for (Occurrence occ: topic.getOccurrences()) {
+                occurrences.add(occ);
+            }
+            for (Name name: topic.getNames()) {
+                names.add(name);
+                for (Variant variant: name.getVariants()) {
+                    variants.add(variant);
+                }
+            }
+        }
+
+        /**
+         * Appends the columns of <tt>other</tt>.
+         */
+        void addAll(Columns other) {
+            associations.addAll(other.associations);
+            occurrences.addAll(other.occurrences);
+            names.addAll(other.names);
+            variants.addAll(other.variants);
+        }
+    }
+
+
+    /**
+     * Builds the columns of a partition, splitting it further if it is 
+     * larger than the threshold.
+     */
+    private final class BuildTask extends RecursiveTask<Columns> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<? extends Construct> _spliterator;
+        private final long _threshold;
+
+        BuildTask(Spliterator<? extends Construct> spliterator, long threshold) {
+            _spliterator = spliterator;
+            _threshold = threshold;
+        }
+
+        @Override
+        protected Columns compute() {
+            final Spliterator<? extends Construct> prefix = _spliterator.estimateSize() > _threshold 
+                                                                ? _spliterator.trySplit() : null;
+            if (prefix == null) {
+                final Columns columns = new Columns();
+                _index(columns, _spliterator);
+                return columns;
+            }
+            final BuildTask left = new BuildTask(prefix, _threshold);
+            left.fork();
+            final Columns right = new BuildTask(_spliterator, _threshold).compute();
+            final Columns columns = left.join();
+            columns.addAll(right);
+            return columns;
+        }
+    }
+
+}
@@ -0,0 +1,575 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative <tt>int</tt>s.
+ * <p>
+ * The bitmap partitions the values by their 16 high bits. The low bits of 
+ * each partition are either stored in a sorted <tt>char</tt> array, if the 
+ * partition contains at most {@link #ARRAY_MAX} values, or in a bitset of 
+ * 2<sup>16</sup> bits otherwise. Sparse partitions thus need two bytes per 
+ * value and dense partitions at most one bit per value.
+ * </p>
+ * <p>
+ * Values should be added in ascending order; appending is handled without
+ * a binary search. Instances are not thread-safe.
+ * </p>
+ *
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+final class CompressedBitmap {
+
+    /**
+     * Maximum number of values of an array container.
+     */
+    static final int ARRAY_MAX = 4096;
+
+    private char[] _keys;
+    private Container[] _containers;
+    private int _size;
+
+    CompressedBitmap() {
+        this(4);
+    }
+
+    private CompressedBitmap(int capacity) {
+        _keys = new char[capacity];
+        _containers = new Container[capacity];
+    }
+
+    /**
+     * Adds the specified <tt>value</tt>.
+     *
+     * @param value A non-negative value.
+     */
+    public void add(int value) {
+        final char key = (char) (value >>> 16);
+        int idx;
+        if (_size > 0 && _keys[_size-1] == key) {
+            idx = _size - 1;
+        }
+        else {
+            idx = _size > 0 && _keys[_size-1] < key ? -(_size + 1) : _indexOf(key);
+            if (idx < 0) {
+                idx = -idx - 1;
+                _insert(idx, key, new ArrayContainer(4));
+            }
+        }
+        _containers[idx] = _containers[idx].add((char) value);
+    }
+
+    /**
+     * Indicates if the bitmap contains the specified <tt>value</tt>.
+     *
+     * @param value The value.
+     * @return <tt>true</tt> if the value is part of this bitmap.
+     */
+    public boolean contains(int value) {
+        final int idx = _indexOf((char) (value >>> 16));
+        return idx >= 0 && _containers[idx].contains((char) value);
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return The cardinality of this bitmap.
+     */
+    public int cardinality() {
+        int card = 0;
+        for (int i = 0; i < _size; i++) {
+            card += _containers[i].cardinality();
+        }
+        return card;
+    }
+
+    /**
+     * Indicates if the bitmap contains no value.
+     *
+     * @return <tt>true</tt> if the bitmap is empty.
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Returns the intersection of this bitmap and <tt>other</tt>.
+     *
+     * @param other The bitmap to intersect with.
+     * @return A new bitmap.
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        final CompressedBitmap result = new CompressedBitmap(Math.max(1, Math.min(_size, other._size)));
+        int i = 0;
+        int j = 0;
+        while (i < _size && j < other._size) {
+            final char k1 = _keys[i];
+            final char k2 = other._keys[j];
+            if (k1 < k2) {
+                i++;
+            }
+            else if (k1 > k2) {
+                j++;
+            }
+            else {
+                final Container c = _containers[i].and(other._containers[j]);
+                if (c.cardinality() > 0) {
+                    result._insert(result._size, k1, c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the union of this bitmap and <tt>other</tt>.
+     *
+     * @param other The bitmap to unite with.
+     * @return A new bitmap.
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        final CompressedBitmap result = new CompressedBitmap(Math.max(1, _size + other._size));
+        int i = 0;
+        int j = 0;
+        while (i < _size || j < other._size) {
+            if (j == other._size || (i < _size && _keys[i] < other._keys[j])) {
+                result._insert(result._size, _keys[i], _containers[i].copy());
+                i++;
+            }
+            else if (i == _size || _keys[i] > other._keys[j]) {
+                result._insert(result._size, other._keys[j], other._containers[j].copy());
+                j++;
+            }
+            else {
+                result._insert(result._size, _keys[i], _containers[i].or(other._containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes all values in ascending order to the <tt>consumer</tt>.
+     *
+     * @param consumer The consumer.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < _size; i++) {
+            _containers[i].forEach(_keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Returns an iterator over the values in ascending order.
+     * <p>
+     * The bitmap must not be modified while it is iterated.
+     * </p>
+     *
+     * @return An iterator over the values.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new BitmapIterator();
+    }
+
+    /**
+     * Returns the approximate number of bytes used by this bitmap.
+     *
+     * @return The estimated memory footprint in bytes.
+     */
+    public long getSizeInBytes() {
+        long bytes = 16 + _keys.length * 2L + _containers.length * 4L;
+        for (int i = 0; i < _size; i++) {
+            bytes += _containers[i].getSizeInBytes();
+        }
+        return bytes;
+    }
+
+    private int _indexOf(char key) {
+        return Arrays.binarySearch(_keys, 0, _size, key);
+    }
+
+    private void _insert(int idx, char key, Container container) {
+        if (_size == _keys.length) {
+            final int capacity = _size * 2;
+            _keys = Arrays.copyOf(_keys, capacity);
+            _containers = Arrays.copyOf(_containers, capacity);
+        }
+        System.arraycopy(_keys, idx, _keys, idx + 1, _size - idx);
+        System.arraycopy(_containers, idx, _containers, idx + 1, _size - idx);
+        _keys[idx] = key;
+        _containers[idx] = container;
+        _size++;
+    }
+
+
+    /**
+     * Iterates the containers and the values of each container.
+     */
+    private final class BitmapIterator implements PrimitiveIterator.OfInt {
+
+        private int _container;
+        private int _high;
+        // Position within an array container or word index of a bitmap container
+        private int _pos;
+        private long _word;
+
+        BitmapIterator() {
+            _container = -1;
+            _nextContainer();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return _container < _size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Container container = _containers[_container];
+            final int value;
+            if (container instanceof ArrayContainer) {
+                value = _high | ((ArrayContainer) container)._values[_pos++];
+                if (_pos == container.cardinality()) {
+                    _nextContainer();
+                }
+            }
+            else {
+                value = _high | (_pos << 6) | Long.numberOfTrailingZeros(_word);
+                _word &= _word - 1;
+                if (_word == 0) {
+                    _nextWord((BitmapContainer) container);
+                }
+            }
+            return value;
+        }
+
+        private void _nextContainer() {
+            _container++;
+            if (_container == _size) {
+                return;
+            }
+            _high = _keys[_container] << 16;
+            _pos = 0;
+            final Container container = _containers[_container];
+            if (container instanceof BitmapContainer) {
+                _pos = -1;
+                _nextWord((BitmapContainer) container);
+            }
+        }
+
+        private void _nextWord(BitmapContainer container) {
+            final long[] words = container._words;
+            do {
+                _pos++;
+            } while (_pos < words.length && words[_pos] == 0);
+            if (_pos == words.length) {
+                _nextContainer();
+            }
+            else {
+                _word = words[_pos];
+            }
+        }
+    }
+
+
+    /**
+     * Stores the low 16 bits of the values of one partition.
+     */
+    private static abstract class Container {
+
+        /**
+         * Adds the value and returns the container which holds the values
+         * afterwards, which may be a new container.
+         */
+        abstract Container add(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container copy();
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract long getSizeInBytes();
+    }
+
+
+    /**
+     * Container for sparse partitions.
+     */
+    private static final class ArrayContainer extends Container {
+
+        char[] _values;
+        int _card;
+
+        ArrayContainer(int capacity) {
+            _values = new char[capacity];
+        }
+
+        ArrayContainer(char[] values, int card) {
+            _values = values;
+            _card = card;
+        }
+
+        @Override
+        Container add(char value) {
+            int idx;
+            if (_card == 0 || _values[_card-1] < value) {
+                idx = _card;
+            }
+            else {
+                idx = Arrays.binarySearch(_values, 0, _card, value);
+                if (idx >= 0) {
+                    return this;
+                }
+                idx = -idx - 1;
+            }
+            if (_card == ARRAY_MAX) {
+                return _toBitmap().add(value);
+            }
+            if (_card == _values.length) {
+                _values = Arrays.copyOf(_values, Math.min(ARRAY_MAX, Math.max(4, _card * 2)));
+            }
+            System.arraycopy(_values, idx, _values, idx + 1, _card - idx);
+            _values[idx] = value;
+            _card++;
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(_values, 0, _card, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return _card;
+        }
+
+        @Override
+        Container and(Container other) {
+            final char[] values = new char[Math.min(_card, other.cardinality())];
+            int card = 0;
+            if (other instanceof ArrayContainer) {
+                final ArrayContainer o = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < _card && j < o._card) {
+                    if (_values[i] < o._values[j]) {
+                        i++;
+                    }
+                    else if (_values[i] > o._values[j]) {
+                        j++;
+                    }
+                    else {
+                        values[card++] = _values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            }
+            else {
+                for (int i = 0; i < _card; i++) {
+                    if (other.contains(_values[i])) {
+                        values[card++] = _values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(values, card);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            final ArrayContainer o = (ArrayContainer) other;
+            if (_card + o._card > ARRAY_MAX) {
+                final BitmapContainer result = _toBitmap();
+                for (int i = 0; i < o._card; i++) {
+                    result.add(o._values[i]);
+                }
+                return result;
+            }
+            final char[] values = new char[_card + o._card];
+            int card = 0;
+            int i = 0;
+            int j = 0;
+            while (i < _card || j < o._card) {
+                if (j == o._card || (i < _card && _values[i] < o._values[j])) {
+                    values[card++] = _values[i++];
+                }
+                else if (i == _card || _values[i] > o._values[j]) {
+                    values[card++] = o._values[j++];
+                }
+                else {
+                    values[card++] = _values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(values, card);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(_values, _card), _card);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < _card; i++) {
+                consumer.accept(high | _values[i]);
+            }
+        }
+
+        @Override
+        long getSizeInBytes() {
+            return 16 + _values.length * 2L;
+        }
+
+        private BitmapContainer _toBitmap() {
+            final BitmapContainer bitmap = new BitmapContainer(new long[1024], 0);
+            for (int i = 0; i < _card; i++) {
+                bitmap.add(_values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+
+    /**
+     * Container for dense partitions.
+     */
+    private static final class BitmapContainer extends Container {
+
+        final long[] _words;
+        int _card;
+
+        BitmapContainer(long[] words, int card) {
+            _words = words;
+            _card = card;
+        }
+
+        @Override
+        Container add(char value) {
+            final long bit = 1L << value;
+            final int idx = value >>> 6;
+            if ((_words[idx] & bit) == 0) {
+                _words[idx] |= bit;
+                _card++;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (_words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return _card;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            final long[] words = new long[1024];
+            final long[] otherWords = ((BitmapContainer) other)._words;
+            int card = 0;
+            for (int i = 0; i < words.length; i++) {
+                words[i] = _words[i] & otherWords[i];
+                card += Long.bitCount(words[i]);
+            }
+            final BitmapContainer result = new BitmapContainer(words, card);
+            return card > ARRAY_MAX ? result : result._toArray();
+        }
+
+        @Override
+        Container or(Container other) {
+            final long[] words = _words.clone();
+            final BitmapContainer result = new BitmapContainer(words, _card);
+            if (other instanceof ArrayContainer) {
+                final ArrayContainer o = (ArrayContainer) other;
+                for (int i = 0; i < o._card; i++) {
+                    result.add(o._values[i]);
+                }
+            }
+            else {
+                final long[] otherWords = ((BitmapContainer) other)._words;
+                int card = 0;
+                for (int i = 0; i < words.length; i++) {
+                    words[i] |= otherWords[i];
+                    card += Long.bitCount(words[i]);
+                }
+                result._card = card;
+            }
+            return result;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(_words.clone(), _card);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < _words.length; i++) {
+                long word = _words[i];
+                while (word != 0) {
+                    consumer.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        long getSizeInBytes() {
+            return 16 + _words.length * 8L;
+        }
+
+        private ArrayContainer _toArray() {
+            final char[] values = new char[_card];
+            final int[] card = new int[1];
+            forEach(0, new IntConsumer() {
+                @Override
+                public void accept(int value) {
+                    values[card[0]++] = (char) value;
+                }
+            });
+            return new ArrayContainer(values, _card);
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Collection;
+
+import org.tmapi.core.Association;
+import org.tmapi.core.Name;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.Role;
+import org.tmapi.core.Variant;
+
+/**
+ * Index for statements which are equal according to the Topic Maps - Data 
+ * Model (TMDM) and which should be collapsed into one statement.
+ * <p>
+ * Engines which suppress duplicates when a statement is created or when 
+ * topic maps are merged (see 
+ * {@link org.tmapi.core.TopicMap#mergeIn(org.tmapi.core.TopicMap)}) may use
+ * this index to find the duplicates of a statement. Engines which do not 
+ * suppress duplicates may use it to report them.
+ * </p>
+ * <p>
+ * Implementations should key each statement by a hash of its canonical 
+ * signature (parent, type, value, datatype, scope and, for associations, 
+ * the types and players of the roles), so that the duplicates of a 
+ * statement are found by a single lookup instead of a pairwise comparison 
+ * with the names and occurrences of a topic or with all associations of a 
+ * type. The item identifiers and the reifier are not part of the 
+ * signature.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface DuplicateIndex extends Index {
+
+    /**
+     * Returns the {@link Association}s which are equal to <tt>association</tt> 
+     * according to the TMDM, i.e. which have the same type, scope and an equal set of roles (equal role types and players).
+     * <p>
+     * The returned collection does not contain <tt>association</tt> itself.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param association The {@link Association} to find the duplicates of.
+     * @return An unmodifiable collection of {@link Association}s.
+     * @throws IllegalArgumentException If <tt>association</tt> is <tt>null</tt>.
+     */
+    public Collection<Association> getDuplicates(Association association);
+
+    /**
+     * Returns the {@link Role}s which are equal to <tt>role</tt> 
+     * according to the TMDM, i.e. which have the same parent, type and player.
+     * <p>
+     * The returned collection does not contain <tt>role</tt> itself.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param role The {@link Role} to find the duplicates of.
+     * @return An unmodifiable collection of {@link Role}s.
+     * @throws IllegalArgumentException If <tt>role</tt> is <tt>null</tt>.
+     */
+    public Collection<Role> getDuplicates(Role role);
+
+    /**
+     * Returns the {@link Name}s which are equal to <tt>name</tt> 
+     * according to the TMDM, i.e. which have the same parent, type, value and scope.
+     * <p>
+     * The returned collection does not contain <tt>name</tt> itself.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param name The {@link Name} to find the duplicates of.
+     * @return An unmodifiable collection of {@link Name}s.
+     * @throws IllegalArgumentException If <tt>name</tt> is <tt>null</tt>.
+     */
+    public Collection<Name> getDuplicates(Name name);
+
+    /**
+     * Returns the {@link Occurrence}s which are equal to <tt>occurrence</tt> 
+     * according to the TMDM, i.e. which have the same parent, type, value, datatype and scope.
+     * <p>
+     * The returned collection does not contain <tt>occurrence</tt> itself.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param occurrence The {@link Occurrence} to find the duplicates of.
+     * @return An unmodifiable collection of {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>occurrence</tt> is <tt>null</tt>.
+     */
+    public Collection<Occurrence> getDuplicates(Occurrence occurrence);
+
+    /**
+     * Returns the {@link Variant}s which are equal to <tt>variant</tt> 
+     * according to the TMDM, i.e. which have the same parent, value, datatype and scope.
+     * <p>
+     * The returned collection does not contain <tt>variant</tt> itself.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param variant The {@link Variant} to find the duplicates of.
+     * @return An unmodifiable collection of {@link Variant}s.
+     * @throws IllegalArgumentException If <tt>variant</tt> is <tt>null</tt>.
+     */
+    public Collection<Variant> getDuplicates(Variant variant);
+
+}
@@ -0,0 +1,163 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.tmapi.core.Construct;
+import org.tmapi.core.Locator;
+import org.tmapi.core.Topic;
+
+/**
+ * Index for prefix lookups of subject identifiers, subject locators and 
+ * item identifiers.
+ * <p>
+ * While {@link org.tmapi.core.TopicMap#getTopicBySubjectIdentifier(Locator)}
+ * and {@link org.tmapi.core.TopicMap#getConstructByItemIdentifier(Locator)}
+ * require the exact locator, this index returns all identifiers within a 
+ * namespace, i.e. all subject identifiers which start with 
+ * <tt>http://psi.example.org/country/</tt>. The prefix is matched against 
+ * the {@link Locator#getReference() reference} of the locators; it is not 
+ * normalized.
+ * </p>
+ * <p>
+ * Implementations should keep the references sorted (or in a trie), so that
+ * a prefix lookup is a range scan and does not need to iterate over all 
+ * topics of the topic map.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface IdentifierIndex extends Index {
+
+    /**
+     * Returns the subject identifiers whose reference starts with <tt>prefix</tt>.
+     * <p>
+     * The locators are sorted by their {@link Locator#getReference() 
+     * reference} in ascending order.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param prefix The prefix of the references; the empty string matches 
+     *          all subject identifiers.
+     * @return An unmodifiable list of {@link Locator}s.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public List<Locator> getSubjectIdentifiers(String prefix);
+
+    /**
+     * Returns the number of subject identifiers whose reference starts with 
+     * <tt>prefix</tt>.
+     *
+     * @param prefix The prefix of the references.
+     * @return The number of subject identifiers.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public default int countSubjectIdentifiers(String prefix) {
+        return getSubjectIdentifiers(prefix).size();
+    }
+
+    /**
+     * Returns the {@link Topic}s which have at least one subject identifier whose 
+     * reference starts with <tt>prefix</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param prefix The prefix of the references.
+     * @return An unmodifiable collection of {@link Topic}s.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public Collection<Topic> getTopicsBySubjectIdentifierPrefix(String prefix);
+
+    /**
+     * Returns the subject locators whose reference starts with <tt>prefix</tt>.
+     * <p>
+     * The locators are sorted by their {@link Locator#getReference() 
+     * reference} in ascending order.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param prefix The prefix of the references; the empty string matches 
+     *          all subject locators.
+     * @return An unmodifiable list of {@link Locator}s.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public List<Locator> getSubjectLocators(String prefix);
+
+    /**
+     * Returns the number of subject locators whose reference starts with 
+     * <tt>prefix</tt>.
+     *
+     * @param prefix The prefix of the references.
+     * @return The number of subject locators.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public default int countSubjectLocators(String prefix) {
+        return getSubjectLocators(prefix).size();
+    }
+
+    /**
+     * Returns the {@link Topic}s which have at least one subject locator whose 
+     * reference starts with <tt>prefix</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param prefix The prefix of the references.
+     * @return An unmodifiable collection of {@link Topic}s.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public Collection<Topic> getTopicsBySubjectLocatorPrefix(String prefix);
+
+    /**
+     * Returns the item identifiers whose reference starts with <tt>prefix</tt>.
+     * <p>
+     * The locators are sorted by their {@link Locator#getReference() 
+     * reference} in ascending order.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param prefix The prefix of the references; the empty string matches 
+     *          all item identifiers.
+     * @return An unmodifiable list of {@link Locator}s.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public List<Locator> getItemIdentifiers(String prefix);
+
+    /**
+     * Returns the number of item identifiers whose reference starts with 
+     * <tt>prefix</tt>.
+     *
+     * @param prefix The prefix of the references.
+     * @return The number of item identifiers.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public default int countItemIdentifiers(String prefix) {
+        return getItemIdentifiers(prefix).size();
+    }
+
+    /**
+     * Returns the {@link Construct}s which have at least one item identifier whose 
+     * reference starts with <tt>prefix</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param prefix The prefix of the references.
+     * @return An unmodifiable collection of {@link Construct}s.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public Collection<Construct> getConstructsByItemIdentifierPrefix(String prefix);
+
+}
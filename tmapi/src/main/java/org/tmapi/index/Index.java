@@ -13,14 +13,68 @@
  */
 package org.tmapi.index;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Base interface for all indices.
+ * <p>
+ * Implementations may support the property 
+ * <tt>http://tmapi.org/properties/index-build-policy</tt> 
+ * ({@link #BUILD_POLICY}) which is set via 
+ * {@link org.tmapi.core.TopicMapSystemFactory#setProperty(String, Object)}
+ * and controls what {@link #open()} does: 
+ * <tt>"eager"</tt> (the default) builds the index before {@link #open()} 
+ * returns, <tt>"lazy"</tt> defers the build until the index is queried for 
+ * the first time (the index is in the state {@link IndexState#PENDING} 
+ * until then).
+ * </p>
+ * <p>
+ * The property <tt>http://tmapi.org/properties/index-parallelism</tt> 
+ * ({@link #PARALLELISM}, an {@link Integer} or its string representation) sets the number of 
+ * threads which implementations should use for {@link #reindex()}. 
+ * If the property is not set, implementations choose the parallelism.
+ * </p>
+ * <p>
+ * The <tt>count*</tt> methods of the indices return the size of the 
+ * collection returned by the corresponding lookup by default. 
+ * Implementations should override them to count the constructs without 
+ * creating the collection.
+ * </p>
+ * <p>
+ * The <tt>get*Statistics</tt> methods of the {@link ScopedIndex} and the 
+ * {@link TypeInstanceIndex} compute the statistics by looking up each key 
+ * by default. Implementations should override them to return statistics 
+ * which are maintained by the index.
+ * </p>
+ * <p>
+ * The lookup methods of the indices which return a collection have 
+ * counterparts which return a {@link java.util.stream.Stream} (i.e. 
+ * {@link TypeInstanceIndex#topics(org.tmapi.core.Topic)} for 
+ * {@link TypeInstanceIndex#getTopics(org.tmapi.core.Topic)}). Their default
+ * implementations stream the collection. Implementations should return 
+ * streams which read the constructs lazily from the index, so that a page of
+ * a large result can be fetched by <tt>skip(offset).limit(size)</tt> 
+ * without copying the whole result. The order of the constructs must be 
+ * stable as long as the index is not modified.
+ * </p>
  * 
  * @author <a href="http://tmapi.org/">The TMAPI Project</a>
  * @version $Rev: 62 $ - $Date: 2008-08-08 12:00:50 +0000 (Fri, 08 Aug 2008) $
  */
 public interface Index {
 
+    /**
+     * The property which selects the build policy of the indices, either 
+     * <tt>"eager"</tt> or <tt>"lazy"</tt>.
+     */
+    public static final String BUILD_POLICY = "http://tmapi.org/properties/index-build-policy";
+
+    /**
+     * The property which sets the number of threads used to build the 
+     * indices, an {@link Integer} or its string representation.
+     */
+    public static final String PARALLELISM = "http://tmapi.org/properties/index-parallelism";
+
     /**
      * Open the index.
      * 
@@ -60,4 +114,86 @@ public interface Index {
      */
     public void reindex();
 
+    /**
+     * Returns the lifecycle state of this index.
+     * <p>
+     * The default implementation returns {@link IndexState#READY} if the 
+     * index is open, otherwise {@link IndexState#CLOSED}.
+     * </p>
+     *
+     * @return The state, never <tt>null</tt>.
+     */
+    public default IndexState getState() {
+        return isOpen() ? IndexState.READY : IndexState.CLOSED;
+    }
+
+    /**
+     * Opens the index and builds it in the background.
+     * <p>
+     * The returned future is completed when the index reached the state 
+     * {@link IndexState#READY} or completed exceptionally if the build 
+     * failed. The progress of the build is reported by 
+     * {@link #getBuildProgress()}.
+     * </p>
+     * <p>
+     * The default implementation invokes {@link #open()} in the current 
+     * thread and returns a completed future.
+     * </p>
+     *
+     * @return A future which is completed when the index is ready.
+     */
+    public default CompletableFuture<Void> openAsync() {
+        final CompletableFuture<Void> future = new CompletableFuture<Void>();
+        try {
+            open();
+            future.complete(null);
+        }
+        catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    /**
+     * Returns the progress of the current build.
+     * <p>
+     * The returned value lies between <tt>0.0</tt> (nothing indexed yet) 
+     * and <tt>1.0</tt> (the index is {@link IndexState#READY}).
+     * </p>
+     * <p>
+     * The default implementation returns <tt>1.0</tt> if the index is open, 
+     * otherwise <tt>0.0</tt>.
+     * </p>
+     *
+     * @return The build progress.
+     */
+    public default double getBuildProgress() {
+        return isOpen() ? 1.0 : 0.0;
+    }
+
+    /**
+     * Synchronizes the index with data in the topic map using up to 
+     * <tt>parallelism</tt> threads.
+     * <p>
+     * Implementations should partition the topic map (i.e. by splitting 
+     * {@link org.tmapi.core.TopicMap#topicSpliterator()}), build one partial
+     * index per partition in a {@link java.util.concurrent.ForkJoinPool} and
+     * merge the partial indices at the end. The resulting index must answer
+     * all queries like an index which was built by {@link #reindex()}.
+     * </p>
+     * <p>
+     * The default implementation invokes {@link #reindex()}.
+     * </p>
+     *
+     * @param parallelism The maximum number of threads to use.
+     * @throws IllegalArgumentException If <tt>parallelism</tt> is less than 
+     *          <tt>1</tt>.
+     */
+    public default void reindex(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be greater than zero");
+        }
+        reindex();
+    }
+
 }
@@ -0,0 +1,223 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.tmapi.core.TopicMap;
+
+/**
+ * Header of the files written by {@link PersistentIndex#save(Path)}.
+ * <p>
+ * The header occupies the first {@link #SIZE} bytes of the file and 
+ * consists of (in big-endian byte order):
+ * <ul>
+ *   <li>the magic number <tt>0x544D4958</tt> ("TMIX"),</li>
+ *   <li>the version of this header layout (<tt>int</tt>),</li>
+ *   <li>the format version of the index (<tt>int</tt>),</li>
+ *   <li>reserved flags (<tt>int</tt>),</li>
+ *   <li>the change counter of the topic map (<tt>long</tt>), and</li>
+ *   <li>a 64-bit FNV-1a fingerprint of the topic map's locator (<tt>long</tt>).</li>
+ * </ul>
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public final class IndexFileHeader {
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int SIZE = 32;
+
+    private static final int _MAGIC = 0x544D4958;
+    private static final int _HEADER_VERSION = 1;
+
+    private final int _formatVersion;
+    private final long _changeCount;
+    private final long _fingerprint;
+
+    private IndexFileHeader(int formatVersion, long changeCount, long fingerprint) {
+        _formatVersion = formatVersion;
+        _changeCount = changeCount;
+        _fingerprint = fingerprint;
+    }
+
+    /**
+     * Creates a header.
+     *
+     * @param formatVersion The format version of the index.
+     * @param changeCount The change counter of the topic map.
+     * @param topicMapLocator The reference of the topic map's locator; must 
+     *          not be <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>topicMapLocator</tt> is <tt>null</tt>.
+     */
+    public IndexFileHeader(int formatVersion, long changeCount, String topicMapLocator) {
+        this(formatVersion, changeCount, _fingerprint(topicMapLocator));
+    }
+
+    /**
+     * Creates a header which describes the current state of the 
+     * <tt>topicMap</tt>.
+     *
+     * @param topicMap The indexed topic map; must not be <tt>null</tt>.
+     * @param formatVersion The format version of the index.
+     * @return A new header.
+     * @throws UnsupportedOperationException If the topic map does not 
+     *          provide a {@link TopicMap#getChangeCount() change counter}.
+     */
+    public static IndexFileHeader forTopicMap(TopicMap topicMap, int formatVersion) {
+        return new IndexFileHeader(formatVersion, topicMap.getChangeCount(), 
+                topicMap.getLocator().getReference());
+    }
+
+    /**
+     * Reads a header from the current position of the <tt>buffer</tt>.
+     * <p>
+     * The position of the buffer is advanced by {@link #SIZE} bytes.
+     * </p>
+     *
+     * @param buffer The buffer to read from.
+     * @return The header.
+     * @throws IOException If the buffer does not start with a header.
+     */
+    public static IndexFileHeader read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < SIZE) {
+            throw new IOException("Not an index file: The header is truncated");
+        }
+        final ByteBuffer buf = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        if (buf.getInt() != _MAGIC) {
+            throw new IOException("Not an index file: Illegal magic number");
+        }
+        final int headerVersion = buf.getInt();
+        if (headerVersion != _HEADER_VERSION) {
+            throw new IOException("Unsupported header version: " + headerVersion);
+        }
+        final int formatVersion = buf.getInt();
+        buf.getInt(); // flags
+        final long changeCount = buf.getLong();
+        final long fingerprint = buf.getLong();
+        buffer.position(buffer.position() + SIZE);
+        return new IndexFileHeader(formatVersion, changeCount, fingerprint);
+    }
+
+    /**
+     * Maps the specified <tt>file</tt> read-only into memory.
+     *
+     * @param file The file to map.
+     * @return A read-only buffer positioned at the start of the file.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public static MappedByteBuffer map(Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            // The mapping stays valid after the channel has been closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes this header to the current position of the <tt>buffer</tt>.
+     * <p>
+     * The position of the buffer is advanced by {@link #SIZE} bytes.
+     * </p>
+     *
+     * @param buffer The buffer to write to.
+     */
+    public void write(ByteBuffer buffer) {
+        final ByteBuffer buf = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        buf.putInt(_MAGIC)
+           .putInt(_HEADER_VERSION)
+           .putInt(_formatVersion)
+           .putInt(0)
+           .putLong(_changeCount)
+           .putLong(_fingerprint);
+        buffer.position(buffer.position() + SIZE);
+    }
+
+    /**
+     * Returns the format version of the index.
+     *
+     * @return The format version.
+     */
+    public int getFormatVersion() {
+        return _formatVersion;
+    }
+
+    /**
+     * Returns the change counter of the topic map at the time the index was 
+     * saved.
+     *
+     * @return The change counter.
+     */
+    public long getChangeCount() {
+        return _changeCount;
+    }
+
+    /**
+     * Indicates if an index with this header is valid for the specified 
+     * state of a topic map.
+     *
+     * @param formatVersion The format version of the index.
+     * @param changeCount The current change counter of the topic map.
+     * @param topicMapLocator The reference of the topic map's locator.
+     * @return <tt>true</tt> if the format version, the change counter and 
+     *          the topic map match, otherwise <tt>false</tt>.
+     */
+    public boolean matches(int formatVersion, long changeCount, String topicMapLocator) {
+        return _formatVersion == formatVersion 
+                && _changeCount == changeCount
+                && _fingerprint == _fingerprint(topicMapLocator);
+    }
+
+    /**
+     * Indicates if an index with this header is valid for the current state
+     * of the <tt>topicMap</tt>.
+     *
+     * @param topicMap The topic map.
+     * @param formatVersion The format version of the index.
+     * @return <tt>true</tt> if the format version, the change counter and 
+     *          the topic map match, otherwise <tt>false</tt>.
+     * @throws UnsupportedOperationException If the topic map does not 
+     *          provide a {@link TopicMap#getChangeCount() change counter}.
+     */
+    public boolean matches(TopicMap topicMap, int formatVersion) {
+        return matches(formatVersion, topicMap.getChangeCount(), 
+                topicMap.getLocator().getReference());
+    }
+
+    private static long _fingerprint(String reference) {
+        if (reference == null) {
+            throw new IllegalArgumentException("The topic map locator must not be null");
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (byte b: reference.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+}
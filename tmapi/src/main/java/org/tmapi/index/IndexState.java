@@ -0,0 +1,47 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+/**
+ * Lifecycle states of an {@link Index}.
+ * 
+ * @see Index#getState()
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public enum IndexState {
+
+    /**
+     * The index is closed.
+     */
+    CLOSED,
+
+    /**
+     * The index is open but has not been built yet; it is built when it is 
+     * queried for the first time.
+     */
+    PENDING,
+
+    /**
+     * The index is being built. Queries block until the build is finished.
+     */
+    BUILDING,
+
+    /**
+     * The index is open and can be queried without delay.
+     */
+    READY
+
+}
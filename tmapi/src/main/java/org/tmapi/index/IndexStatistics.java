@@ -0,0 +1,117 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+/**
+ * Statistics about the keys of an index and the constructs which are 
+ * indexed by them.
+ * <p>
+ * A key is a type, a theme or a value, depending on the index which 
+ * provided the statistics. The <tt>null</tt> key stands for the constructs 
+ * without a key, i.e. untyped topics or constructs in the unconstrained 
+ * scope; it is not counted by {@link #getKeyCount()}.
+ * </p>
+ * <p>
+ * Statistics describe the index at the time they were obtained and are 
+ * meant for query planning, i.e. to evaluate the most selective condition
+ * of a query first. Implementations may provide estimates instead of exact 
+ * numbers for indices which are being updated concurrently.
+ * </p>
+ * 
+ * @param <K> The type of the keys.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface IndexStatistics<K> {
+
+    /**
+     * Returns the number of distinct constructs in the index.
+     *
+     * @return The number of constructs.
+     */
+    public long getConstructCount();
+
+    /**
+     * Returns the number of distinct (non-<tt>null</tt>) keys.
+     *
+     * @return The number of keys.
+     */
+    public int getKeyCount();
+
+    /**
+     * Returns the sum of the number of constructs of all (non-<tt>null</tt>) 
+     * keys.
+     * <p>
+     * A construct is counted once for each key under which it is indexed.
+     * </p>
+     *
+     * @return The number of key/construct pairs.
+     */
+    public long getPostingCount();
+
+    /**
+     * Returns the number of constructs indexed under the specified 
+     * <tt>key</tt>.
+     *
+     * @param key The key or <tt>null</tt> for the constructs without a key.
+     * @return The number of constructs, <tt>0</tt> if the key is unknown.
+     */
+    public int getCount(K key);
+
+    /**
+     * Returns the largest number of constructs indexed under one 
+     * (non-<tt>null</tt>) key.
+     *
+     * @return The maximum count, <tt>0</tt> if the index has no keys.
+     */
+    public int getMaxCount();
+
+    /**
+     * Returns the histogram of the key counts.
+     * <p>
+     * The element <tt>i</tt> of the returned array is the number of keys 
+     * which index at least 2<sup>i</sup> and less than 2<sup>i+1</sup> 
+     * constructs. The length of the array is 
+     * <tt>32 - Integer.numberOfLeadingZeros(getMaxCount())</tt>.
+     * </p>
+     *
+     * @return The histogram, never <tt>null</tt>.
+     */
+    public int[] getHistogram();
+
+    /**
+     * Returns the average number of constructs per (non-<tt>null</tt>) key.
+     *
+     * @return The average count, <tt>0.0</tt> if the index has no keys.
+     */
+    public default double getAverageCount() {
+        final int keys = getKeyCount();
+        return keys == 0 ? 0.0 : (double) getPostingCount() / keys;
+    }
+
+    /**
+     * Returns the fraction of constructs which are indexed under the 
+     * specified <tt>key</tt>.
+     *
+     * @param key The key or <tt>null</tt> for the constructs without a key.
+     * @return A value between <tt>0.0</tt> and <tt>1.0</tt>; smaller values 
+     *          denote more selective keys.
+     */
+    public default double getSelectivity(K key) {
+        final long constructs = getConstructCount();
+        return constructs == 0 ? 0.0 : (double) getCount(key) / constructs;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.tmapi.core.Role;
+import org.tmapi.core.Scope;
+import org.tmapi.core.Scoped;
+import org.tmapi.core.Topic;
+import org.tmapi.core.TopicMap;
+
+/**
+ * Helper methods used by the default methods of the index interfaces.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+final class IndexSupport {
+
+    private static final String _TMDM_BASE = "http://psi.topicmaps.org/iso13250/model/";
+
+    /**
+     * Subject identifier of the supertype-subtype association type.
+     */
+    static final String SUPERTYPE_SUBTYPE = _TMDM_BASE + "supertype-subtype";
+
+    /**
+     * Subject identifier of the supertype role type.
+     */
+    static final String SUPERTYPE = _TMDM_BASE + "supertype";
+
+    /**
+     * Subject identifier of the subtype role type.
+     */
+    static final String SUBTYPE = _TMDM_BASE + "subtype";
+
+    private IndexSupport() {
+        // noop.
+    }
+
+    /**
+     * Returns the themes of the <tt>scope</tt> as array.
+     *
+     * @param scope The scope, must not be <tt>null</tt>.
+     * @return An array of themes.
+     * @throws IllegalArgumentException If <tt>scope</tt> is <tt>null</tt>.
+     */
+    static Topic[] themes(Scope scope) {
+        if (scope == null) {
+            throw new IllegalArgumentException("The scope must not be null");
+        }
+        return scope.getThemes().toArray(new Topic[scope.size()]);
+    }
+
+    /**
+     * Returns those <tt>candidates</tt> whose scope is equal to <tt>scope</tt>.
+     * <p>
+     * The candidates must contain all themes of the scope, so the scope of a 
+     * candidate is equal to <tt>scope</tt> iff it has the same size.
+     * </p>
+     *
+     * @param candidates Scoped constructs whose scope is a superset of 
+     *              <tt>scope</tt>.
+     * @param scope The scope to match.
+     * @return An unmodifiable collection of scoped constructs.
+     */
+    static <S extends Scoped> Collection<S> filterScope(Collection<S> candidates, Scope scope) {
+        final List<S> result = new ArrayList<S>();
+        final int size = scope.size();
+        for (S scoped: candidates) {
+            if (scoped.getScope().size() == size) {
+                result.add(scoped);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Follows the supertype-subtype associations starting at <tt>type</tt>.
+     *
+     * @param type The type to start from, must not be <tt>null</tt>.
+     * @param transitive <tt>true</tt> to follow the associations transitively.
+     * @param up <tt>true</tt> to return the supertypes, <tt>false</tt> to 
+     *              return the subtypes.
+     * @return An unmodifiable collection of types which does not contain 
+     *          <tt>type</tt>.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    static Collection<Topic> walkTypeHierarchy(Topic type, boolean transitive, boolean up) {
+        if (type == null) {
+            throw new IllegalArgumentException("The type must not be null");
+        }
+        final TopicMap tm = type.getTopicMap();
+        final Topic assocType = tm.getTopicBySubjectIdentifier(tm.createLocator(SUPERTYPE_SUBTYPE));
+        final Topic supertype = tm.getTopicBySubjectIdentifier(tm.createLocator(SUPERTYPE));
+        final Topic subtype = tm.getTopicBySubjectIdentifier(tm.createLocator(SUBTYPE));
+        if (assocType == null || supertype == null || subtype == null) {
+            return Collections.<Topic>emptySet();
+        }
+        final Topic startRole = up ? subtype : supertype;
+        final Topic targetRole = up ? supertype : subtype;
+        final Set<Topic> result = new LinkedHashSet<Topic>();
+        final Deque<Topic> pending = new ArrayDeque<Topic>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            final Topic current = pending.removeFirst();
+            for (Role role: current.getRolesPlayed(startRole, assocType)) {
+                for (Role other: role.getParent().getRoles(targetRole)) {
+                    final Topic player = other.getPlayer();
+                    if (!player.equals(type) && result.add(player) && transitive) {
+                        pending.add(player);
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Computes the statistics of an index by looking up each key.
+     *
+     * @param keys The (non-<tt>null</tt>) keys of the index.
+     * @param unkeyed The constructs without a key.
+     * @param lookup Returns the constructs of a key.
+     * @return The statistics.
+     */
+    static <K> IndexStatistics<K> statistics(Collection<K> keys, Collection<?> unkeyed, 
+            Function<K, ? extends Collection<?>> lookup) {
+        final Set<Object> constructs = new HashSet<Object>(unkeyed);
+        final Map<K, Integer> counts = new LinkedHashMap<K, Integer>();
+        for (K key: keys) {
+            final Collection<?> result = lookup.apply(key);
+            counts.put(key, result.size());
+            constructs.addAll(result);
+        }
+        final SnapshotStatistics<K> stats = new SnapshotStatistics<K>(constructs.size(), unkeyed.size());
+        for (Map.Entry<K, Integer> entry: counts.entrySet()) {
+            stats.add(entry.getKey(), entry.getValue());
+        }
+        return stats;
+    }
+
+}
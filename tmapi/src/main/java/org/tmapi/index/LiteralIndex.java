@@ -14,6 +14,7 @@
 package org.tmapi.index;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 import org.tmapi.core.Locator;
 import org.tmapi.core.Name;
@@ -41,6 +42,29 @@ public interface LiteralIndex extends Index {
      */
     public Collection<Occurrence> getOccurrences(String value);
 
+    /**
+     * Returns the result of {@link #getOccurrences(String)} as a stream.
+     *
+     * @param value The value of the {@link Occurrence}s to be returned.
+     * @return A stream of {@link Occurrence}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default Stream<Occurrence> occurrences(String value) {
+        return getOccurrences(value).stream();
+    }
+
+    /**
+     * Returns the number of {@link Occurrence}s which have a value equal to 
+     * <tt>value</tt> and a datatype equal to xsd:string.
+     *
+     * @param value The value of the {@link Occurrence}s to be counted.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default int countOccurrences(String value) {
+        return getOccurrences(value).size();
+    }
+
     /**
      * Returns the {@link Occurrence}s in the topic map whose value property 
      * matches the IRI represented by <tt>value</tt>.
@@ -58,6 +82,29 @@ public interface LiteralIndex extends Index {
      */
     public Collection<Occurrence> getOccurrences(Locator value);
 
+    /**
+     * Returns the result of {@link #getOccurrences(Locator)} as a stream.
+     *
+     * @param value The value of the {@link Occurrence}s to be returned.
+     * @return A stream of {@link Occurrence}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default Stream<Occurrence> occurrences(Locator value) {
+        return getOccurrences(value).stream();
+    }
+
+    /**
+     * Returns the number of {@link Occurrence}s which have a value equal to 
+     * <tt>value.getReference()</tt> and a datatype equal to xsd:anyURI.
+     *
+     * @param value The value of the {@link Occurrence}s to be counted.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default int countOccurrences(Locator value) {
+        return getOccurrences(value).size();
+    }
+
     /**
      * Returns the {@link Occurrence}s in the topic map whose value property 
      * matches <tt>value</tt> and whose datatye is <tt>datatype</tt>.
@@ -71,6 +118,31 @@ public interface LiteralIndex extends Index {
      */
     public Collection<Occurrence> getOccurrences(String value, Locator datatype);
 
+    /**
+     * Returns the result of {@link #getOccurrences(String, Locator)} as a stream.
+     *
+     * @param value The value of the {@link Occurrence}s to be returned.
+     * @param datatype The datatype of the {@link Occurrence}s to be returned.
+     * @return A stream of {@link Occurrence}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If the value or datatype is <tt>null</tt>.
+     */
+    public default Stream<Occurrence> occurrences(String value, Locator datatype) {
+        return getOccurrences(value, datatype).stream();
+    }
+
+    /**
+     * Returns the number of {@link Occurrence}s which have a value equal to 
+     * <tt>value</tt> and a datatype equal to <tt>datatype</tt>.
+     *
+     * @param value The value of the {@link Occurrence}s to be counted.
+     * @param datatype The datatype of the {@link Occurrence}s to be counted.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If the value or datatype is <tt>null</tt>.
+     */
+    public default int countOccurrences(String value, Locator datatype) {
+        return getOccurrences(value, datatype).size();
+    }
+
     /**
      * Returns the {@link Variant}s in the topic map whose value property
      * matches <tt>value</tt> and whose datatype property is 
@@ -84,6 +156,29 @@ public interface LiteralIndex extends Index {
      */
     public Collection<Variant> getVariants(String value);
 
+    /**
+     * Returns the result of {@link #getVariants(String)} as a stream.
+     *
+     * @param value The value of the {@link Variant}s to be returned.
+     * @return A stream of {@link Variant}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default Stream<Variant> variants(String value) {
+        return getVariants(value).stream();
+    }
+
+    /**
+     * Returns the number of {@link Variant}s which have a value equal to 
+     * <tt>value</tt> and a datatype equal to xsd:string.
+     *
+     * @param value The value of the {@link Variant}s to be counted.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default int countVariants(String value) {
+        return getVariants(value).size();
+    }
+
     /**
      * Returns the {@link Variant}s in the topic map whose value property 
      * matches the IRI represented by <tt>value</tt>.
@@ -101,6 +196,29 @@ public interface LiteralIndex extends Index {
      */
     public Collection<Variant> getVariants(Locator value);
 
+    /**
+     * Returns the result of {@link #getVariants(Locator)} as a stream.
+     *
+     * @param value The value of the {@link Variant}s to be returned.
+     * @return A stream of {@link Variant}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default Stream<Variant> variants(Locator value) {
+        return getVariants(value).stream();
+    }
+
+    /**
+     * Returns the number of {@link Variant}s which have a value equal to 
+     * <tt>value.getReference()</tt> and a datatype equal to xsd:anyURI.
+     *
+     * @param value The value of the {@link Variant}s to be counted.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default int countVariants(Locator value) {
+        return getVariants(value).size();
+    }
+
     /**
      * Returns the {@link Variant}s in the topic map whose value property 
      * matches <tt>value</tt> and whose datatye is <tt>datatype</tt>.
@@ -114,6 +232,31 @@ public interface LiteralIndex extends Index {
      */
     public Collection<Variant> getVariants(String value, Locator datatype);
 
+    /**
+     * Returns the result of {@link #getVariants(String, Locator)} as a stream.
+     *
+     * @param value The value of the {@link Variant}s to be returned.
+     * @param datatype The datatype of the {@link Variant}s to be returned.
+     * @return A stream of {@link Variant}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If the value or datatype is <tt>null</tt>.
+     */
+    public default Stream<Variant> variants(String value, Locator datatype) {
+        return getVariants(value, datatype).stream();
+    }
+
+    /**
+     * Returns the number of {@link Variant}s which have a value equal to 
+     * <tt>value</tt> and a datatype equal to <tt>datatype</tt>.
+     *
+     * @param value The value of the {@link Variant}s to be counted.
+     * @param datatype The datatype of the {@link Variant}s to be counted.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If the value or datatype is <tt>null</tt>.
+     */
+    public default int countVariants(String value, Locator datatype) {
+        return getVariants(value, datatype).size();
+    }
+
     /**
      * Retrieves the topic names in the topic map which have a value equal to 
      * <tt>value</tt>.
@@ -126,4 +269,81 @@ public interface LiteralIndex extends Index {
      */
     public Collection<Name> getNames(String value);
 
+    /**
+     * Returns the result of {@link #getNames(String)} as a stream.
+     *
+     * @param value The value of the {@link Name}s to be returned.
+     * @return A stream of {@link Name}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default Stream<Name> names(String value) {
+        return getNames(value).stream();
+    }
+
+    /**
+     * Returns the number of {@link Name}s which have a value equal to 
+     * <tt>value</tt>.
+     *
+     * @param value The value of the {@link Name}s to be counted.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If the value is <tt>null</tt>.
+     */
+    public default int countNames(String value) {
+        return getNames(value).size();
+    }
+
+    /**
+     * Returns statistics about the values of the {@link Occurrence}s.
+     * <p>
+     * The keys of the statistics are the values regardless of their 
+     * datatype.
+     * </p>
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @return The statistics, never <tt>null</tt>.
+     * @throws UnsupportedOperationException If the index does not provide 
+     *          statistics.
+     */
+    public default IndexStatistics<String> getOccurrenceValueStatistics() {
+        throw new UnsupportedOperationException("Value statistics are not supported");
+    }
+
+    /**
+     * Returns statistics about the values of the {@link Name}s.
+     * <p>
+     * The keys of the statistics are the values regardless of their 
+     * datatype.
+     * </p>
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @return The statistics, never <tt>null</tt>.
+     * @throws UnsupportedOperationException If the index does not provide 
+     *          statistics.
+     */
+    public default IndexStatistics<String> getNameValueStatistics() {
+        throw new UnsupportedOperationException("Value statistics are not supported");
+    }
+
+    /**
+     * Returns statistics about the values of the {@link Variant}s.
+     * <p>
+     * The keys of the statistics are the values regardless of their 
+     * datatype.
+     * </p>
+     * <p>
+     * The default implementation throws an {@link UnsupportedOperationException}.
+     * </p>
+     *
+     * @return The statistics, never <tt>null</tt>.
+     * @throws UnsupportedOperationException If the index does not provide 
+     *          statistics.
+     */
+    public default IndexStatistics<String> getVariantValueStatistics() {
+        throw new UnsupportedOperationException("Value statistics are not supported");
+    }
+
 }
@@ -0,0 +1,201 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.tmapi.core.Name;
+import org.tmapi.core.Scope;
+
+/**
+ * Index for prefix, substring and full-text lookups of {@link Name}s.
+ * <p>
+ * Name values and queries are compared after they have been normalized by 
+ * {@link #normalize(String)}, so that the lookups are independent of case 
+ * and of the Unicode representation of the characters. Full-text queries 
+ * are split into tokens by {@link #tokenize(String)}.
+ * </p>
+ * <p>
+ * Results are ranked: Names whose value equals the query come first, 
+ * followed by names whose value starts with the query and by all other 
+ * matches. Within each group shorter values are ranked higher. The order of 
+ * names with the same rank is implementation-dependent but must be stable 
+ * as long as the index is not modified, so that <tt>offset</tt> and 
+ * <tt>limit</tt> can be used to page through the results.
+ * </p>
+ * <p>
+ * If a <tt>scope</tt> is provided, only those names are returned whose 
+ * scope contains all themes of the provided scope. 
+ * </p>
+ * <p>
+ * Implementations should use an n-gram index or a finite state transducer 
+ * over the normalized values, so that a lookup does not need to scan all 
+ * names of the topic map.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface NameSearchIndex extends Index {
+
+    /**
+     * Returns the {@link Name}s whose normalized value starts with the 
+     * normalized <tt>prefix</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param prefix The prefix; must not be <tt>null</tt>.
+     * @param scope The themes which must be part of the scope of the returned
+     *          names or <tt>null</tt> if the scope should be ignored.
+     * @param offset The number of ranked names to skip.
+     * @param limit The maximum number of names to return.
+     * @return An unmodifiable, ranked list of {@link Name}s.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>, or 
+     *          if <tt>offset</tt> or <tt>limit</tt> is negative.
+     */
+    public List<Name> getNamesByPrefix(String prefix, Scope scope, int offset, int limit);
+
+    /**
+     * Returns the {@link Name}s whose normalized value contains the 
+     * normalized <tt>substring</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param substring The substring; must not be <tt>null</tt>.
+     * @param scope The themes which must be part of the scope of the returned
+     *          names or <tt>null</tt> if the scope should be ignored.
+     * @param offset The number of ranked names to skip.
+     * @param limit The maximum number of names to return.
+     * @return An unmodifiable, ranked list of {@link Name}s.
+     * @throws IllegalArgumentException If <tt>substring</tt> is <tt>null</tt>, or 
+     *          if <tt>offset</tt> or <tt>limit</tt> is negative.
+     */
+    public List<Name> getNamesBySubstring(String substring, Scope scope, int offset, int limit);
+
+    /**
+     * Returns the {@link Name}s whose value contains all tokens of the 
+     * <tt>query</tt>.
+     * <p>
+     * A token of the query matches a token of a name value if the normalized
+     * tokens are equal. 
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param query The full-text query; must not be <tt>null</tt>.
+     * @param scope The themes which must be part of the scope of the returned
+     *          names or <tt>null</tt> if the scope should be ignored.
+     * @param offset The number of ranked names to skip.
+     * @param limit The maximum number of names to return.
+     * @return An unmodifiable, ranked list of {@link Name}s.
+     * @throws IllegalArgumentException If <tt>query</tt> is <tt>null</tt>, or 
+     *          if <tt>offset</tt> or <tt>limit</tt> is negative.
+     */
+    public List<Name> getNamesByText(String query, Scope scope, int offset, int limit);
+
+    /**
+     * Returns the number of {@link Name}s which would be returned by 
+     * {@link #getNamesByPrefix(String, Scope, int, int)} without a limit.
+     *
+     * @param prefix The prefix; must not be <tt>null</tt>.
+     * @param scope The themes which must be part of the scope of the counted
+     *          names or <tt>null</tt> if the scope should be ignored.
+     * @return The number of matching names.
+     * @throws IllegalArgumentException If <tt>prefix</tt> is <tt>null</tt>.
+     */
+    public int countNamesByPrefix(String prefix, Scope scope);
+
+    /**
+     * Returns the number of {@link Name}s which would be returned by 
+     * {@link #getNamesBySubstring(String, Scope, int, int)} without a limit.
+     *
+     * @param substring The substring; must not be <tt>null</tt>.
+     * @param scope The themes which must be part of the scope of the counted
+     *          names or <tt>null</tt> if the scope should be ignored.
+     * @return The number of matching names.
+     * @throws IllegalArgumentException If <tt>substring</tt> is <tt>null</tt>.
+     */
+    public int countNamesBySubstring(String substring, Scope scope);
+
+    /**
+     * Returns the number of {@link Name}s which would be returned by 
+     * {@link #getNamesByText(String, Scope, int, int)} without a limit.
+     *
+     * @param query The full-text query; must not be <tt>null</tt>.
+     * @param scope The themes which must be part of the scope of the counted
+     *          names or <tt>null</tt> if the scope should be ignored.
+     * @return The number of matching names.
+     * @throws IllegalArgumentException If <tt>query</tt> is <tt>null</tt>.
+     */
+    public int countNamesByText(String query, Scope scope);
+
+    /**
+     * Returns the normalized representation of the specified <tt>value</tt>.
+     * <p>
+     * The default implementation applies the Unicode normalization form 
+     * NFKC and converts the result to lower case using the root locale.
+     * Implementations may override this method to provide a language-specific
+     * normalization.
+     * </p>
+     *
+     * @param value The value to normalize; must not be <tt>null</tt>.
+     * @return The normalized value.
+     * @throws IllegalArgumentException If <tt>value</tt> is <tt>null</tt>.
+     */
+    public default String normalize(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The value must not be null");
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits the specified <tt>value</tt> into normalized tokens.
+     * <p>
+     * The default implementation normalizes the value by 
+     * {@link #normalize(String)} and splits it at each character which is 
+     * neither a letter nor a digit.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param value The value to tokenize; must not be <tt>null</tt>.
+     * @return A list of normalized tokens.
+     * @throws IllegalArgumentException If <tt>value</tt> is <tt>null</tt>.
+     */
+    public default List<String> tokenize(String value) {
+        final String normalized = normalize(value);
+        final List<String> tokens = new ArrayList<String>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); ) {
+            final int cp = normalized.codePointAt(i);
+            if (Character.isLetterOrDigit(cp)) {
+                if (start < 0) {
+                    start = i;
+                }
+            }
+            else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(cp);
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * An {@link Index} which can save its state to a file and reopen it 
+ * without rebuilding it from the topic map.
+ * <p>
+ * The file starts with an {@link IndexFileHeader} which records the 
+ * {@link #getFormatVersion() format version} of the index and the 
+ * {@link org.tmapi.core.TopicMap#getChangeCount() change counter} of the 
+ * topic map at the time the index was saved. 
+ * Implementations should lay out the rest of the file so that it can be 
+ * used directly through a {@link java.nio.MappedByteBuffer} (i.e. sorted 
+ * arrays of construct ids and bitmaps in their serialized form) instead of 
+ * deserializing it into heap objects.
+ * </p>
+ * <p>
+ * Engines which support persistent indices return instances of this 
+ * interface from {@link org.tmapi.core.TopicMap#getIndex(Class)}; 
+ * applications test for it with <tt>instanceof</tt>.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface PersistentIndex extends Index {
+
+    /**
+     * Returns the version of the file format written by {@link #save(Path)}.
+     * <p>
+     * The version must be changed whenever the file layout changes in an 
+     * incompatible way.
+     * </p>
+     *
+     * @return The format version.
+     */
+    public int getFormatVersion();
+
+    /**
+     * Writes the state of this index to the specified <tt>file</tt>.
+     * <p>
+     * An existing file is replaced. Implementations should write to a 
+     * temporary file and move it to <tt>file</tt> afterwards, so that a 
+     * crash during saving does not leave a truncated file behind.
+     * If the index is not {@link #isAutoUpdated() updated automatically}, 
+     * the caller is responsible to {@link #reindex()} it before saving.
+     * </p>
+     *
+     * @param file The file to write; must not be <tt>null</tt>.
+     * @throws IOException In case of an error while writing the file.
+     * @throws IllegalStateException If the index is not open.
+     * @throws UnsupportedOperationException If the topic map does not 
+     *          provide a {@link org.tmapi.core.TopicMap#getChangeCount() 
+     *          change counter}.
+     */
+    public void save(Path file) throws IOException;
+
+    /**
+     * Opens this index from the specified <tt>file</tt>.
+     * <p>
+     * The index is opened from the file iff the header of the file matches
+     * the {@link #getFormatVersion() format version} of this index and the 
+     * current {@link org.tmapi.core.TopicMap#getChangeCount() change counter}
+     * of the topic map. Otherwise the index is left unchanged and the 
+     * caller should {@link #open()} it, which builds it from the topic map.
+     * </p>
+     *
+     * @param file The file to read; must not be <tt>null</tt>.
+     * @return <tt>true</tt> if the index was opened from the file, 
+     *          <tt>false</tt> if the file is outdated or has another format.
+     * @throws IOException If the file does not exist, cannot be read or is 
+     *          not an index file.
+     * @throws UnsupportedOperationException If the topic map does not 
+     *          provide a {@link org.tmapi.core.TopicMap#getChangeCount() 
+     *          change counter}.
+     */
+    public boolean load(Path file) throws IOException;
+
+}
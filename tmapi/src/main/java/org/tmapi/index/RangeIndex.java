@@ -0,0 +1,239 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.tmapi.core.Locator;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.Topic;
+import org.tmapi.core.Variant;
+
+/**
+ * Index for {@link Occurrence} and {@link Variant} values which are ordered
+ * by the value space of their datatype.
+ * <p>
+ * The index supports at least the following datatypes:
+ * <a href="http://www.w3.org/TR/xmlschema-2/#integer">xsd:integer</a>,
+ * <a href="http://www.w3.org/TR/xmlschema-2/#decimal">xsd:decimal</a>,
+ * <a href="http://www.w3.org/TR/xmlschema-2/#double">xsd:double</a>,
+ * <a href="http://www.w3.org/TR/xmlschema-2/#date">xsd:date</a>, and
+ * <a href="http://www.w3.org/TR/xmlschema-2/#dateTime">xsd:dateTime</a>.
+ * Constructs whose value is not a valid lexical representation of their 
+ * datatype are not part of the index.
+ * </p>
+ * <p>
+ * Bounds are given as lexical representations of the datatype; 
+ * <tt>"10"</tt> and <tt>"010"</tt> denote the same xsd:integer bound. 
+ * A <tt>null</tt> bound means that the range is unbounded in that 
+ * direction.
+ * </p>
+ * <p>
+ * Implementations should keep one sorted, primitive-specialized column per 
+ * datatype (i.e. <tt>long[]</tt> for xsd:integer values which fit into 
+ * 64 bits, <tt>double[]</tt> for xsd:double and epoch based 
+ * <tt>long[]</tt>s for xsd:date and xsd:dateTime) and answer range queries 
+ * by binary search, so that a query runs in <tt>O(log n + k)</tt> where 
+ * <tt>k</tt> is the number of returned constructs.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface RangeIndex extends Index {
+
+    /**
+     * Returns the datatypes supported by this index.
+     * 
+     * The return value must never be <tt>null</tt>.
+     *
+     * @return An unmodifiable collection of datatype {@link Locator}s.
+     */
+    public Collection<Locator> getDatatypes();
+
+    /**
+     * Returns the {@link Occurrence}s with the specified <tt>datatype</tt> 
+     * whose value lies within the specified range.
+     * <p>
+     * The returned occurrences are ordered ascending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param datatype The datatype of the {@link Occurrence}s to be returned.
+     * @param lowerBound The lower bound or <tt>null</tt> if the range has no 
+     *          lower bound.
+     * @param lowerInclusive <tt>true</tt> if the lower bound is part of the range.
+     * @param upperBound The upper bound or <tt>null</tt> if the range has no 
+     *          upper bound.
+     * @param upperInclusive <tt>true</tt> if the upper bound is part of the range.
+     * @return An unmodifiable list of {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>datatype</tt> is <tt>null</tt> or 
+     *          unsupported, or if a bound is not a valid lexical representation
+     *          of the <tt>datatype</tt>.
+     */
+    public List<Occurrence> getOccurrences(Locator datatype, 
+            String lowerBound, boolean lowerInclusive, 
+            String upperBound, boolean upperInclusive);
+
+    /**
+     * Returns the {@link Occurrence}s with the specified <tt>type</tt> and 
+     * <tt>datatype</tt> whose value lies within the specified range.
+     * <p>
+     * The returned occurrences are ordered ascending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Occurrence}s to be returned.
+     * @param datatype The datatype of the {@link Occurrence}s to be returned.
+     * @param lowerBound The lower bound or <tt>null</tt> if the range has no 
+     *          lower bound.
+     * @param lowerInclusive <tt>true</tt> if the lower bound is part of the range.
+     * @param upperBound The upper bound or <tt>null</tt> if the range has no 
+     *          upper bound.
+     * @param upperInclusive <tt>true</tt> if the upper bound is part of the range.
+     * @return An unmodifiable list of {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>type</tt> or <tt>datatype</tt> is 
+     *          <tt>null</tt>, if the <tt>datatype</tt> is unsupported, or if a 
+     *          bound is not a valid lexical representation of the <tt>datatype</tt>.
+     */
+    public List<Occurrence> getOccurrences(Topic type, Locator datatype, 
+            String lowerBound, boolean lowerInclusive, 
+            String upperBound, boolean upperInclusive);
+
+    /**
+     * Returns the <tt>k</tt> {@link Occurrence}s with the specified 
+     * <tt>datatype</tt> and the smallest values.
+     * <p>
+     * The returned occurrences are ordered ascending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param datatype The datatype of the {@link Occurrence}s to be returned.
+     * @param k The maximum number of {@link Occurrence}s to return.
+     * @return An unmodifiable list of at most <tt>k</tt> {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>datatype</tt> is <tt>null</tt> or 
+     *          unsupported, or if <tt>k</tt> is negative.
+     */
+    public List<Occurrence> getFirstOccurrences(Locator datatype, int k);
+
+    /**
+     * Returns the <tt>k</tt> {@link Occurrence}s with the specified 
+     * <tt>type</tt> and <tt>datatype</tt> and the smallest values.
+     * <p>
+     * The returned occurrences are ordered ascending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Occurrence}s to be returned.
+     * @param datatype The datatype of the {@link Occurrence}s to be returned.
+     * @param k The maximum number of {@link Occurrence}s to return.
+     * @return An unmodifiable list of at most <tt>k</tt> {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>type</tt> or <tt>datatype</tt> is 
+     *          <tt>null</tt>, if the <tt>datatype</tt> is unsupported, or 
+     *          if <tt>k</tt> is negative.
+     */
+    public List<Occurrence> getFirstOccurrences(Topic type, Locator datatype, int k);
+
+    /**
+     * Returns the <tt>k</tt> {@link Occurrence}s with the specified 
+     * <tt>datatype</tt> and the greatest values.
+     * <p>
+     * The returned occurrences are ordered descending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param datatype The datatype of the {@link Occurrence}s to be returned.
+     * @param k The maximum number of {@link Occurrence}s to return.
+     * @return An unmodifiable list of at most <tt>k</tt> {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>datatype</tt> is <tt>null</tt> or 
+     *          unsupported, or if <tt>k</tt> is negative.
+     */
+    public List<Occurrence> getLastOccurrences(Locator datatype, int k);
+
+    /**
+     * Returns the <tt>k</tt> {@link Occurrence}s with the specified 
+     * <tt>type</tt> and <tt>datatype</tt> and the greatest values.
+     * <p>
+     * The returned occurrences are ordered descending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Occurrence}s to be returned.
+     * @param datatype The datatype of the {@link Occurrence}s to be returned.
+     * @param k The maximum number of {@link Occurrence}s to return.
+     * @return An unmodifiable list of at most <tt>k</tt> {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>type</tt> or <tt>datatype</tt> is 
+     *          <tt>null</tt>, if the <tt>datatype</tt> is unsupported, or 
+     *          if <tt>k</tt> is negative.
+     */
+    public List<Occurrence> getLastOccurrences(Topic type, Locator datatype, int k);
+
+    /**
+     * Returns the {@link Variant}s with the specified <tt>datatype</tt> 
+     * whose value lies within the specified range.
+     * <p>
+     * The returned variants are ordered ascending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param datatype The datatype of the {@link Variant}s to be returned.
+     * @param lowerBound The lower bound or <tt>null</tt> if the range has no 
+     *          lower bound.
+     * @param lowerInclusive <tt>true</tt> if the lower bound is part of the range.
+     * @param upperBound The upper bound or <tt>null</tt> if the range has no 
+     *          upper bound.
+     * @param upperInclusive <tt>true</tt> if the upper bound is part of the range.
+     * @return An unmodifiable list of {@link Variant}s.
+     * @throws IllegalArgumentException If <tt>datatype</tt> is <tt>null</tt> or 
+     *          unsupported, or if a bound is not a valid lexical representation
+     *          of the <tt>datatype</tt>.
+     */
+    public List<Variant> getVariants(Locator datatype, 
+            String lowerBound, boolean lowerInclusive, 
+            String upperBound, boolean upperInclusive);
+
+    /**
+     * Returns the <tt>k</tt> {@link Variant}s with the specified 
+     * <tt>datatype</tt> and the smallest values.
+     * <p>
+     * The returned variants are ordered ascending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param datatype The datatype of the {@link Variant}s to be returned.
+     * @param k The maximum number of {@link Variant}s to return.
+     * @return An unmodifiable list of at most <tt>k</tt> {@link Variant}s.
+     * @throws IllegalArgumentException If <tt>datatype</tt> is <tt>null</tt> or 
+     *          unsupported, or if <tt>k</tt> is negative.
+     */
+    public List<Variant> getFirstVariants(Locator datatype, int k);
+
+    /**
+     * Returns the <tt>k</tt> {@link Variant}s with the specified 
+     * <tt>datatype</tt> and the greatest values.
+     * <p>
+     * The returned variants are ordered descending by their value.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param datatype The datatype of the {@link Variant}s to be returned.
+     * @param k The maximum number of {@link Variant}s to return.
+     * @return An unmodifiable list of at most <tt>k</tt> {@link Variant}s.
+     * @throws IllegalArgumentException If <tt>datatype</tt> is <tt>null</tt> or 
+     *          unsupported, or if <tt>k</tt> is negative.
+     */
+    public List<Variant> getLastVariants(Locator datatype, int k);
+
+}
@@ -0,0 +1,124 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Collection;
+
+import org.tmapi.core.Reifiable;
+import org.tmapi.core.Topic;
+
+/**
+ * Index for {@link Reifiable} constructs which are reified by a topic.
+ * <p>
+ * The kind of the reified constructs is specified by a class token: 
+ * {@link org.tmapi.core.Association}, {@link org.tmapi.core.Role}, 
+ * {@link org.tmapi.core.Name}, {@link org.tmapi.core.Occurrence},
+ * {@link org.tmapi.core.Variant}, {@link org.tmapi.core.TopicMap} or 
+ * {@link Reifiable} for all kinds. The lookup
+ * <pre>
+ *      idx.getReified(Association.class, type)
+ * </pre>
+ * returns all {@link org.tmapi.core.Association}s whose reifier is an 
+ * instance of <tt>type</tt>. 
+ * </p>
+ * <p>
+ * Implementations should keep the reified constructs per kind and per 
+ * reifier type, so that these lookups do not need to scan all reifiable 
+ * constructs of the topic map.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface ReificationIndex extends Index {
+
+    /**
+     * Returns all constructs of the specified kind which have a reifier.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param <T> The kind of the constructs.
+     * @param kind The kind of the constructs, i.e. 
+     *          <tt>Association.class</tt> or <tt>Reifiable.class</tt> to 
+     *          return reified constructs of any kind.
+     * @return An unmodifiable collection of reified constructs.
+     * @throws IllegalArgumentException If <tt>kind</tt> is <tt>null</tt>.
+     */
+    public <T extends Reifiable> Collection<T> getReified(Class<T> kind);
+
+    /**
+     * Returns all constructs of the specified kind whose reifier is an 
+     * instance of <tt>reifierType</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param <T> The kind of the constructs.
+     * @param kind The kind of the constructs, i.e. 
+     *          <tt>Association.class</tt> or <tt>Reifiable.class</tt> to 
+     *          return reified constructs of any kind.
+     * @param reifierType The type of the reifiers or <tt>null</tt> to 
+     *          return the constructs whose reifier is not an instance of 
+     *          any topic.
+     * @return An unmodifiable collection of reified constructs.
+     * @throws IllegalArgumentException If <tt>kind</tt> is <tt>null</tt>.
+     */
+    public <T extends Reifiable> Collection<T> getReified(Class<T> kind, Topic reifierType);
+
+    /**
+     * Returns the number of constructs which would be returned by 
+     * {@link #getReified(Class)}.
+     *
+     * @param kind The kind of the constructs.
+     * @return The number of reified constructs.
+     * @throws IllegalArgumentException If <tt>kind</tt> is <tt>null</tt>.
+     */
+    public default int countReified(Class<? extends Reifiable> kind) {
+        return getReified(kind).size();
+    }
+
+    /**
+     * Returns the number of constructs which would be returned by 
+     * {@link #getReified(Class, Topic)}.
+     *
+     * @param kind The kind of the constructs.
+     * @param reifierType The type of the reifiers or <tt>null</tt>.
+     * @return The number of reified constructs.
+     * @throws IllegalArgumentException If <tt>kind</tt> is <tt>null</tt>.
+     */
+    public default int countReified(Class<? extends Reifiable> kind, Topic reifierType) {
+        return getReified(kind, reifierType).size();
+    }
+
+    /**
+     * Returns the topics which reify a construct and which are an instance 
+     * of <tt>type</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the reifiers or <tt>null</tt> to return the 
+     *          reifiers which are not an instance of any topic.
+     * @return An unmodifiable collection of {@link Topic}s.
+     */
+    public Collection<Topic> getReifiers(Topic type);
+
+    /**
+     * Returns the types of the topics which reify a construct.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @return An unmodifiable collection of {@link Topic}s.
+     */
+    public Collection<Topic> getReifierTypes();
+
+}
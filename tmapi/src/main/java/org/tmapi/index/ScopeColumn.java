@@ -0,0 +1,312 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.tmapi.core.Scope;
+import org.tmapi.core.Scoped;
+import org.tmapi.core.Topic;
+
+/**
+ * Scope postings of one kind of {@link Scoped} constructs.
+ * <p>
+ * Each construct gets a dense id which is its position in the column. For
+ * each theme the ids of the constructs which are scoped by that theme are
+ * kept in a {@link CompressedBitmap}. Constructs in the unconstrained scope
+ * are kept in a separate bitmap.
+ * </p>
+ * <p>
+ * A column is filled by a single thread and must not be modified after it 
+ * has been published to readers.
+ * </p>
+ *
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+final class ScopeColumn<S extends Scoped> {
+
+    private static final Comparator<CompressedBitmap> _CARDINALITY_ORDER = new Comparator<CompressedBitmap>() {
+        @Override
+        public int compare(CompressedBitmap o1, CompressedBitmap o2) {
+            return Integer.compare(o1.cardinality(), o2.cardinality());
+        }
+    };
+
+    private final List<S> _constructs;
+    private int[] _scopeSizes;
+    private final CompressedBitmap _unconstrained;
+    private final Map<Topic, CompressedBitmap> _themes;
+
+    ScopeColumn() {
+        _constructs = new ArrayList<S>();
+        _scopeSizes = new int[16];
+        _unconstrained = new CompressedBitmap();
+        _themes = new HashMap<Topic, CompressedBitmap>();
+    }
+
+    /**
+     * Adds the scoped construct and assigns the next id to it.
+     *
+     * @param scoped The construct to add.
+     */
+    public void add(S scoped) {
+        final int id = _constructs.size();
+        _constructs.add(scoped);
+        final Set<Topic> scope = scoped.getScope();
+        if (id == _scopeSizes.length) {
+            _scopeSizes = Arrays.copyOf(_scopeSizes, id * 2);
+        }
+        _scopeSizes[id] = scope.size();
+        if (scope.isEmpty()) {
+            _unconstrained.add(id);
+        }
+        for (Topic theme: scope) {
+            CompressedBitmap bitmap = _themes.get(theme);
+            if (bitmap == null) {
+                bitmap = new CompressedBitmap();
+                _themes.put(theme, bitmap);
+            }
+            bitmap.add(id);
+        }
+    }
+
+    /**
+     * Appends the constructs of <tt>other</tt> to this column.
+     * <p>
+     * The ids of the appended constructs are shifted by the size of this 
+     * column, so the result is the same as adding the constructs of 
+     * <tt>other</tt> one by one.
+     * </p>
+     *
+     * @param other The column to append.
+     */
+    public void addAll(ScopeColumn<S> other) {
+        final int offset = _constructs.size();
+        final int size = other._constructs.size();
+        _constructs.addAll(other._constructs);
+        if (offset + size > _scopeSizes.length) {
+            _scopeSizes = Arrays.copyOf(_scopeSizes, Math.max(offset + size, _scopeSizes.length * 2));
+        }
+        System.arraycopy(other._scopeSizes, 0, _scopeSizes, offset, size);
+        _append(_unconstrained, other._unconstrained, offset);
+        for (Map.Entry<Topic, CompressedBitmap> entry: other._themes.entrySet()) {
+            CompressedBitmap bitmap = _themes.get(entry.getKey());
+            if (bitmap == null) {
+                bitmap = new CompressedBitmap();
+                _themes.put(entry.getKey(), bitmap);
+            }
+            _append(bitmap, entry.getValue(), offset);
+        }
+    }
+
+    /**
+     * Returns the constructs whose scope contains <tt>theme</tt> or the 
+     * constructs in the unconstrained scope if <tt>theme</tt> is <tt>null</tt>.
+     */
+    public Collection<S> get(Topic theme) {
+        return _toCollection(_bitmap(theme));
+    }
+
+    /**
+     * Returns the constructs of {@link #get(Topic)} as a stream which reads 
+     * the constructs lazily from the bitmap.
+     */
+    public Stream<S> stream(Topic theme) {
+        final CompressedBitmap bitmap = _bitmap(theme);
+        if (bitmap == null) {
+            return Stream.empty();
+        }
+        final Spliterator.OfInt ids = Spliterators.spliterator(bitmap.iterator(), 
+                bitmap.cardinality(), Spliterator.DISTINCT | Spliterator.ORDERED 
+                    | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.intStream(ids, false).mapToObj(new IntFunction<S>() {
+            @Override
+            public S apply(int id) {
+                return _constructs.get(id);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of constructs which would be returned by 
+     * {@link #get(Topic)}.
+     */
+    public int count(Topic theme) {
+        final CompressedBitmap bitmap = _bitmap(theme);
+        return bitmap == null ? 0 : bitmap.cardinality();
+    }
+
+    /**
+     * Returns the constructs whose scope contains all <tt>themes</tt> 
+     * (<tt>matchAll</tt>) or one theme at least.
+     */
+    public Collection<S> get(Topic[] themes, boolean matchAll) {
+        if (themes == null) {
+            throw new IllegalArgumentException("The themes must not be null");
+        }
+        if (themes.length == 0) {
+            return matchAll ? Collections.unmodifiableList(_constructs) 
+                            : Collections.<S>emptyList();
+        }
+        final List<CompressedBitmap> bitmaps = new ArrayList<CompressedBitmap>(themes.length);
+        for (Topic theme: themes) {
+            final CompressedBitmap bitmap = _themes.get(theme);
+            if (bitmap != null) {
+                bitmaps.add(bitmap);
+            }
+            else if (matchAll) {
+                return Collections.<S>emptyList();
+            }
+        }
+        return _toCollection(matchAll ? _and(bitmaps) : _or(bitmaps));
+    }
+
+    /**
+     * Returns the constructs whose scope is equal to <tt>scope</tt>.
+     */
+    public Collection<S> get(Scope scope) {
+        final Topic[] themes = IndexSupport.themes(scope);
+        if (themes.length == 0) {
+            return _toCollection(_unconstrained);
+        }
+        final List<CompressedBitmap> bitmaps = new ArrayList<CompressedBitmap>(themes.length);
+        for (Topic theme: themes) {
+            final CompressedBitmap bitmap = _themes.get(theme);
+            if (bitmap == null) {
+                return Collections.<S>emptyList();
+            }
+            bitmaps.add(bitmap);
+        }
+        final CompressedBitmap candidates = _and(bitmaps);
+        final int size = themes.length;
+        final List<S> result = new ArrayList<S>();
+        candidates.forEach(new IntConsumer() {
+            @Override
+            public void accept(int id) {
+                if (_scopeSizes[id] == size) {
+                    result.add(_constructs.get(id));
+                }
+            }
+        });
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the themes which are used by the constructs of this column.
+     */
+    public Collection<Topic> getThemes() {
+        return Collections.unmodifiableList(new ArrayList<Topic>(_themes.keySet()));
+    }
+
+    /**
+     * Returns the statistics of this column.
+     */
+    public IndexStatistics<Topic> getStatistics() {
+        final SnapshotStatistics<Topic> stats = new SnapshotStatistics<Topic>(
+                _constructs.size(), _unconstrained.cardinality());
+        for (Map.Entry<Topic, CompressedBitmap> entry: _themes.entrySet()) {
+            stats.add(entry.getKey(), entry.getValue().cardinality());
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the number of constructs.
+     */
+    public int size() {
+        return _constructs.size();
+    }
+
+    /**
+     * Returns the number of distinct themes.
+     */
+    public int getThemeCount() {
+        return _themes.size();
+    }
+
+    /**
+     * Returns the approximate number of bytes used by the bitmaps.
+     */
+    public long getSizeInBytes() {
+        long bytes = _unconstrained.getSizeInBytes() + _scopeSizes.length * 4L;
+        for (CompressedBitmap bitmap: _themes.values()) {
+            bytes += bitmap.getSizeInBytes();
+        }
+        return bytes;
+    }
+
+    private static void _append(final CompressedBitmap target, CompressedBitmap source, final int offset) {
+        source.forEach(new IntConsumer() {
+            @Override
+            public void accept(int id) {
+                target.add(id + offset);
+            }
+        });
+    }
+
+    private CompressedBitmap _bitmap(Topic theme) {
+        return theme == null ? _unconstrained : _themes.get(theme);
+    }
+
+    private static CompressedBitmap _and(List<CompressedBitmap> bitmaps) {
+        // Start with the smallest bitmap to keep the intermediate results small
+        Collections.sort(bitmaps, _CARDINALITY_ORDER);
+        CompressedBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result = result.and(bitmaps.get(i));
+        }
+        return result;
+    }
+
+    private static CompressedBitmap _or(List<CompressedBitmap> bitmaps) {
+        if (bitmaps.isEmpty()) {
+            return null;
+        }
+        CompressedBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size(); i++) {
+            result = result.or(bitmaps.get(i));
+        }
+        return result;
+    }
+
+    private Collection<S> _toCollection(CompressedBitmap bitmap) {
+        if (bitmap == null || bitmap.isEmpty()) {
+            return Collections.<S>emptyList();
+        }
+        final List<S> result = new ArrayList<S>(bitmap.cardinality());
+        bitmap.forEach(new IntConsumer() {
+            @Override
+            public void accept(int id) {
+                result.add(_constructs.get(id));
+            }
+        });
+        return Collections.unmodifiableList(result);
+    }
+
+}
@@ -14,10 +14,13 @@
 package org.tmapi.index;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Stream;
 
 import org.tmapi.core.Association;
 import org.tmapi.core.Name;
 import org.tmapi.core.Occurrence;
+import org.tmapi.core.Scope;
 import org.tmapi.core.Topic;
 import org.tmapi.core.Variant;
 
@@ -46,6 +49,31 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Association> getAssociations(Topic theme);
 
+    /**
+     * Returns the result of {@link #getAssociations(Topic)} as a stream.
+     *
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *              it is <tt>null</tt> all {@link Association}s
+     *              in the unconstrained scope are returned.
+     * @return A stream of {@link Association}s, never <tt>null</tt>.
+     */
+    public default Stream<Association> associations(Topic theme) {
+        return getAssociations(theme).stream();
+    }
+
+    /**
+     * Returns the number of {@link Association}s in the topic map whose scope 
+     * property contains the specified <tt>theme</tt>.
+     *
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *              it is <tt>null</tt> all {@link Association}s
+     *              in the unconstrained scope are counted.
+     * @return The number of matching constructs.
+     */
+    public default int countAssociations(Topic theme) {
+        return getAssociations(theme).size();
+    }
+
     /**
      * Returns the {@link Association}s in the topic map whose scope property 
      * equals one of those <tt>themes</tt> at least.
@@ -62,6 +90,29 @@ public interface ScopedIndex extends Index {
     public Collection<Association> getAssociations(Topic[] themes,
             boolean matchAll);
 
+    /**
+     * Returns the {@link Association}s in the topic map whose scope property 
+     * is equal to the specified <tt>scope</tt>.
+     * <p>
+     * Implementations should key the {@link Association}s by their 
+     * {@link org.tmapi.core.Scoped#getScopeObject() scope object}, so that 
+     * this lookup does not need to intersect the {@link Association}s of the
+     * single themes.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     * 
+     * @param scope The scope of the {@link Association}s to be returned.
+     * @return An unmodifiable collection of {@link Association}s.
+     * @throws IllegalArgumentException If <tt>scope</tt> is <tt>null</tt>.
+     */
+    public default Collection<Association> getAssociationsByScope(Scope scope) {
+        final Topic[] themes = IndexSupport.themes(scope);
+        if (themes.length == 0) {
+            return getAssociations((Topic) null);
+        }
+        return IndexSupport.filterScope(getAssociations(themes, true), scope);
+    }
+
     /**
      * Returns the topics in the topic map used in the scope property of 
      * {@link Association}s.
@@ -72,6 +123,17 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Topic> getAssociationThemes();
 
+    /**
+     * Returns statistics about the themes of the {@link Association}s; the <tt>null</tt> 
+     * key stands for associations in the unconstrained scope.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getAssociationThemeStatistics() {
+        return IndexSupport.statistics(getAssociationThemes(), getAssociations((Topic) null), 
+                theme -> getAssociations(theme));
+    }
+
     /**
      * Returns the {@link Occurrence}s in the topic map whose scope property 
      * contains the specified <tt>theme</tt>.
@@ -85,6 +147,31 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Occurrence> getOccurrences(Topic theme);
 
+    /**
+     * Returns the result of {@link #getOccurrences(Topic)} as a stream.
+     *
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *              it is <tt>null</tt> all {@link Occurrence}s
+     *              in the unconstrained scope are returned.
+     * @return A stream of {@link Occurrence}s, never <tt>null</tt>.
+     */
+    public default Stream<Occurrence> occurrences(Topic theme) {
+        return getOccurrences(theme).stream();
+    }
+
+    /**
+     * Returns the number of {@link Occurrence}s in the topic map whose scope 
+     * property contains the specified <tt>theme</tt>.
+     *
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *              it is <tt>null</tt> all {@link Occurrence}s
+     *              in the unconstrained scope are counted.
+     * @return The number of matching constructs.
+     */
+    public default int countOccurrences(Topic theme) {
+        return getOccurrences(theme).size();
+    }
+
     /**
      * Returns the {@link Occurrence}s in the topic map whose scope property 
      * equals one of those <tt>themes</tt> at least.
@@ -101,6 +188,29 @@ public interface ScopedIndex extends Index {
     public Collection<Occurrence> getOccurrences(Topic[] themes,
             boolean matchAll);
 
+    /**
+     * Returns the {@link Occurrence}s in the topic map whose scope property 
+     * is equal to the specified <tt>scope</tt>.
+     * <p>
+     * Implementations should key the {@link Occurrence}s by their 
+     * {@link org.tmapi.core.Scoped#getScopeObject() scope object}, so that 
+     * this lookup does not need to intersect the {@link Occurrence}s of the
+     * single themes.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     * 
+     * @param scope The scope of the {@link Occurrence}s to be returned.
+     * @return An unmodifiable collection of {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>scope</tt> is <tt>null</tt>.
+     */
+    public default Collection<Occurrence> getOccurrencesByScope(Scope scope) {
+        final Topic[] themes = IndexSupport.themes(scope);
+        if (themes.length == 0) {
+            return getOccurrences((Topic) null);
+        }
+        return IndexSupport.filterScope(getOccurrences(themes, true), scope);
+    }
+
     /**
      * Returns the topics in the topic map used in the scope property of 
      * {@link Occurrence}s.
@@ -111,6 +221,17 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Topic> getOccurrenceThemes();
 
+    /**
+     * Returns statistics about the themes of the {@link Occurrence}s; the <tt>null</tt> 
+     * key stands for occurrences in the unconstrained scope.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getOccurrenceThemeStatistics() {
+        return IndexSupport.statistics(getOccurrenceThemes(), getOccurrences((Topic) null), 
+                theme -> getOccurrences(theme));
+    }
+
     /**
      * Returns the {@link Name}s in the topic map whose scope property 
      * contains the specified <tt>theme</tt>.
@@ -124,6 +245,31 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Name> getNames(Topic theme);
 
+    /**
+     * Returns the result of {@link #getNames(Topic)} as a stream.
+     *
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *              it is <tt>null</tt> all {@link Name}s
+     *              in the unconstrained scope are returned.
+     * @return A stream of {@link Name}s, never <tt>null</tt>.
+     */
+    public default Stream<Name> names(Topic theme) {
+        return getNames(theme).stream();
+    }
+
+    /**
+     * Returns the number of {@link Name}s in the topic map whose scope 
+     * property contains the specified <tt>theme</tt>.
+     *
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *              it is <tt>null</tt> all {@link Name}s
+     *              in the unconstrained scope are counted.
+     * @return The number of matching constructs.
+     */
+    public default int countNames(Topic theme) {
+        return getNames(theme).size();
+    }
+
     /**
      * Returns the {@link Name}s in the topic map whose scope property 
      * equals one of those <tt>themes</tt> at least.
@@ -139,6 +285,29 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Name> getNames(Topic[] themes, boolean matchAll);
 
+    /**
+     * Returns the {@link Name}s in the topic map whose scope property 
+     * is equal to the specified <tt>scope</tt>.
+     * <p>
+     * Implementations should key the {@link Name}s by their 
+     * {@link org.tmapi.core.Scoped#getScopeObject() scope object}, so that 
+     * this lookup does not need to intersect the {@link Name}s of the
+     * single themes.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     * 
+     * @param scope The scope of the {@link Name}s to be returned.
+     * @return An unmodifiable collection of {@link Name}s.
+     * @throws IllegalArgumentException If <tt>scope</tt> is <tt>null</tt>.
+     */
+    public default Collection<Name> getNamesByScope(Scope scope) {
+        final Topic[] themes = IndexSupport.themes(scope);
+        if (themes.length == 0) {
+            return getNames((Topic) null);
+        }
+        return IndexSupport.filterScope(getNames(themes, true), scope);
+    }
+
     /**
      * Returns the topics in the topic map used in the scope property of 
      * {@link Name}s.
@@ -149,6 +318,17 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Topic> getNameThemes();
 
+    /**
+     * Returns statistics about the themes of the {@link Name}s; the <tt>null</tt> 
+     * key stands for names in the unconstrained scope.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getNameThemeStatistics() {
+        return IndexSupport.statistics(getNameThemes(), getNames((Topic) null), 
+                theme -> getNames(theme));
+    }
+
     /**
      * Returns the {@link Variant}s in the topic map whose scope property 
      * contains the specified <tt>theme</tt>.
@@ -162,6 +342,31 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Variant> getVariants(Topic theme);
 
+    /**
+     * Returns the result of {@link #getVariants(Topic)} as a stream.
+     *
+     * @param theme The {@link Topic} which must be part of the scope. This
+     *              must not be <tt>null</tt>.
+     * @return A stream of {@link Variant}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>theme</tt> is <tt>null</tt>.
+     */
+    public default Stream<Variant> variants(Topic theme) {
+        return getVariants(theme).stream();
+    }
+
+    /**
+     * Returns the number of {@link Variant}s in the topic map whose scope 
+     * property contains the specified <tt>theme</tt>.
+     *
+     * @param theme The {@link Topic} which must be part of the scope. This
+     *              must not be <tt>null</tt>.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If <tt>theme</tt> is <tt>null</tt>.
+     */
+    public default int countVariants(Topic theme) {
+        return getVariants(theme).size();
+    }
+
     /**
      * Returns the {@link Variant}s in the topic map whose scope property 
      * equals one of those <tt>themes</tt> at least.
@@ -177,6 +382,29 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Variant> getVariants(Topic[] themes, boolean matchAll);
 
+    /**
+     * Returns the {@link Variant}s in the topic map whose scope property 
+     * is equal to the specified <tt>scope</tt>.
+     * <p>
+     * Implementations should key the {@link Variant}s by their 
+     * {@link org.tmapi.core.Scoped#getScopeObject() scope object}, so that 
+     * this lookup does not need to intersect the {@link Variant}s of the
+     * single themes.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     * 
+     * @param scope The scope of the {@link Variant}s to be returned.
+     * @return An unmodifiable collection of {@link Variant}s.
+     * @throws IllegalArgumentException If <tt>scope</tt> is <tt>null</tt>.
+     */
+    public default Collection<Variant> getVariantsByScope(Scope scope) {
+        final Topic[] themes = IndexSupport.themes(scope);
+        if (themes.length == 0) {
+            return Collections.<Variant>emptySet();
+        }
+        return IndexSupport.filterScope(getVariants(themes, true), scope);
+    }
+
     /**
      * Returns the topics in the topic map used in the scope property of 
      * {@link Variant}s.
@@ -187,4 +415,14 @@ public interface ScopedIndex extends Index {
      */
     public Collection<Topic> getVariantThemes();
 
+    /**
+     * Returns statistics about the themes of the {@link Variant}s.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getVariantThemeStatistics() {
+        return IndexSupport.statistics(getVariantThemes(), Collections.emptySet(), 
+                theme -> getVariants(theme));
+    }
+
 }
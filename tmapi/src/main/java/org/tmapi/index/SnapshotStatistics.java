@@ -0,0 +1,107 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link IndexStatistics} which are computed once from the key counts.
+ * <p>
+ * Instances are filled by a single thread and are immutable afterwards.
+ * </p>
+ * 
+ * @param <K> The type of the keys.
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+final class SnapshotStatistics<K> implements IndexStatistics<K> {
+
+    private final Map<K, Integer> _counts;
+    private final int _nullCount;
+    private final long _constructCount;
+    private long _postingCount;
+    private int _maxCount;
+
+    /**
+     * Creates the statistics.
+     * <p>
+     * The keys must be added by {@link #add(Object, int)} before the 
+     * statistics are published.
+     * </p>
+     *
+     * @param constructCount The number of distinct constructs.
+     * @param nullCount The number of constructs without a key.
+     */
+    SnapshotStatistics(long constructCount, int nullCount) {
+        _counts = new HashMap<K, Integer>();
+        _constructCount = constructCount;
+        _nullCount = nullCount;
+    }
+
+    /**
+     * Adds a key. Keys without constructs are ignored.
+     *
+     * @param key The key, not <tt>null</tt>.
+     * @param count The number of constructs indexed under the key.
+     */
+    void add(K key, int count) {
+        if (count == 0) {
+            return;
+        }
+        _counts.put(key, count);
+        _postingCount += count;
+        _maxCount = Math.max(_maxCount, count);
+    }
+
+    @Override
+    public long getConstructCount() {
+        return _constructCount;
+    }
+
+    @Override
+    public int getKeyCount() {
+        return _counts.size();
+    }
+
+    @Override
+    public long getPostingCount() {
+        return _postingCount;
+    }
+
+    @Override
+    public int getCount(K key) {
+        if (key == null) {
+            return _nullCount;
+        }
+        final Integer count = _counts.get(key);
+        return count == null ? 0 : count.intValue();
+    }
+
+    @Override
+    public int getMaxCount() {
+        return _maxCount;
+    }
+
+    @Override
+    public int[] getHistogram() {
+        final int[] histogram = new int[32 - Integer.numberOfLeadingZeros(_maxCount)];
+        for (Integer count: _counts.values()) {
+            histogram[31 - Integer.numberOfLeadingZeros(count)]++;
+        }
+        return histogram;
+    }
+
+}
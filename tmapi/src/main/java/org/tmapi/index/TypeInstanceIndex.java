@@ -14,6 +14,10 @@
 package org.tmapi.index;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.tmapi.core.Association;
 import org.tmapi.core.Name;
@@ -57,6 +61,105 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Topic> getTopics(Topic type);
 
+    /**
+     * Returns the result of {@link #getTopics(Topic)} as a stream.
+     *
+     * @param type The type of the {@link Topic}s to be returned or {@code null} to 
+     *              return all topics which are not an instance of another topic.
+     * @return A stream of {@link Topic}s, never <tt>null</tt>.
+     */
+    public default Stream<Topic> topics(Topic type) {
+        return getTopics(type).stream();
+    }
+
+    /**
+     * Returns the number of topics which are an instance of the specified <tt>type</tt>.
+     *
+     * @param type The type of the topics to be counted; if it is <tt>null</tt>
+     *              all untyped topics are counted.
+     * @return The number of matching constructs.
+     */
+    public default int countTopics(Topic type) {
+        return getTopics(type).size();
+    }
+
+    /**
+     * Returns the topics which are an instance of the specified <tt>type</tt>
+     * or, if <tt>includeSubtypes</tt> is <tt>true</tt>, of one of its 
+     * transitive subtypes.
+     * <p>
+     * Subtypes are determined by {@link #getSubtypes(Topic, boolean)}. 
+     * Implementations should cache the transitive closure of the 
+     * <a href="http://www.isotopicmaps.org/sam/sam-model/#sect-subtypes">supertype-subtype</a>
+     * relationships and maintain it incrementally, so that this method does 
+     * not need to walk the type hierarchy. The default implementation 
+     * unites the results of {@link #getTopics(Topic)} for the type and all of 
+     * its subtypes.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     * 
+     * @param type The type of the {@link Topic}s to be returned or {@code null} to 
+     *              return all topics which are not an instance of another topic.
+     * @param includeSubtypes <tt>true</tt> to return the instances of the 
+     *              subtypes of <tt>type</tt> as well.
+     * @return An unmodifiable collection of {@link Topic}s.
+     */
+    public default Collection<Topic> getTopics(Topic type, boolean includeSubtypes) {
+        if (type == null || !includeSubtypes) {
+            return getTopics(type);
+        }
+        final Set<Topic> result = new LinkedHashSet<Topic>(getTopics(type));
+        for (Topic subtype: getSubtypes(type, true)) {
+            result.addAll(getTopics(subtype));
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Returns the subtypes of the specified <tt>type</tt>.
+     * <p>
+     * Subtypes are modelled as 
+     * <a href="http://www.isotopicmaps.org/sam/sam-model/#sect-subtypes">supertype-subtype</a>
+     * associations. The default implementation follows these associations
+     * starting at <tt>type</tt>; cycles in the hierarchy are tolerated and 
+     * <tt>type</tt> itself is never part of the result.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type whose subtypes should be returned; must not be 
+     *              <tt>null</tt>.
+     * @param transitive <tt>true</tt> to return the subtypes of the subtypes 
+     *              as well, <tt>false</tt> to return the direct subtypes only.
+     * @return An unmodifiable collection of {@link Topic}s.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default Collection<Topic> getSubtypes(Topic type, boolean transitive) {
+        return IndexSupport.walkTypeHierarchy(type, transitive, false);
+    }
+
+    /**
+     * Returns the supertypes of the specified <tt>type</tt>.
+     * <p>
+     * Supertypes are modelled as 
+     * <a href="http://www.isotopicmaps.org/sam/sam-model/#sect-subtypes">supertype-subtype</a>
+     * associations. The default implementation follows these associations
+     * starting at <tt>type</tt>; cycles in the hierarchy are tolerated and 
+     * <tt>type</tt> itself is never part of the result.
+     * </p>
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type whose supertypes should be returned; must not be 
+     *              <tt>null</tt>.
+     * @param transitive <tt>true</tt> to return the supertypes of the 
+     *              supertypes as well, <tt>false</tt> to return the direct 
+     *              supertypes only.
+     * @return An unmodifiable collection of {@link Topic}s.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default Collection<Topic> getSupertypes(Topic type, boolean transitive) {
+        return IndexSupport.walkTypeHierarchy(type, transitive, true);
+    }
+
     /**
      * Returns the topics in the topic map whose type property equals
      * one of those <tt>types</tt> at least.
@@ -95,6 +198,17 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Topic> getTopicTypes();
 
+    /**
+     * Returns statistics about the types of the topics; the <tt>null</tt> key stands for
+     * untyped topics.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getTopicTypeStatistics() {
+        return IndexSupport.statistics(getTopicTypes(), getTopics((Topic) null), 
+                type -> getTopics(type));
+    }
+
     /**
      * Returns the associations in the topic map whose type property equals 
      * <tt>type</tt>.
@@ -106,6 +220,31 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Association> getAssociations(Topic type);
 
+    /**
+     * Returns the result of {@link #getAssociations(Topic)} as a stream.
+     *
+     * @param type The type of the {@link Association}s to be returned; 
+     *              must not be <tt>null</tt>.
+     * @return A stream of {@link Association}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default Stream<Association> associations(Topic type) {
+        return getAssociations(type).stream();
+    }
+
+    /**
+     * Returns the number of {@link Association}s in the topic map whose type property
+     * equals <tt>type</tt>.
+     *
+     * @param type The type of the {@link Association}s to be counted; 
+     *              must not be <tt>null</tt>.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countAssociations(Topic type) {
+        return getAssociations(type).size();
+    }
+
     /**
      * Returns the topics in the topic map used in the type property of 
      * {@link Association}s.
@@ -116,6 +255,16 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Topic> getAssociationTypes();
 
+    /**
+     * Returns statistics about the types of the {@link Association}s.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getAssociationTypeStatistics() {
+        return IndexSupport.statistics(getAssociationTypes(), Collections.emptySet(), 
+                type -> getAssociations(type));
+    }
+
     /**
      * Returns the roles in the topic map whose type property equals 
      * <tt>type</tt>.
@@ -127,6 +276,31 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Role> getRoles(Topic type);
 
+    /**
+     * Returns the result of {@link #getRoles(Topic)} as a stream.
+     *
+     * @param type The type of the {@link Role}s to be returned; 
+     *              must not be <tt>null</tt>.
+     * @return A stream of {@link Role}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default Stream<Role> roles(Topic type) {
+        return getRoles(type).stream();
+    }
+
+    /**
+     * Returns the number of {@link Role}s in the topic map whose type property
+     * equals <tt>type</tt>.
+     *
+     * @param type The type of the {@link Role}s to be counted; 
+     *              must not be <tt>null</tt>.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countRoles(Topic type) {
+        return getRoles(type).size();
+    }
+
     /**
      * Returns the topics in the topic map used in the type property of 
      * {@link Role}s.
@@ -137,6 +311,16 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Topic> getRoleTypes();
 
+    /**
+     * Returns statistics about the types of the {@link Role}s.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getRoleTypeStatistics() {
+        return IndexSupport.statistics(getRoleTypes(), Collections.emptySet(), 
+                type -> getRoles(type));
+    }
+
     /**
      * Returns the occurrences in the topic map whose type property equals 
      * <tt>type</tt>.
@@ -148,6 +332,31 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Occurrence> getOccurrences(Topic type);
 
+    /**
+     * Returns the result of {@link #getOccurrences(Topic)} as a stream.
+     *
+     * @param type The type of the {@link Occurrence}s to be returned; 
+     *              must not be <tt>null</tt>.
+     * @return A stream of {@link Occurrence}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default Stream<Occurrence> occurrences(Topic type) {
+        return getOccurrences(type).stream();
+    }
+
+    /**
+     * Returns the number of {@link Occurrence}s in the topic map whose type property
+     * equals <tt>type</tt>.
+     *
+     * @param type The type of the {@link Occurrence}s to be counted; 
+     *              must not be <tt>null</tt>.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countOccurrences(Topic type) {
+        return getOccurrences(type).size();
+    }
+
     /**
      * Returns the topics in the topic map used in the type property of 
      * {@link Occurrence}s.
@@ -158,6 +367,16 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Topic> getOccurrenceTypes();
 
+    /**
+     * Returns statistics about the types of the {@link Occurrence}s.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getOccurrenceTypeStatistics() {
+        return IndexSupport.statistics(getOccurrenceTypes(), Collections.emptySet(), 
+                type -> getOccurrences(type));
+    }
+
     /**
      * Returns the topic names in the topic map whose type property equals 
      * <tt>type</tt>.
@@ -169,6 +388,31 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Name> getNames(Topic type);
 
+    /**
+     * Returns the result of {@link #getNames(Topic)} as a stream.
+     *
+     * @param type The type of the {@link Name}s to be returned; 
+     *              must not be <tt>null</tt>.
+     * @return A stream of {@link Name}s, never <tt>null</tt>.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default Stream<Name> names(Topic type) {
+        return getNames(type).stream();
+    }
+
+    /**
+     * Returns the number of {@link Name}s in the topic map whose type property
+     * equals <tt>type</tt>.
+     *
+     * @param type The type of the {@link Name}s to be counted; 
+     *              must not be <tt>null</tt>.
+     * @return The number of matching constructs.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countNames(Topic type) {
+        return getNames(type).size();
+    }
+
     /**
      * Returns the topics in the topic map used in the type property of 
      * {@link Name}s.
@@ -179,4 +423,14 @@ public interface TypeInstanceIndex extends Index {
      */
     public Collection<Topic> getNameTypes();
 
+    /**
+     * Returns statistics about the types of the {@link Name}s.
+     *
+     * @return The statistics, never <tt>null</tt>.
+     */
+    public default IndexStatistics<Topic> getNameTypeStatistics() {
+        return IndexSupport.statistics(getNameTypes(), Collections.emptySet(), 
+                type -> getNames(type));
+    }
+
 }
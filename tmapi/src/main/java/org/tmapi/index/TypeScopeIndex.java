@@ -0,0 +1,197 @@
+/*
+ * The Topic Maps API (TMAPI) was created collectively by
+ * the membership of the tmapi-discuss mailing list
+ * <http://lists.sourceforge.net/mailman/listinfo/tmapi-discuss>,
+ * is hereby released into the public domain; and comes with 
+ * NO WARRANTY.
+ * 
+ * No one owns TMAPI: you may use it freely in both commercial and
+ * non-commercial applications, bundle it with your software
+ * distribution, include it on a CD-ROM, list the source code in a
+ * book, mirror the documentation at your own web site, or use it in
+ * any other way you see fit.
+ */
+package org.tmapi.index;
+
+import java.util.Collection;
+
+import org.tmapi.core.Association;
+import org.tmapi.core.Name;
+import org.tmapi.core.Occurrence;
+import org.tmapi.core.Scope;
+import org.tmapi.core.Topic;
+
+/**
+ * Index for typed and scoped constructs which are looked up by their type 
+ * and scope at the same time.
+ * <p>
+ * The lookup
+ * <pre>
+ *      idx.getOccurrences(type, theme)
+ * </pre>
+ * returns the same {@link Occurrence}s as the intersection of 
+ * {@link TypeInstanceIndex#getOccurrences(Topic)} and 
+ * {@link ScopedIndex#getOccurrences(Topic)}, without materializing both
+ * collections.
+ * </p>
+ * <p>
+ * Implementations should key the constructs by the pair of type and theme 
+ * (and by the pair of type and {@link Scope} object), so that each lookup 
+ * is a single probe. Auto-updated implementations should move a construct 
+ * between the keys when its type or scope changes instead of rebuilding the
+ * index.
+ * </p>
+ * 
+ * @author <a href="http://tmapi.org/">The TMAPI Project</a>
+ * @version $Rev:$ - $Date:$
+ */
+public interface TypeScopeIndex extends Index {
+
+    /**
+     * Returns the {@link Association}s in the topic map whose type property 
+     * equals <tt>type</tt> and whose scope property contains <tt>theme</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Association}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *          it is <tt>null</tt> all {@link Association}s of the type in the 
+     *          unconstrained scope are returned.
+     * @return An unmodifiable collection of {@link Association}s.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public Collection<Association> getAssociations(Topic type, Topic theme);
+
+    /**
+     * Returns the {@link Association}s in the topic map whose type property 
+     * equals <tt>type</tt> and whose scope property is equal to 
+     * <tt>scope</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Association}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @param scope The scope of the {@link Association}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @return An unmodifiable collection of {@link Association}s.
+     * @throws IllegalArgumentException If <tt>type</tt> or <tt>scope</tt> is 
+     *          <tt>null</tt>.
+     */
+    public Collection<Association> getAssociationsByScope(Topic type, Scope scope);
+
+    /**
+     * Returns the number of {@link Association}s which would be returned by 
+     * {@link #getAssociations(Topic, Topic)}.
+     *
+     * @param type The type of the {@link Association}s to be counted; 
+     *          must not be <tt>null</tt>.
+     * @param theme The {@link Topic} which must be part of the scope or 
+     *          <tt>null</tt> to count the {@link Association}s of the type in 
+     *          the unconstrained scope.
+     * @return The number of {@link Association}s.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countAssociations(Topic type, Topic theme) {
+        return getAssociations(type, theme).size();
+    }
+
+    /**
+     * Returns the {@link Occurrence}s in the topic map whose type property 
+     * equals <tt>type</tt> and whose scope property contains <tt>theme</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Occurrence}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *          it is <tt>null</tt> all {@link Occurrence}s of the type in the 
+     *          unconstrained scope are returned.
+     * @return An unmodifiable collection of {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public Collection<Occurrence> getOccurrences(Topic type, Topic theme);
+
+    /**
+     * Returns the {@link Occurrence}s in the topic map whose type property 
+     * equals <tt>type</tt> and whose scope property is equal to 
+     * <tt>scope</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Occurrence}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @param scope The scope of the {@link Occurrence}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @return An unmodifiable collection of {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>type</tt> or <tt>scope</tt> is 
+     *          <tt>null</tt>.
+     */
+    public Collection<Occurrence> getOccurrencesByScope(Topic type, Scope scope);
+
+    /**
+     * Returns the number of {@link Occurrence}s which would be returned by 
+     * {@link #getOccurrences(Topic, Topic)}.
+     *
+     * @param type The type of the {@link Occurrence}s to be counted; 
+     *          must not be <tt>null</tt>.
+     * @param theme The {@link Topic} which must be part of the scope or 
+     *          <tt>null</tt> to count the {@link Occurrence}s of the type in 
+     *          the unconstrained scope.
+     * @return The number of {@link Occurrence}s.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countOccurrences(Topic type, Topic theme) {
+        return getOccurrences(type, theme).size();
+    }
+
+    /**
+     * Returns the {@link Name}s in the topic map whose type property 
+     * equals <tt>type</tt> and whose scope property contains <tt>theme</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Name}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @param theme The {@link Topic} which must be part of the scope. If
+     *          it is <tt>null</tt> all {@link Name}s of the type in the 
+     *          unconstrained scope are returned.
+     * @return An unmodifiable collection of {@link Name}s.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public Collection<Name> getNames(Topic type, Topic theme);
+
+    /**
+     * Returns the {@link Name}s in the topic map whose type property 
+     * equals <tt>type</tt> and whose scope property is equal to 
+     * <tt>scope</tt>.
+     * 
+     * The return value may be empty but must never be <tt>null</tt>.
+     *
+     * @param type The type of the {@link Name}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @param scope The scope of the {@link Name}s to be returned; 
+     *          must not be <tt>null</tt>.
+     * @return An unmodifiable collection of {@link Name}s.
+     * @throws IllegalArgumentException If <tt>type</tt> or <tt>scope</tt> is 
+     *          <tt>null</tt>.
+     */
+    public Collection<Name> getNamesByScope(Topic type, Scope scope);
+
+    /**
+     * Returns the number of {@link Name}s which would be returned by 
+     * {@link #getNames(Topic, Topic)}.
+     *
+     * @param type The type of the {@link Name}s to be counted; 
+     *          must not be <tt>null</tt>.
+     * @param theme The {@link Topic} which must be part of the scope or 
+     *          <tt>null</tt> to count the {@link Name}s of the type in 
+     *          the unconstrained scope.
+     * @return The number of {@link Name}s.
+     * @throws IllegalArgumentException If <tt>type</tt> is <tt>null</tt>.
+     */
+    public default int countNames(Topic type, Topic theme) {
+        return getNames(type, theme).size();
+    }
+
+}